@@ -102,6 +102,19 @@ public final class BuildChain {
         return initialMultiCount;
     }
 
+    /**
+     * Determine whether a build step transitively depends on another build step, i.e. it consumes an item that is
+     * produced by the other step or by one of the steps depending on the other step.
+     *
+     * @param step the identifier of the step (must not be {@code null})
+     * @param dependency the identifier of the possible dependency (must not be {@code null})
+     * @return {@code true} if {@code step} depends on {@code dependency}
+     * @see BuildContext#getStepId()
+     */
+    public static boolean dependsOn(Object step, Object dependency) {
+        return ((StepInfo) dependency).isDependencyOf((StepInfo) step);
+    }
+
     List<StepInfo> getStartSteps() {
         return startSteps;
     }
@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.wildfly.common.Assert;
@@ -45,6 +46,17 @@ public final class BuildContext {
         return execution.getBuildTargetName();
     }
 
+    /**
+     * Get an opaque identifier of the build step being run. The identifier can be used to determine the dependencies
+     * between build steps after the step completed.
+     *
+     * @return the identifier of the build step (not {@code null})
+     * @see BuildChain#dependsOn(Object, Object)
+     */
+    public Object getStepId() {
+        return stepInfo;
+    }
+
     /**
      * Produce the given item. If the {@code type} refers to a item which is declared with multiplicity, then this
      * method can be called more than once for the given {@code type}, otherwise it must be called no more than once.
@@ -270,7 +282,7 @@ public final class BuildContext {
         final Execution execution = this.execution;
         final StepInfo stepInfo = this.stepInfo;
         final BuildStep buildStep = stepInfo.getBuildStep();
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         log.tracef("Starting step \"%s\"", buildStep);
         try {
             if (!execution.isErrorReported()) {
@@ -289,7 +301,9 @@ public final class BuildContext {
                 }
             }
         } finally {
-            log.tracef("Finished step \"%s\" in %s ms", buildStep, System.currentTimeMillis() - start);
+            final long end = System.nanoTime();
+            execution.recordStep(stepInfo, Thread.currentThread().getName(), start, end);
+            log.tracef("Finished step \"%s\" in %s ms", buildStep, TimeUnit.NANOSECONDS.toMillis(end - start));
             execution.removeBuildContext(stepInfo, this);
         }
         final Set<StepInfo> dependents = stepInfo.getDependents();
@@ -0,0 +1,200 @@
+package io.quarkus.builder;
+
+import static java.lang.Math.max;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing profile of a build execution.
+ */
+public final class BuildMetrics {
+    private final long startNanos;
+    private final List<StepRecord> steps;
+
+    BuildMetrics(final long startNanos, final Collection<StepRecord> steps) {
+        this.startNanos = startNanos;
+        final List<StepRecord> list = new ArrayList<>(steps);
+        list.sort(Comparator.comparingLong(StepRecord::getStartNanos));
+        this.steps = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Get the records of all the steps that were run, ordered by their start time.
+     *
+     * @return the step records (not {@code null})
+     */
+    public List<StepRecord> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Get the critical path of the build, i.e. the chain of steps that determined the total build time. The path starts
+     * with the step that finished last and continues with the dependency that finished last, until a step without
+     * dependencies is reached.
+     *
+     * @return the steps on the critical path, in execution order (not {@code null})
+     */
+    public List<StepRecord> getCriticalPath() {
+        StepRecord current = null;
+        for (StepRecord step : steps) {
+            if (current == null || step.endNanos > current.endNanos) {
+                current = step;
+            }
+        }
+        final List<StepRecord> path = new ArrayList<>();
+        while (current != null) {
+            path.add(current);
+            StepRecord next = null;
+            for (StepRecord dependency : current.dependencies) {
+                if (next == null || dependency.endNanos > next.endNanos) {
+                    next = dependency;
+                }
+            }
+            current = next;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Write the profile in the Chrome trace event format, which can be loaded in {@code chrome://tracing} and similar
+     * tools.
+     *
+     * @param writer the writer (must not be {@code null})
+     * @throws IOException if writing fails
+     */
+    public void writeTrace(Writer writer) throws IOException {
+        writer.write("{\"traceEvents\":[");
+        boolean first = true;
+        for (StepRecord step : steps) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write("\n{\"name\":");
+            writeString(writer, step.name);
+            writer.write(",\"cat\":\"build\",\"ph\":\"X\",\"pid\":1,\"tid\":");
+            writeString(writer, step.threadName);
+            writer.write(",\"ts\":");
+            writer.write(Long.toString(TimeUnit.NANOSECONDS.toMicros(step.startNanos - startNanos)));
+            writer.write(",\"dur\":");
+            writer.write(Long.toString(TimeUnit.NANOSECONDS.toMicros(step.getDuration(TimeUnit.NANOSECONDS))));
+            writer.write(",\"args\":{\"consumes\":[");
+            for (int i = 0; i < step.consumes.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeString(writer, step.consumes.get(i));
+            }
+            writer.write("]}}");
+        }
+        writer.write("\n]}\n");
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * The timing record of a single build step.
+     */
+    public static final class StepRecord {
+        private final String name;
+        private final String threadName;
+        private final long startNanos;
+        private final long endNanos;
+        private final List<String> consumes;
+        private final List<StepRecord> dependencies = new ArrayList<>();
+
+        StepRecord(final StepInfo stepInfo, final String threadName, final long startNanos, final long endNanos) {
+            this.name = stepInfo.getBuildStep().toString();
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            final List<String> consumes = new ArrayList<>(stepInfo.getConsumes().size());
+            for (ItemId id : stepInfo.getConsumes()) {
+                consumes.add(id.getType().getName());
+            }
+            Collections.sort(consumes);
+            this.consumes = Collections.unmodifiableList(consumes);
+        }
+
+        /**
+         * Get the name of the step.
+         *
+         * @return the name of the step
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the name of the thread the step was run on.
+         *
+         * @return the thread name
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * Get the amount of time the step took to run.
+         *
+         * @param timeUnit the time unit to return
+         * @return the time
+         */
+        public long getDuration(TimeUnit timeUnit) {
+            return timeUnit.convert(max(0, endNanos - startNanos), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Get the names of the items the step waited for.
+         *
+         * @return the item class names (not {@code null})
+         */
+        public List<String> getConsumes() {
+            return consumes;
+        }
+
+        /**
+         * Get the steps this step waited for.
+         *
+         * @return the dependencies (not {@code null})
+         */
+        public List<StepRecord> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        void addDependency(StepRecord dependency) {
+            dependencies.add(dependency);
+        }
+
+        @Override
+        public String toString() {
+            return name + " [" + getDuration(TimeUnit.MILLISECONDS) + " ms on " + threadName + "]";
+        }
+    }
+}
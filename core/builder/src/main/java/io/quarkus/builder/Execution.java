@@ -6,6 +6,7 @@ import static java.util.concurrent.locks.LockSupport.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +32,7 @@ final class Execution {
     private final ConcurrentHashMap<ItemId, List<BuildItem>> multis;
     private final Set<ItemId> finalIds;
     private final ConcurrentHashMap<StepInfo, BuildContext> contextCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<StepInfo, BuildMetrics.StepRecord> stepRecords = new ConcurrentHashMap<>();
     private final EnhancedQueueExecutor executor;
     private final List<Diagnostic> diagnostics = new ArrayList<>();
     private final String buildTargetName;
@@ -117,7 +119,23 @@ final class Execution {
         if (lastStepCount.get() > 0)
             throw new BuildException("Extra steps left over", Collections.emptyList());
         return new BuildResult(singles, multis, finalIds, Collections.unmodifiableList(diagnostics),
-                max(0, System.nanoTime() - start));
+                max(0, System.nanoTime() - start), buildMetrics(start));
+    }
+
+    void recordStep(StepInfo stepInfo, String threadName, long startNanos, long endNanos) {
+        stepRecords.put(stepInfo, new BuildMetrics.StepRecord(stepInfo, threadName, startNanos, endNanos));
+    }
+
+    private BuildMetrics buildMetrics(long start) {
+        for (Map.Entry<StepInfo, BuildMetrics.StepRecord> entry : stepRecords.entrySet()) {
+            for (StepInfo dependent : entry.getKey().getDependents()) {
+                final BuildMetrics.StepRecord record = stepRecords.get(dependent);
+                if (record != null) {
+                    record.addDependency(entry.getValue());
+                }
+            }
+        }
+        return new BuildMetrics(start, stepRecords.values());
     }
 
     EnhancedQueueExecutor getExecutor() {
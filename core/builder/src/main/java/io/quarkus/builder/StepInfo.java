@@ -1,5 +1,9 @@
 package io.quarkus.builder;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -10,6 +14,7 @@ final class StepInfo {
     private final Set<StepInfo> dependents;
     private final Set<ItemId> consumes;
     private final Set<ItemId> produces;
+    private volatile Set<StepInfo> descendants;
 
     StepInfo(final BuildStepBuilder builder, int dependencies, Set<StepInfo> dependents) {
         buildStep = builder.getBuildStep();
@@ -38,4 +43,24 @@ final class StepInfo {
     Set<ItemId> getProduces() {
         return produces;
     }
+
+    /**
+     * @param other
+     * @return {@code true} if the given step runs after this step because it (transitively) depends on it
+     */
+    boolean isDependencyOf(StepInfo other) {
+        Set<StepInfo> descendants = this.descendants;
+        if (descendants == null) {
+            descendants = new HashSet<>();
+            final Deque<StepInfo> queue = new ArrayDeque<>(dependents);
+            while (!queue.isEmpty()) {
+                final StepInfo next = queue.poll();
+                if (descendants.add(next)) {
+                    queue.addAll(next.dependents);
+                }
+            }
+            this.descendants = descendants = Collections.unmodifiableSet(descendants);
+        }
+        return descendants.contains(other);
+    }
 }
@@ -0,0 +1,74 @@
+package io.quarkus.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ */
+public class BuildMetricsTest {
+
+    public static final class FirstItem extends SimpleBuildItem {
+    }
+
+    public static final class SecondItem extends SimpleBuildItem {
+    }
+
+    @Test
+    public void testCriticalPath() throws ChainBuildException, BuildException, IOException {
+        final BuildChainBuilder builder = BuildChain.builder();
+        BuildStepBuilder stepBuilder = builder.addBuildStep(new NamedStep("first") {
+            @Override
+            public void execute(final BuildContext context) {
+                context.produce(new FirstItem());
+            }
+        });
+        stepBuilder.produces(FirstItem.class);
+        stepBuilder.build();
+        stepBuilder = builder.addBuildStep(new NamedStep("second") {
+            @Override
+            public void execute(final BuildContext context) {
+                context.consume(FirstItem.class);
+                context.produce(new SecondItem());
+            }
+        });
+        stepBuilder.consumes(FirstItem.class);
+        stepBuilder.produces(SecondItem.class);
+        stepBuilder.build();
+        builder.addFinal(SecondItem.class);
+        final BuildResult result = builder.build().createExecutionBuilder("my-app.jar").execute();
+
+        final BuildMetrics metrics = result.getMetrics();
+        assertEquals(2, metrics.getSteps().size());
+        final List<BuildMetrics.StepRecord> path = metrics.getCriticalPath();
+        assertEquals(2, path.size());
+        assertEquals("first", path.get(0).getName());
+        assertEquals("second", path.get(1).getName());
+        assertEquals(FirstItem.class.getName(), path.get(1).getConsumes().get(0));
+
+        final StringWriter trace = new StringWriter();
+        metrics.writeTrace(trace);
+        assertTrue(trace.toString().startsWith("{\"traceEvents\":["));
+        assertTrue(trace.toString().contains("\"name\":\"second\""));
+    }
+
+    abstract static class NamedStep implements BuildStep {
+        private final String name;
+
+        NamedStep(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -25,4 +25,11 @@ public class DebugConfig {
      */
     @ConfigItem
     Optional<String> generatedClassesDir;
+
+    /**
+     * If set to a file path, the timing profile of the build steps is written to that file in the Chrome trace event
+     * format
+     */
+    @ConfigItem
+    Optional<String> buildTrace;
 }
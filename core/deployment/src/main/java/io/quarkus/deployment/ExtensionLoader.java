@@ -902,6 +902,9 @@ public final class ExtensionLoader {
                                         ? new BytecodeRecorderImpl(recordAnnotation.value() == ExecutionTime.STATIC_INIT,
                                                 clazz.getSimpleName(), method.getName())
                                         : null;
+                                if (bri != null) {
+                                    bri.setBuildStepId(bc.getStepId());
+                                }
                                 for (int i = 0; i < methodArgs.length; i++) {
                                     methodArgs[i] = methodParamFns.get(i).apply(bc, bri);
                                 }
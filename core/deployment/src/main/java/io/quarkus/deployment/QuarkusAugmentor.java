@@ -1,9 +1,13 @@
 package io.quarkus.deployment;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -21,6 +25,7 @@ import io.quarkus.bootstrap.resolver.AppModelResolver;
 import io.quarkus.builder.BuildChain;
 import io.quarkus.builder.BuildChainBuilder;
 import io.quarkus.builder.BuildExecutionBuilder;
+import io.quarkus.builder.BuildMetrics;
 import io.quarkus.builder.BuildResult;
 import io.quarkus.builder.item.BuildItem;
 import io.quarkus.deployment.builditem.AdditionalApplicationArchiveBuildItem;
@@ -39,6 +44,8 @@ public class QuarkusAugmentor {
 
     private static final Logger log = Logger.getLogger(QuarkusAugmentor.class);
 
+    private static final String BUILD_TRACE_PROPERTY = "quarkus.debug.build-trace";
+
     private final ClassLoader classLoader;
     private final Path root;
     private final Set<Class<? extends BuildItem>> finalResults;
@@ -133,6 +140,7 @@ public class QuarkusAugmentor {
                 //test and dev mode already report the total startup time, no need to add noise to the logs
                 log.debug(message);
             }
+            reportMetrics(buildResult.getMetrics());
             return buildResult;
         } finally {
             if (rootFs != null) {
@@ -145,6 +153,31 @@ public class QuarkusAugmentor {
         }
     }
 
+    private static void reportMetrics(BuildMetrics metrics) {
+        if (log.isDebugEnabled()) {
+            StringBuilder path = new StringBuilder("Build steps on the critical path:");
+            for (BuildMetrics.StepRecord step : metrics.getCriticalPath()) {
+                path.append("\n\t").append(step);
+            }
+            log.debug(path);
+        }
+        String traceFile = System.getProperty(BUILD_TRACE_PROPERTY);
+        if (traceFile != null && !traceFile.isEmpty()) {
+            Path trace = Paths.get(traceFile);
+            try {
+                if (trace.getParent() != null) {
+                    Files.createDirectories(trace.getParent());
+                }
+                try (Writer writer = Files.newBufferedWriter(trace, StandardCharsets.UTF_8)) {
+                    metrics.writeTrace(writer);
+                }
+                log.infof("Build trace written to %s", trace.toAbsolutePath());
+            } catch (IOException e) {
+                log.warnf(e, "Unable to write the build trace to %s", trace);
+            }
+        }
+    }
+
     public static Builder builder() {
         return new Builder();
     }
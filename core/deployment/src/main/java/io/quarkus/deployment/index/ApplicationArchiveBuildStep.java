@@ -15,11 +15,11 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -43,6 +43,8 @@ import io.quarkus.deployment.builditem.ApplicationIndexBuildItem;
 import io.quarkus.deployment.builditem.ArchiveRootBuildItem;
 import io.quarkus.deployment.builditem.IndexDependencyBuildItem;
 import io.quarkus.deployment.builditem.LiveReloadBuildItem;
+import io.quarkus.deployment.pkg.builditem.BuildSystemTargetBuildItem;
+import io.quarkus.deployment.util.HashUtil;
 import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
@@ -81,7 +83,7 @@ public class ApplicationArchiveBuildStep {
             List<AdditionalApplicationArchiveMarkerBuildItem> appMarkers,
             List<AdditionalApplicationArchiveBuildItem> additionalApplicationArchiveBuildItem,
             List<IndexDependencyBuildItem> indexDependencyBuildItems,
-            LiveReloadBuildItem liveReloadContext) throws IOException {
+            LiveReloadBuildItem liveReloadContext, BuildSystemTargetBuildItem target) throws IOException {
 
         Set<String> markerFiles = new HashSet<>();
         for (AdditionalApplicationArchiveMarkerBuildItem i : appMarkers) {
@@ -95,7 +97,8 @@ public class ApplicationArchiveBuildStep {
         }
 
         List<ApplicationArchive> applicationArchives = scanForOtherIndexes(Thread.currentThread().getContextClassLoader(),
-                markerFiles, root, additionalApplicationArchiveBuildItem, indexDependencyBuildItems, indexCache);
+                markerFiles, root, additionalApplicationArchiveBuildItem, indexDependencyBuildItems, indexCache,
+                PersistentIndexCache.forOutputDirectory(target.getOutputDirectory(), "dependencies"));
         return new ApplicationArchivesBuildItem(
                 new ApplicationArchiveImpl(appindex.getIndex(), root.getArchiveRoot(), null, false, root.getArchiveLocation()),
                 applicationArchives);
@@ -103,8 +106,8 @@ public class ApplicationArchiveBuildStep {
 
     private List<ApplicationArchive> scanForOtherIndexes(ClassLoader classLoader, Set<String> applicationArchiveFiles,
             ArchiveRootBuildItem root, List<AdditionalApplicationArchiveBuildItem> additionalApplicationArchives,
-            List<IndexDependencyBuildItem> indexDependencyBuildItem, IndexCache indexCache)
-            throws IOException {
+            List<IndexDependencyBuildItem> indexDependencyBuildItem, IndexCache indexCache,
+            PersistentIndexCache persistentCache) throws IOException {
         Set<Path> dependenciesToIndex = new HashSet<>();
         //get paths that are included via index-dependencies
         dependenciesToIndex.addAll(getIndexDependencyPaths(indexDependencyBuildItem, classLoader, root));
@@ -120,7 +123,7 @@ public class ApplicationArchiveBuildStep {
             dependenciesToIndex.add(i.getPath());
         }
 
-        return indexPaths(dependenciesToIndex, classLoader, indexCache);
+        return indexPaths(dependenciesToIndex, classLoader, indexCache, persistentCache);
     }
 
     public List<Path> getIndexDependencyPaths(List<IndexDependencyBuildItem> indexDependencyBuildItems,
@@ -150,8 +153,14 @@ public class ApplicationArchiveBuildStep {
     }
 
     private static List<ApplicationArchive> indexPaths(Set<Path> dependenciesToIndex, ClassLoader classLoader,
-            IndexCache indexCache)
+            IndexCache indexCache, PersistentIndexCache persistentCache)
             throws IOException {
+        // Jars are indexed in parallel, most of them are found in one of the caches though
+        Map<Path, IndexView> jarIndexes = new ConcurrentHashMap<>();
+        dependenciesToIndex.parallelStream()
+                .filter(dep -> !Files.isDirectory(dep))
+                .forEach(dep -> jarIndexes.put(dep, handleJarPath(dep, indexCache, persistentCache)));
+
         List<ApplicationArchive> ret = new ArrayList<>();
 
         for (final Path dep : dependenciesToIndex) {
@@ -160,7 +169,7 @@ public class ApplicationArchiveBuildStep {
                 IndexView indexView = handleFilePath(dep);
                 ret.add(new ApplicationArchiveImpl(indexView, dep, null, false, dep));
             } else {
-                IndexView index = handleJarPath(dep, indexCache);
+                IndexView index = jarIndexes.get(dep);
                 FileSystem fs = FileSystems.newFileSystem(dep, classLoader);
                 ret.add(new ApplicationArchiveImpl(index, fs.getRootDirectories().iterator().next(), fs, true, dep));
             }
@@ -245,7 +254,7 @@ public class ApplicationArchiveBuildStep {
         return indexer.complete();
     }
 
-    private static Index handleJarPath(Path path, IndexCache indexCache) throws IOException {
+    private static Index handleJarPath(Path path, IndexCache indexCache, PersistentIndexCache persistentCache) {
         return indexCache.cache.computeIfAbsent(path, new Function<Path, Index>() {
             @Override
             public Index apply(Path path) {
@@ -258,13 +267,13 @@ public class ApplicationArchiveBuildStep {
                                 LOGGER.warnf(
                                         "Re-indexing %s - at least Jandex 2.1 must be used to index an application dependency",
                                         path);
-                                return indexJar(file);
+                                return indexJar(file, path, persistentCache);
                             } else {
                                 return reader.read();
                             }
                         }
                     }
-                    return indexJar(file);
+                    return indexJar(file, path, persistentCache);
                 } catch (IOException e) {
                     throw new RuntimeException("Failed to process " + path, e);
                 }
@@ -272,6 +281,23 @@ public class ApplicationArchiveBuildStep {
         });
     }
 
+    private static Index indexJar(JarFile file, Path path, PersistentIndexCache persistentCache) throws IOException {
+        if (persistentCache == null) {
+            return indexJar(file);
+        }
+        // Jars without an index are only indexed once, the index is then reused by subsequent builds
+        String fileName = path.getFileName().toString();
+        String prefix = (fileName.endsWith(".jar") ? fileName.substring(0, fileName.length() - 4) : fileName) + "-"
+                + HashUtil.sha1(path.toAbsolutePath().getParent().toString()).substring(0, 8);
+        String key = PersistentIndexCache.fileKey(path);
+        Index index = persistentCache.get(prefix, key);
+        if (index == null) {
+            index = indexJar(file);
+            persistentCache.put(prefix, key, index);
+        }
+        return index;
+    }
+
     private static Index indexJar(JarFile file) throws IOException {
         Indexer indexer = new Indexer();
         Enumeration<JarEntry> e = file.entries();
@@ -292,7 +318,7 @@ public class ApplicationArchiveBuildStep {
      */
     private static final class IndexCache {
 
-        final Map<Path, Index> cache = new HashMap<>();
+        final Map<Path, Index> cache = new ConcurrentHashMap<>();
 
     }
 }
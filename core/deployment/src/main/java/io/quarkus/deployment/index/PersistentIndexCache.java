@@ -0,0 +1,203 @@
+package io.quarkus.deployment.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.logging.Logger;
+
+import io.quarkus.deployment.util.HashUtil;
+
+/**
+ * An on-disk cache of Jandex indexes that survives across builds. The entries are keyed by a hash of the inputs of the
+ * index, so a stale entry is never returned - it is simply not found.
+ * <p>
+ * Only the indexes of the application root and of the dependency jars are cached. The inputs of an index are files, which
+ * can be fingerprinted. This is not the case of the other costly steps, e.g. the ArC bean generation or the Hibernate ORM
+ * metadata build: their outputs also depend on build items carrying code, such as annotation transformers or bean
+ * registrars, which can not be part of a key. Caching them would require every such build item to declare its own
+ * fingerprint.
+ */
+public class PersistentIndexCache {
+
+    private static final Logger LOGGER = Logger.getLogger(PersistentIndexCache.class);
+
+    static final String DIRECTORY_NAME = "quarkus-build-cache";
+    private static final String SUFFIX = ".idx";
+
+    private final Path directory;
+
+    public PersistentIndexCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param outputDirectory the build system output directory, may be {@code null}
+     * @param name the name of the cache, different caches must not share the entries
+     * @return the cache stored in the output directory or {@code null} if there is no output directory
+     */
+    public static PersistentIndexCache forOutputDirectory(Path outputDirectory, String name) {
+        return outputDirectory != null ? new PersistentIndexCache(outputDirectory.resolve(DIRECTORY_NAME).resolve(name))
+                : null;
+    }
+
+    /**
+     * @param prefix
+     * @param key
+     * @return the cached index or {@code null} if not found or unreadable
+     */
+    public Index get(String prefix, String key) {
+        Path file = directory.resolve(prefix + "-" + key + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The file is memory-mapped instead of being copied through a stream buffer
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Index index = new IndexReader(new ByteBufferInputStream(buffer)).read();
+            LOGGER.debugf("Using cached index %s", file);
+            return index;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debugf(e, "Ignoring unreadable cached index %s", file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the index and removes all the other entries with the same prefix, as those can no longer be matched.
+     *
+     * @param prefix
+     * @param key
+     * @param index
+     */
+    public void put(String prefix, String key, Index index) {
+        Path file = directory.resolve(prefix + "-" + key + SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, prefix, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                new IndexWriter(out).write(index);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, prefix + "-*" + SUFFIX)) {
+                for (Path entry : entries) {
+                    if (!entry.equals(file)) {
+                        Files.deleteIfExists(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debugf(e, "Unable to store the index in %s", file);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of all the class files in the given directory. The fingerprint is based on the relative path,
+     * the size and the last modification time of each file, which is what build tools use to detect changes as well.
+     *
+     * @param root
+     * @return the fingerprint
+     * @throws IOException
+     */
+    public static String fingerprint(Path root) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.forEach(file -> {
+                if (file.toString().endsWith(".class")) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                        entries.add(root.relativize(file).toString() + ':' + attributes.size() + ':'
+                                + attributes.lastModifiedTime().toMillis());
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+        Collections.sort(entries);
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            for (String entry : entries) {
+                md.update(entry.getBytes(StandardCharsets.UTF_8));
+                md.update((byte) '\n');
+            }
+            return toHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes a cache key for a file that is expected not to change in place, such as a jar in the local repository.
+     *
+     * @param file
+     * @return the key
+     * @throws IOException
+     */
+    public static String fileKey(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return HashUtil.sha1(file.toAbsolutePath().toString() + ':' + attributes.size() + ':'
+                + attributes.lastModifiedTime().toMillis());
+    }
+
+    static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(Integer.toHexString((b & 0xFF) | 0x100).substring(1, 3));
+        }
+        return sb.toString();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+}
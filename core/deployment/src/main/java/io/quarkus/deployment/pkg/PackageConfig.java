@@ -11,11 +11,15 @@ public class PackageConfig {
 
     public static final String JAR = "jar";
     public static final String NATIVE = "native";
+    public static final String FAST_JAR = "fast-jar";
 
     /**
      * The requested output type.
      * 
-     * The default built in types are jar and native
+     * The default built in types are jar, fast-jar and native.
+     *
+     * A fast-jar is a directory with a small runner jar, the application jar and the dependency jars. The runner jar
+     * contains an index of all the classes and resources, which is used to load them without scanning the class path.
      */
     @ConfigItem(defaultValue = JAR)
     public String type;
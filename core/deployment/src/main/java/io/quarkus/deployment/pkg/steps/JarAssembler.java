@@ -0,0 +1,661 @@
+package io.quarkus.deployment.pkg.steps;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Assembles a jar file from individual entries.
+ * <p>
+ * The entries are compressed in parallel on the common fork-join pool and written in a fixed order: the manifest first
+ * and then all the other entries sorted by name. Every entry has the same timestamp, and the parent directory entries
+ * are added automatically. Together these make the output reproducible: the same entries always produce the same bytes.
+ * <p>
+ * Entries copied from another jar via {@link #copyEntry(Path, String)} are not inflated and compressed again. The
+ * compressed data is copied as it is, unless the source jar uses a format that is not supported (zip64).
+ * <p>
+ * The content of an entry is held in a byte array, so entries larger than 2GB are rejected.
+ */
+public class JarAssembler implements Closeable {
+
+    static final String MANIFEST_DIR = "META-INF/";
+    static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    // 2010-01-01 00:00:00 in the MS-DOS format, the same value is used for all the entries
+    private static final int DOS_TIME = 0;
+    private static final int DOS_DATE = ((2010 - 1980) << 9) | (1 << 5) | 1;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIZE = 22;
+    private static final int UTF8_FLAG = 0x0800;
+    private static final int VERSION = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final long MAX_U32 = 0xFFFFFFFFL;
+    private static final int MAX_U16 = 0xFFFF;
+    // the maximum size of an array on most VMs
+    private static final long MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final Comparator<String> ENTRY_ORDER = Comparator.comparingInt(JarAssembler::rank)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final Map<String, Source> entries = new HashMap<>();
+    private final Map<Path, SourceJar> jars = new HashMap<>();
+
+    /**
+     *
+     * @param name
+     * @return {@code true} if an entry with the given name was added
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Adds an entry, an existing entry with the same name is replaced.
+     *
+     * @param name
+     * @param data
+     */
+    public void addEntry(String name, byte[] data) {
+        entries.put(name, new BytesSource(data));
+    }
+
+    /**
+     * Adds a directory entry. This is only needed for empty directories, the parent directories of all the entries are
+     * added automatically.
+     *
+     * @param name
+     */
+    public void addDirectory(String name) {
+        entries.put(name.endsWith("/") ? name : name + "/", DirectorySource.INSTANCE);
+    }
+
+    /**
+     * Adds an entry with the content of the given file, an existing entry with the same name is replaced. The file is
+     * read once the jar is written.
+     *
+     * @param name
+     * @param file
+     */
+    public void addFile(String name, Path file) {
+        entries.put(name, new FileSource(file));
+    }
+
+    /**
+     * Adds an entry copied from the given jar, an existing entry with the same name is replaced. Directory entries are
+     * ignored, these are added automatically.
+     *
+     * @param jar
+     * @param name
+     * @throws IOException if the jar cannot be read
+     */
+    public void copyEntry(Path jar, String name) throws IOException {
+        if (name.endsWith("/")) {
+            return;
+        }
+        SourceJar sourceJar = jars.get(jar);
+        if (sourceJar == null) {
+            sourceJar = new SourceJar(jar);
+            jars.put(jar, sourceJar);
+        }
+        entries.put(name, new JarEntrySource(sourceJar, name));
+    }
+
+    /**
+     * Writes the jar.
+     *
+     * @param target
+     * @throws IOException
+     */
+    public void write(Path target) throws IOException {
+        TreeSet<String> names = new TreeSet<>(ENTRY_ORDER);
+        for (String name : entries.keySet()) {
+            names.add(name);
+            for (int slash = name.indexOf('/'); slash != -1 && slash < name.length() - 1; slash = name.indexOf('/',
+                    slash + 1)) {
+                names.add(name.substring(0, slash + 1));
+            }
+        }
+
+        List<CentralEntry> written = new ArrayList<>(names.size());
+        // the entries are compressed ahead of the writer, the window limits the memory used by the compressed data
+        int threads = Runtime.getRuntime().availableProcessors();
+        int window = threads * 4 + 1;
+        Deque<PendingEntry> pending = new ArrayDeque<>(window);
+        // a dedicated pool, the common pool may have no parallelism in which case every entry would get its own thread
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "jar-assembler-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            PositionOutputStream output = new PositionOutputStream(out);
+            for (String name : names) {
+                Source source = entries.get(name);
+                pending.add(new PendingEntry(name,
+                        source == null || source == DirectorySource.INSTANCE
+                                ? CompletableFuture.completedFuture(Compressed.DIRECTORY)
+                                : CompletableFuture.supplyAsync(source::compressUnchecked, executor)));
+                if (pending.size() >= window) {
+                    written.add(writeLocal(output, pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                written.add(writeLocal(output, pending.poll()));
+            }
+            writeCentralDirectory(output, written);
+            output.flush();
+        } finally {
+            for (PendingEntry entry : pending) {
+                entry.data.cancel(false);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (SourceJar jar : jars.values()) {
+            try {
+                jar.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        jars.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static int rank(String name) {
+        if (name.equals(MANIFEST_DIR)) {
+            return 0;
+        }
+        // the manifest needs to be the first entry in the jar, otherwise JarInputStream does not work properly
+        // see https://bugs.openjdk.java.net/browse/JDK-8031748
+        return name.equals(MANIFEST) ? 1 : 2;
+    }
+
+    private static CentralEntry writeLocal(PositionOutputStream out, PendingEntry entry) throws IOException {
+        Compressed compressed;
+        try {
+            compressed = entry.data.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+        long offset = out.position;
+        if (offset > MAX_U32 || compressed.size > MAX_U32 || compressed.data.length > MAX_U32) {
+            throw new IOException("Unable to write " + entry.name + " - jars larger than 4GB are not supported");
+        }
+        ByteBuffer header = buffer(LOCAL_HEADER_SIZE);
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) VERSION);
+        header.putShort((short) UTF8_FLAG);
+        header.putShort((short) compressed.method);
+        header.putShort((short) DOS_TIME);
+        header.putShort((short) DOS_DATE);
+        header.putInt((int) compressed.crc);
+        header.putInt(compressed.data.length);
+        header.putInt((int) compressed.size);
+        header.putShort((short) name.length);
+        header.putShort((short) 0);
+        out.write(header.array());
+        out.write(name);
+        out.write(compressed.data);
+        return new CentralEntry(name, compressed.method, compressed.crc, compressed.data.length, compressed.size, offset);
+    }
+
+    private static void writeCentralDirectory(PositionOutputStream out, List<CentralEntry> written) throws IOException {
+        long start = out.position;
+        for (CentralEntry entry : written) {
+            ByteBuffer header = buffer(CENTRAL_HEADER_SIZE);
+            header.putInt(CENTRAL_HEADER_SIGNATURE);
+            header.putShort((short) VERSION);
+            header.putShort((short) VERSION);
+            header.putShort((short) UTF8_FLAG);
+            header.putShort((short) entry.method);
+            header.putShort((short) DOS_TIME);
+            header.putShort((short) DOS_DATE);
+            header.putInt((int) entry.crc);
+            header.putInt((int) entry.compressedSize);
+            header.putInt((int) entry.size);
+            header.putShort((short) entry.name.length);
+            // extra field length, comment length, disk number, internal and external attributes
+            header.putShort((short) 0);
+            header.putShort((short) 0);
+            header.putShort((short) 0);
+            header.putShort((short) 0);
+            header.putInt(0);
+            header.putInt((int) entry.offset);
+            out.write(header.array());
+            out.write(entry.name);
+        }
+        long end = out.position;
+        long size = end - start;
+        boolean zip64 = written.size() >= MAX_U16 || start >= MAX_U32 || size >= MAX_U32;
+        if (zip64) {
+            ByteBuffer record = buffer(56 + 20);
+            record.putInt(ZIP64_END_SIGNATURE);
+            record.putLong(44);
+            record.putShort((short) VERSION_ZIP64);
+            record.putShort((short) VERSION_ZIP64);
+            record.putInt(0);
+            record.putInt(0);
+            record.putLong(written.size());
+            record.putLong(written.size());
+            record.putLong(size);
+            record.putLong(start);
+            record.putInt(ZIP64_LOCATOR_SIGNATURE);
+            record.putInt(0);
+            record.putLong(end);
+            record.putInt(1);
+            out.write(record.array());
+        }
+        ByteBuffer record = buffer(END_SIZE);
+        record.putInt(END_SIGNATURE);
+        record.putShort((short) 0);
+        record.putShort((short) 0);
+        record.putShort((short) (zip64 ? MAX_U16 : written.size()));
+        record.putShort((short) (zip64 ? MAX_U16 : written.size()));
+        record.putInt((int) (zip64 ? MAX_U32 : size));
+        record.putInt((int) (zip64 ? MAX_U32 : start));
+        record.putShort((short) 0);
+        out.write(record.array());
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void checkEntrySize(String entry, long size) throws IOException {
+        if (size > MAX_ENTRY_SIZE) {
+            throw new IOException("Unable to add " + entry + " - entries larger than 2GB are not supported");
+        }
+    }
+
+    static Compressed deflate(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            byte[] deflated = out.toByteArray();
+            if (deflated.length >= data.length) {
+                // not worth it, e.g. an empty or an already compressed file
+                return new Compressed(ZipEntry.STORED, crc.getValue(), data.length, data);
+            }
+            return new Compressed(ZipEntry.DEFLATED, crc.getValue(), data.length, deflated);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static final class Compressed {
+
+        static final Compressed DIRECTORY = new Compressed(ZipEntry.STORED, 0, 0, new byte[0]);
+
+        final int method;
+        final long crc;
+        final long size;
+        final byte[] data;
+
+        Compressed(int method, long crc, long size, byte[] data) {
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+
+    }
+
+    private abstract static class Source {
+
+        abstract Compressed compress() throws IOException;
+
+        Compressed compressUnchecked() {
+            try {
+                return compress();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+    private static final class DirectorySource extends Source {
+
+        static final DirectorySource INSTANCE = new DirectorySource();
+
+        @Override
+        Compressed compress() {
+            return Compressed.DIRECTORY;
+        }
+
+    }
+
+    private static final class BytesSource extends Source {
+
+        private final byte[] data;
+
+        BytesSource(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        Compressed compress() {
+            return deflate(data);
+        }
+
+    }
+
+    private static final class FileSource extends Source {
+
+        private final Path file;
+
+        FileSource(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        Compressed compress() throws IOException {
+            checkEntrySize(file.toString(), Files.size(file));
+            return deflate(Files.readAllBytes(file));
+        }
+
+    }
+
+    private static final class JarEntrySource extends Source {
+
+        private final SourceJar jar;
+        private final String name;
+
+        JarEntrySource(SourceJar jar, String name) {
+            this.jar = jar;
+            this.name = name;
+        }
+
+        @Override
+        Compressed compress() throws IOException {
+            return jar.read(name);
+        }
+
+    }
+
+    /**
+     * A jar the entries are copied from. The central directory is read up front, the compressed data of an entry is then
+     * read with a single positional read.
+     */
+    private static final class SourceJar implements Closeable {
+
+        private final Path path;
+        private final FileChannel channel;
+        // null if the format is not supported, all the entries are then inflated and compressed again
+        private final Map<String, SourceEntry> entries;
+        // guarded by this
+        private ZipFile zipFile;
+
+        SourceJar(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            Map<String, SourceEntry> entries;
+            try {
+                entries = readCentralDirectory();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            this.entries = entries;
+        }
+
+        Compressed read(String name) throws IOException {
+            SourceEntry entry = entries != null ? entries.get(name) : null;
+            if (entry == null || (entry.method != ZipEntry.STORED && entry.method != ZipEntry.DEFLATED)
+                    || (entry.flags & 1) != 0) {
+                return deflate(readInflated(name));
+            }
+            ByteBuffer header = readFully(entry.localOffset, LOCAL_HEADER_SIZE);
+            if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+                throw new IOException("Invalid local header of " + name + " in " + path);
+            }
+            long dataOffset = entry.localOffset + LOCAL_HEADER_SIZE + (header.getShort(26) & MAX_U16)
+                    + (header.getShort(28) & MAX_U16);
+            checkEntrySize(name + " in " + path, entry.compressedSize);
+            ByteBuffer data = readFully(dataOffset, (int) entry.compressedSize);
+            return new Compressed(entry.method, entry.crc, entry.size, data.array());
+        }
+
+        private synchronized byte[] readInflated(String name) throws IOException {
+            if (zipFile == null) {
+                zipFile = new ZipFile(path.toFile());
+            }
+            ZipEntry entry = zipFile.getEntry(name);
+            if (entry == null) {
+                throw new IOException("Entry " + name + " not found in " + path);
+            }
+            checkEntrySize(name + " in " + path, entry.getSize());
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int r;
+                while ((r = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, r);
+                }
+                return out.toByteArray();
+            }
+        }
+
+        private Map<String, SourceEntry> readCentralDirectory() throws IOException {
+            long fileSize = channel.size();
+            int tailSize = (int) Math.min(fileSize, END_SIZE + MAX_U16);
+            ByteBuffer tail = readFully(fileSize - tailSize, tailSize);
+            int end = -1;
+            for (int i = tailSize - END_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == END_SIGNATURE) {
+                    end = i;
+                    break;
+                }
+            }
+            if (end == -1) {
+                throw new IOException("Not a zip file: " + path);
+            }
+            int count = tail.getShort(end + 10) & MAX_U16;
+            long size = tail.getInt(end + 12) & MAX_U32;
+            long offset = tail.getInt(end + 16) & MAX_U32;
+            if (count == MAX_U16 || size == MAX_U32 || offset == MAX_U32) {
+                return null;
+            }
+            ByteBuffer directory = readFully(offset, (int) size);
+            Map<String, SourceEntry> entries = new HashMap<>(count * 2);
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                if (directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                    throw new IOException("Invalid central directory in " + path);
+                }
+                int flags = directory.getShort(position + 8) & MAX_U16;
+                int method = directory.getShort(position + 10) & MAX_U16;
+                long crc = directory.getInt(position + 16) & MAX_U32;
+                long compressedSize = directory.getInt(position + 20) & MAX_U32;
+                long uncompressedSize = directory.getInt(position + 24) & MAX_U32;
+                int nameLength = directory.getShort(position + 28) & MAX_U16;
+                int extraLength = directory.getShort(position + 30) & MAX_U16;
+                int commentLength = directory.getShort(position + 32) & MAX_U16;
+                long localOffset = directory.getInt(position + 42) & MAX_U32;
+                if (compressedSize == MAX_U32 || uncompressedSize == MAX_U32 || localOffset == MAX_U32) {
+                    return null;
+                }
+                byte[] name = new byte[nameLength];
+                ByteBuffer nameBuffer = directory.duplicate();
+                nameBuffer.position(position + CENTRAL_HEADER_SIZE);
+                nameBuffer.get(name);
+                // the names are decoded the same way as ZipFile does by default
+                entries.put(new String(name, StandardCharsets.UTF_8),
+                        new SourceEntry(flags, method, crc, compressedSize, uncompressedSize, localOffset));
+                position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+            }
+            return entries;
+        }
+
+        private ByteBuffer readFully(long position, int length) throws IOException {
+            ByteBuffer buffer = buffer(length);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of " + path);
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (zipFile != null) {
+                    zipFile.close();
+                }
+            }
+        }
+
+    }
+
+    private static final class SourceEntry {
+
+        final int flags;
+        final int method;
+        final long crc;
+        final long compressedSize;
+        final long size;
+        final long localOffset;
+
+        SourceEntry(int flags, int method, long crc, long compressedSize, long size, long localOffset) {
+            this.flags = flags;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localOffset = localOffset;
+        }
+
+    }
+
+    private static final class CentralEntry {
+
+        final byte[] name;
+        final int method;
+        final long crc;
+        final long compressedSize;
+        final long size;
+        final long offset;
+
+        CentralEntry(byte[] name, int method, long crc, long compressedSize, long size, long offset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.offset = offset;
+        }
+
+    }
+
+    private static final class PendingEntry {
+
+        final String name;
+        final CompletableFuture<Compressed> data;
+
+        PendingEntry(String name, CompletableFuture<Compressed> data) {
+            this.name = name;
+            this.data = data;
+        }
+
+    }
+
+    private static final class PositionOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        long position;
+
+        PositionOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            position += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+    }
+
+}
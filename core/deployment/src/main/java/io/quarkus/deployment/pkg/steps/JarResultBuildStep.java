@@ -1,30 +1,17 @@
 package io.quarkus.deployment.pkg.steps;
 
-import static io.quarkus.bootstrap.util.ZipUtils.wrapForJDK8232879;
-import static java.nio.file.StandardOpenOption.CREATE;
-import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
-import static java.nio.file.StandardOpenOption.WRITE;
-
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileVisitOption;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
-import java.nio.file.OpenOption;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -35,12 +22,12 @@ import java.util.function.BiPredicate;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.jar.Attributes;
+import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
 
 import org.jboss.logging.Logger;
 
@@ -50,7 +37,6 @@ import io.quarkus.bootstrap.model.AppDependency;
 import io.quarkus.bootstrap.resolver.AppModelResolver;
 import io.quarkus.bootstrap.resolver.AppModelResolverException;
 import io.quarkus.bootstrap.util.IoUtils;
-import io.quarkus.bootstrap.util.ZipUtils;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.ApplicationArchivesBuildItem;
 import io.quarkus.deployment.builditem.ApplicationInfoBuildItem;
@@ -67,6 +53,9 @@ import io.quarkus.deployment.pkg.builditem.JarBuildItem;
 import io.quarkus.deployment.pkg.builditem.NativeImageSourceJarBuildItem;
 import io.quarkus.deployment.pkg.builditem.OutputTargetBuildItem;
 import io.quarkus.deployment.pkg.builditem.UberJarRequiredBuildItem;
+import io.quarkus.runtime.fastjar.FastJarClassLoader;
+import io.quarkus.runtime.fastjar.FastJarIndex;
+import io.quarkus.runtime.fastjar.FastJarLauncher;
 
 /**
  * This build step builds both the thin jars and uber jars.
@@ -82,6 +71,9 @@ import io.quarkus.deployment.pkg.builditem.UberJarRequiredBuildItem;
  * items, but not a {@link ArtifactResultBuildItem}. We then
  * have another two build steps that only run if they are configured too that consume these explicit
  * build items and transform them into {@link ArtifactResultBuildItem}.
+ *
+ * The fast-jar is only built if it is the configured package type, it directly produces an
+ * {@link ArtifactResultBuildItem}.
  */
 public class JarResultBuildStep {
 
@@ -112,9 +104,15 @@ public class JarResultBuildStep {
             "LICENSE")));
 
     private static final Logger log = Logger.getLogger(JarResultBuildStep.class);
-    // we shouldn't have to specify these flags when opening a ZipFS (since they are the default ones), but failure to do so
-    // makes a subsequent uberJar creation fail in java 8 (but works fine in Java 11)
-    private static final OpenOption[] DEFAULT_OPEN_OPTIONS = { TRUNCATE_EXISTING, WRITE, CREATE };
+
+    private static final String MULTI_RELEASE = "Multi-Release";
+    private static final String VERSIONS_DIR = "META-INF/versions/";
+
+    static final String FAST_JAR_DIRECTORY = "quarkus-app";
+    static final String FAST_JAR_RUNNER = "quarkus-run.jar";
+    // the classes needed to read the index and launch the application, these are copied to the runner jar
+    private static final List<Class<?>> FAST_JAR_LAUNCHER_CLASSES = Arrays.asList(FastJarLauncher.class,
+            FastJarClassLoader.class, FastJarIndex.class);
 
     @BuildStep
     OutputTargetBuildItem outputTarget(BuildSystemTargetBuildItem bst, PackageConfig packageConfig) {
@@ -155,6 +153,124 @@ public class JarResultBuildStep {
         }
     }
 
+    @BuildStep(onlyIf = FastJarRequired.class)
+    public ArtifactResultBuildItem buildFastJar(CurateOutcomeBuildItem curateOutcomeBuildItem,
+            OutputTargetBuildItem outputTargetBuildItem,
+            TransformedClassesBuildItem transformedClasses,
+            ApplicationArchivesBuildItem applicationArchivesBuildItem,
+            ApplicationInfoBuildItem applicationInfo,
+            PackageConfig packageConfig,
+            List<GeneratedClassBuildItem> generatedClasses,
+            List<GeneratedResourceBuildItem> generatedResources,
+            List<GeneratedFileSystemResourceBuildItem> generatedFileSystemResources) throws Exception {
+
+        Path buildDir = outputTargetBuildItem.getOutputDirectory().resolve(FAST_JAR_DIRECTORY);
+        Path libDir = buildDir.resolve("lib");
+        Path appDir = buildDir.resolve("app");
+        IoUtils.recursiveDelete(buildDir);
+        Files.createDirectories(libDir);
+        Files.createDirectories(appDir);
+
+        log.info("Building fast jar: " + buildDir);
+
+        final StringBuilder classPath = new StringBuilder();
+        copyLibraryJars(transformedClasses, libDir, curateOutcomeBuildItem.getResolver(), classPath,
+                curateOutcomeBuildItem.getEffectiveModel().getUserDependencies());
+
+        AppArtifact appArtifact = curateOutcomeBuildItem.getEffectiveModel().getAppArtifact();
+        Path appJar = appDir.resolve(outputTargetBuildItem.getBaseName() + ".jar");
+        try (JarAssembler appJarAssembler = new JarAssembler()) {
+            generateManifest(appJarAssembler, "", packageConfig, appArtifact, applicationInfo);
+            copyCommonContent(appJarAssembler, new HashMap<>(), applicationArchivesBuildItem, transformedClasses,
+                    generatedClasses, generatedResources, new HashMap<>());
+            appJarAssembler.write(appJar);
+        }
+
+        // the application jar takes precedence, the dependencies follow in the same order as in the thin jar class path
+        List<String> jars = new ArrayList<>();
+        jars.add(toUri(buildDir.relativize(appJar)));
+        for (String entry : classPath.toString().split(" ")) {
+            if (!entry.isEmpty()) {
+                jars.add(entry);
+            }
+        }
+        FastJarIndex index = createFastJarIndex(buildDir, jars, packageConfig.mainClass);
+
+        Path runnerJar = buildDir.resolve(FAST_JAR_RUNNER);
+        try (JarAssembler runnerJarAssembler = new JarAssembler()) {
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, FastJarLauncher.class.getName());
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            manifest.write(data);
+            runnerJarAssembler.addEntry(JarAssembler.MANIFEST, data.toByteArray());
+            for (Class<?> launcherClass : FAST_JAR_LAUNCHER_CLASSES) {
+                String fileName = launcherClass.getName().replace('.', '/') + ".class";
+                data = new ByteArrayOutputStream();
+                try (InputStream in = launcherClass.getClassLoader().getResourceAsStream(fileName)) {
+                    IoUtils.copy(data, in);
+                }
+                runnerJarAssembler.addEntry(fileName, data.toByteArray());
+            }
+            data = new ByteArrayOutputStream();
+            index.write(data);
+            runnerJarAssembler.addEntry(FastJarIndex.RESOURCE, data.toByteArray());
+            runnerJarAssembler.write(runnerJar);
+        }
+        runnerJar.toFile().setReadable(true, false);
+
+        generateFileSystemResources(outputTargetBuildItem, generatedFileSystemResources);
+
+        return new ArtifactResultBuildItem(runnerJar, PackageConfig.FAST_JAR, Collections.singletonMap("library-dir", libDir));
+    }
+
+    /**
+     * Indexes the entries of the given jars. The directories are indexed as well, with a trailing slash, so that
+     * {@code ClassLoader#getResources()} works for packages. The versioned entries of a multi-release jar are also indexed
+     * under their base name, as the class loader opens such jars for the runtime version.
+     */
+    static FastJarIndex createFastJarIndex(Path root, List<String> jars, String mainClass) throws IOException {
+        Map<String, List<Integer>> entries = new HashMap<>();
+        for (int i = 0; i < jars.size(); i++) {
+            final Integer jarIndex = i;
+            try (JarFile jar = new JarFile(root.resolve(jars.get(i)).toFile())) {
+                Manifest manifest = jar.getManifest();
+                boolean multiRelease = manifest != null
+                        && "true".equalsIgnoreCase(manifest.getMainAttributes().getValue(MULTI_RELEASE));
+                Enumeration<? extends ZipEntry> zipEntries = jar.entries();
+                while (zipEntries.hasMoreElements()) {
+                    String name = zipEntries.nextElement().getName();
+                    addFastJarEntryAndDirectories(entries, name, jarIndex);
+                    if (multiRelease && name.startsWith(VERSIONS_DIR)) {
+                        int versionEnd = name.indexOf('/', VERSIONS_DIR.length());
+                        if (versionEnd != -1 && versionEnd < name.length() - 1) {
+                            addFastJarEntryAndDirectories(entries, name.substring(versionEnd + 1), jarIndex);
+                        }
+                    }
+                }
+            }
+        }
+        Map<String, int[]> index = new HashMap<>(entries.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : entries.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new FastJarIndex(mainClass, jars, index);
+    }
+
+    private static void addFastJarEntryAndDirectories(Map<String, List<Integer>> entries, String name, Integer jarIndex) {
+        addFastJarEntry(entries, name, jarIndex);
+        for (int slash = name.indexOf('/'); slash != -1 && slash < name.length() - 1; slash = name.indexOf('/', slash + 1)) {
+            addFastJarEntry(entries, name.substring(0, slash + 1), jarIndex);
+        }
+    }
+
+    private static void addFastJarEntry(Map<String, List<Integer>> entries, String name, Integer jarIndex) {
+        List<Integer> jars = entries.computeIfAbsent(name, (n) -> new ArrayList<>(1));
+        if (jars.isEmpty() || !jars.get(jars.size() - 1).equals(jarIndex)) {
+            jars.add(jarIndex);
+        }
+    }
+
     private JarBuildItem buildUberJar(CurateOutcomeBuildItem curateOutcomeBuildItem,
             OutputTargetBuildItem outputTargetBuildItem,
             TransformedClassesBuildItem transformedClasses,
@@ -180,7 +296,7 @@ public class JarResultBuildStep {
                 .resolve(outputTargetBuildItem.getBaseName() + packageConfig.runnerSuffix + ".jar");
         Files.deleteIfExists(runnerJar);
 
-        try (FileSystem runnerZipFs = ZipUtils.newZip(runnerJar)) {
+        try (JarAssembler runnerJarAssembler = new JarAssembler()) {
 
             log.info("Building fat jar: " + runnerJar);
 
@@ -195,9 +311,7 @@ public class JarResultBuildStep {
             final List<AppDependency> appDeps = curateOutcomeBuildItem.getEffectiveModel().getUserDependencies();
 
             AppArtifact appArtifact = curateOutcomeBuildItem.getEffectiveModel().getAppArtifact();
-            // the manifest needs to be the first entry in the jar, otherwise JarInputStream does not work properly
-            // see https://bugs.openjdk.java.net/browse/JDK-8031748
-            generateManifest(runnerZipFs, classPath.toString(), packageConfig, appArtifact, applicationInfo);
+            generateManifest(runnerJarAssembler, classPath.toString(), packageConfig, appArtifact, applicationInfo);
 
             for (AppDependency appDep : appDeps) {
                 final AppArtifact depArtifact = appDep.getArtifact();
@@ -210,63 +324,48 @@ public class JarResultBuildStep {
 
                 Set<String> transformedFromThisArchive = transformedClasses.getTransformedFilesByJar().get(resolvedDep);
 
-                try (FileSystem artifactFs = ZipUtils.newFileSystem(resolvedDep)) {
-                    for (final Path root : artifactFs.getRootDirectories()) {
-                        final Path metaInfDir = root.resolve("META-INF");
-                        Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
-                                new SimpleFileVisitor<Path>() {
-                                    @Override
-                                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                                            throws IOException {
-                                        final String relativePath = toUri(root.relativize(dir));
-                                        if (!relativePath.isEmpty()) {
-                                            addDir(runnerZipFs, relativePath);
-                                        }
-                                        return FileVisitResult.CONTINUE;
-                                    }
-
-                                    @Override
-                                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
-                                            throws IOException {
-                                        final String relativePath = toUri(root.relativize(file));
-                                        //if this has been transfomed we do not copy it
-                                        // if it's a signature file (under the <jar>/META-INF directory),
-                                        // then we don't add it to the uber jar
-                                        if (isBlockOrSF(relativePath) &&
-                                                file.relativize(metaInfDir).getNameCount() == 1) {
-                                            if (log.isDebugEnabled()) {
-                                                log.debug("Signature file " + file.toAbsolutePath() + " from app " +
-                                                        "dependency " + appDep + " will not be included in uberjar");
-                                            }
-                                            return FileVisitResult.CONTINUE;
-                                        }
-                                        boolean transformed = transformedFromThisArchive != null
-                                                && transformedFromThisArchive.contains(relativePath);
-                                        if (!transformed) {
-                                            if (relativePath.startsWith("META-INF/services/") && relativePath.length() > 18) {
-                                                services.computeIfAbsent(relativePath, (u) -> new ArrayList<>())
-                                                        .add(read(file));
-                                                return FileVisitResult.CONTINUE;
-                                            } else if (!finalIgnoredEntries.contains(relativePath)) {
-                                                duplicateCatcher.computeIfAbsent(relativePath, (a) -> new HashSet<>())
-                                                        .add(appDep);
-                                                if (!seen.containsKey(relativePath)) {
-                                                    seen.put(relativePath, appDep.toString());
-                                                    Files.copy(file, runnerZipFs.getPath(relativePath),
-                                                            StandardCopyOption.REPLACE_EXISTING);
-                                                } else if (!relativePath.endsWith(".class")) {
-                                                    //for .class entries we warn as a group
-                                                    log.warn("Duplicate entry " + relativePath + " entry from " + appDep
-                                                            + " will be ignored. Existing file was provided by "
-                                                            + seen.get(relativePath));
-                                                }
-                                            }
-                                        }
-                                        return FileVisitResult.CONTINUE;
-                                    }
-                                });
+                try (ZipFile artifactZip = new ZipFile(resolvedDep.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = artifactZip.entries();
+                    while (entries.hasMoreElements()) {
+                        final ZipEntry entry = entries.nextElement();
+                        final String relativePath = entry.getName();
+                        if (entry.isDirectory()) {
+                            runnerJarAssembler.addDirectory(relativePath);
+                            continue;
+                        }
+                        // if it's a signature file (under the <jar>/META-INF directory),
+                        // then we don't add it to the uber jar
+                        if (isBlockOrSF(relativePath) && relativePath.startsWith(JarAssembler.MANIFEST_DIR)
+                                && relativePath.indexOf('/', JarAssembler.MANIFEST_DIR.length()) == -1) {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Signature file " + relativePath + " from app " +
+                                        "dependency " + appDep + " will not be included in uberjar");
+                            }
+                            continue;
+                        }
+                        //if this has been transfomed we do not copy it
+                        boolean transformed = transformedFromThisArchive != null
+                                && transformedFromThisArchive.contains(relativePath);
+                        if (!transformed) {
+                            if (relativePath.startsWith("META-INF/services/") && relativePath.length() > 18) {
+                                services.computeIfAbsent(relativePath, (u) -> new ArrayList<>())
+                                        .add(read(artifactZip, entry));
+                            } else if (!finalIgnoredEntries.contains(relativePath)) {
+                                duplicateCatcher.computeIfAbsent(relativePath, (a) -> new HashSet<>())
+                                        .add(appDep);
+                                if (!seen.containsKey(relativePath)) {
+                                    seen.put(relativePath, appDep.toString());
+                                    // the compressed data is copied as is
+                                    runnerJarAssembler.copyEntry(resolvedDep, relativePath);
+                                } else if (!relativePath.endsWith(".class")) {
+                                    //for .class entries we warn as a group
+                                    log.warn("Duplicate entry " + relativePath + " entry from " + appDep
+                                            + " will be ignored. Existing file was provided by "
+                                            + seen.get(relativePath));
+                                }
+                            }
+                        }
                     }
-
                 }
             }
             Set<Set<AppDependency>> explained = new HashSet<>();
@@ -278,8 +377,9 @@ public class JarResultBuildStep {
                     }
                 }
             }
-            copyCommonContent(runnerZipFs, services, applicationArchivesBuildItem, transformedClasses, generatedClasses,
-                    generatedResources, seen);
+            copyCommonContent(runnerJarAssembler, services, applicationArchivesBuildItem, transformedClasses,
+                    generatedClasses, generatedResources, seen);
+            runnerJarAssembler.write(runnerJar);
         }
 
         runnerJar.toFile().setReadable(true, false);
@@ -306,12 +406,13 @@ public class JarResultBuildStep {
         IoUtils.recursiveDelete(libDir);
         Files.createDirectories(libDir);
 
-        try (FileSystem runnerZipFs = ZipUtils.newZip(runnerJar)) {
+        try (JarAssembler runnerJarAssembler = new JarAssembler()) {
 
             log.info("Building thin jar: " + runnerJar);
 
             doThinJarGeneration(curateOutcomeBuildItem, transformedClasses, applicationArchivesBuildItem, applicationInfo,
-                    packageConfig, generatedResources, libDir, generatedClasses, runnerZipFs);
+                    packageConfig, generatedResources, libDir, generatedClasses, runnerJarAssembler);
+            runnerJarAssembler.write(runnerJar);
         }
         runnerJar.toFile().setReadable(true, false);
 
@@ -360,12 +461,13 @@ public class JarResultBuildStep {
         allClasses.addAll(nativeImageResources.stream()
                 .map((s) -> new GeneratedClassBuildItem(true, s.getName(), s.getClassData())).collect(Collectors.toList()));
 
-        try (FileSystem runnerZipFs = ZipUtils.newZip(runnerJar)) {
+        try (JarAssembler runnerJarAssembler = new JarAssembler()) {
 
             log.info("Building native image source jar: " + runnerJar);
 
             doThinJarGeneration(curateOutcomeBuildItem, transformedClasses, applicationArchivesBuildItem, applicationInfo,
-                    packageConfig, generatedResources, libDir, allClasses, runnerZipFs);
+                    packageConfig, generatedResources, libDir, allClasses, runnerJarAssembler);
+            runnerJarAssembler.write(runnerJar);
         }
         runnerJar.toFile().setReadable(true, false);
         return new NativeImageSourceJarBuildItem(runnerJar, libDir);
@@ -408,7 +510,7 @@ public class JarResultBuildStep {
             List<GeneratedResourceBuildItem> generatedResources,
             Path libDir,
             List<GeneratedClassBuildItem> allClasses,
-            FileSystem runnerZipFs)
+            JarAssembler runnerJarAssembler)
             throws BootstrapDependencyProcessingException, AppModelResolverException, IOException {
         final AppModelResolver depResolver = curateOutcomeBuildItem.getResolver();
         final Map<String, String> seen = new HashMap<>();
@@ -420,15 +522,14 @@ public class JarResultBuildStep {
         copyLibraryJars(transformedClasses, libDir, depResolver, classPath, appDeps);
 
         AppArtifact appArtifact = curateOutcomeBuildItem.getEffectiveModel().getAppArtifact();
-        // the manifest needs to be the first entry in the jar, otherwise JarInputStream does not work properly
-        // see https://bugs.openjdk.java.net/browse/JDK-8031748
-        generateManifest(runnerZipFs, classPath.toString(), packageConfig, appArtifact, applicationInfo);
-        copyCommonContent(runnerZipFs, services, applicationArchivesBuildItem, transformedClasses, allClasses,
+        generateManifest(runnerJarAssembler, classPath.toString(), packageConfig, appArtifact, applicationInfo);
+        copyCommonContent(runnerJarAssembler, services, applicationArchivesBuildItem, transformedClasses, allClasses,
                 generatedResources, seen);
     }
 
     private void copyLibraryJars(TransformedClassesBuildItem transformedClasses, Path libDir, AppModelResolver depResolver,
             StringBuilder classPath, List<AppDependency> appDeps) throws AppModelResolverException, IOException {
+        final List<Runnable> copies = new ArrayList<>();
         for (AppDependency appDep : appDeps) {
             final AppArtifact depArtifact = appDep.getArtifact();
             final Path resolvedDep = depResolver.resolve(depArtifact);
@@ -443,20 +544,32 @@ public class JarResultBuildStep {
             if (transformedFromThisArchive == null || transformedFromThisArchive.isEmpty()) {
                 final String fileName = depArtifact.getGroupId() + "." + resolvedDep.getFileName();
                 final Path targetPath = libDir.resolve(fileName);
-                Files.copy(resolvedDep, targetPath, StandardCopyOption.REPLACE_EXISTING);
+                copies.add(() -> {
+                    try {
+                        Files.copy(resolvedDep, targetPath, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
                 classPath.append(" lib/" + fileName);
             } else {
                 //we have transformed classes, we need to handle them correctly
                 final String fileName = "modified-" + depArtifact.getGroupId() + "." + resolvedDep.getFileName();
                 final Path targetPath = libDir.resolve(fileName);
                 classPath.append(" lib/" + fileName);
-                filterZipFile(resolvedDep, targetPath, transformedFromThisArchive);
+                copies.add(() -> filterZipFile(resolvedDep, targetPath, transformedFromThisArchive));
             }
 
         }
+        // the jars do not depend on each other, only the class path order matters
+        try {
+            copies.parallelStream().forEach(Runnable::run);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
-    private void copyCommonContent(FileSystem runnerZipFs, Map<String, List<byte[]>> services,
+    private void copyCommonContent(JarAssembler runnerJarAssembler, Map<String, List<byte[]>> services,
             ApplicationArchivesBuildItem appArchives, TransformedClassesBuildItem transformedClassesBuildItem,
             List<GeneratedClassBuildItem> generatedClasses,
             List<GeneratedResourceBuildItem> generatedResources, Map<String, String> seen)
@@ -469,154 +582,101 @@ public class JarResultBuildStep {
         for (Set<TransformedClassesBuildItem.TransformedClass> transformed : transformedClassesBuildItem
                 .getTransformedClassesByJar().values()) {
             for (TransformedClassesBuildItem.TransformedClass i : transformed) {
-                Path target = runnerZipFs.getPath(i.getFileName());
-                handleParent(runnerZipFs, i.getFileName(), seen);
-                try (final OutputStream out = wrapForJDK8232879(Files.newOutputStream(target, DEFAULT_OPEN_OPTIONS))) {
-                    out.write(i.getData());
-                }
+                runnerJarAssembler.addEntry(i.getFileName(), i.getData());
                 seen.put(i.getFileName(), "Current Application");
             }
         }
         for (GeneratedClassBuildItem i : generatedClasses) {
             String fileName = i.getName().replace(".", "/") + ".class";
             seen.put(fileName, "Current Application");
-            Path target = runnerZipFs.getPath(fileName);
-            handleParent(runnerZipFs, fileName, seen);
-            if (Files.exists(target)) {
+            if (runnerJarAssembler.contains(fileName)) {
                 continue;
             }
-            try (final OutputStream os = wrapForJDK8232879(Files.newOutputStream(target, DEFAULT_OPEN_OPTIONS))) {
-                os.write(i.getClassData());
-            }
+            runnerJarAssembler.addEntry(fileName, i.getClassData());
         }
 
         for (GeneratedResourceBuildItem i : generatedResources) {
-            Path target = runnerZipFs.getPath(i.getName());
-            handleParent(runnerZipFs, i.getName(), seen);
-            if (Files.exists(target)) {
+            if (runnerJarAssembler.contains(i.getName())) {
                 continue;
             }
             if (i.getName().startsWith("META-INF/services")) {
                 services.computeIfAbsent(i.getName(), (u) -> new ArrayList<>()).add(i.getClassData());
             } else {
-                try (final OutputStream os = wrapForJDK8232879(Files.newOutputStream(target, DEFAULT_OPEN_OPTIONS))) {
-                    os.write(i.getClassData());
-                }
+                runnerJarAssembler.addEntry(i.getName(), i.getClassData());
             }
         }
 
-        copyFiles(appArchives.getRootArchive().getArchiveRoot(), runnerZipFs, services);
+        copyFiles(appArchives.getRootArchive().getArchiveRoot(), runnerJarAssembler, services);
 
         for (Map.Entry<String, List<byte[]>> entry : services.entrySet()) {
-            try (final OutputStream os = wrapForJDK8232879(
-                    Files.newOutputStream(runnerZipFs.getPath(entry.getKey()), DEFAULT_OPEN_OPTIONS))) {
-                for (byte[] i : entry.getValue()) {
-                    os.write(i);
-                    os.write('\n');
-                }
-            }
-        }
-    }
-
-    private void handleParent(FileSystem runnerZipFs, String fileName, Map<String, String> seen) throws IOException {
-        for (int i = 0; i < fileName.length(); ++i) {
-            if (fileName.charAt(i) == '/') {
-                String dir = fileName.substring(0, i);
-                if (!seen.containsKey(dir)) {
-                    seen.put(dir, "Current Application");
-                    Files.createDirectories(runnerZipFs.getPath(dir));
-                }
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            for (byte[] i : entry.getValue()) {
+                os.write(i);
+                os.write('\n');
             }
+            runnerJarAssembler.addEntry(entry.getKey(), os.toByteArray());
         }
     }
 
     private void filterZipFile(Path resolvedDep, Path targetPath, Set<String> transformedFromThisArchive) {
 
         try {
-            byte[] buffer = new byte[10000];
-            try (ZipFile in = new ZipFile(resolvedDep.toFile())) {
-                try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(targetPath.toFile()))) {
-                    Enumeration<? extends ZipEntry> entries = in.entries();
-                    while (entries.hasMoreElements()) {
-                        ZipEntry entry = entries.nextElement();
-                        if (!transformedFromThisArchive.contains(entry.getName())) {
-                            out.putNextEntry(entry);
-                            try (InputStream inStream = in.getInputStream(entry)) {
-                                int r = 0;
-                                while ((r = inStream.read(buffer)) > 0) {
-                                    out.write(buffer, 0, r);
-                                }
-                            }
-                        }
+            try (JarAssembler assembler = new JarAssembler(); ZipFile in = new ZipFile(resolvedDep.toFile())) {
+                Enumeration<? extends ZipEntry> entries = in.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory()) {
+                        assembler.addDirectory(entry.getName());
+                    } else if (!transformedFromThisArchive.contains(entry.getName())) {
+                        assembler.copyEntry(resolvedDep, entry.getName());
                     }
                 }
+                assembler.write(targetPath);
             }
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
     /**
      * Manifest generation is quite simple : we just have to push some attributes in manifest.
-     * However, it gets a little more complex if the manifest preexists.
-     * So we first try to see if a manifest exists, and otherwise create a new one.
      *
-     * <b>BEWARE</b> this method should be invoked after file copy from target/classes and so on.
-     * Otherwise this manifest manipulation will be useless.
+     * The manifest is always written as the first entry of the jar by the {@link JarAssembler}, and it takes precedence
+     * over a manifest found in target/classes.
      */
-    private void generateManifest(FileSystem runnerZipFs, final String classPath, PackageConfig config, AppArtifact appArtifact,
-            ApplicationInfoBuildItem applicationInfo)
+    private void generateManifest(JarAssembler runnerJarAssembler, final String classPath, PackageConfig config,
+            AppArtifact appArtifact, ApplicationInfoBuildItem applicationInfo)
             throws IOException {
-        final Path manifestPath = runnerZipFs.getPath("META-INF", "MANIFEST.MF");
         final Manifest manifest = new Manifest();
-        if (Files.exists(manifestPath)) {
-            try (InputStream is = Files.newInputStream(manifestPath)) {
-                manifest.read(is);
-            }
-            Files.delete(manifestPath);
-        } else {
-            Files.createDirectories(runnerZipFs.getPath("META-INF"));
-        }
-        Files.createDirectories(manifestPath.getParent());
         Attributes attributes = manifest.getMainAttributes();
         attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
-        if (attributes.containsKey(Attributes.Name.CLASS_PATH)) {
-            log.warn(
-                    "Your MANIFEST.MF already defined a CLASS_PATH entry. Quarkus has overwritten this existing entry.");
-        }
         attributes.put(Attributes.Name.CLASS_PATH, classPath);
-        if (attributes.containsKey(Attributes.Name.MAIN_CLASS)) {
-            String existingMainClass = attributes.getValue(Attributes.Name.MAIN_CLASS);
-            if (!config.mainClass.equals(existingMainClass)) {
-                log.warn("Your MANIFEST.MF already defined a MAIN_CLASS entry. Quarkus has overwritten your existing entry.");
-            }
-        }
         attributes.put(Attributes.Name.MAIN_CLASS, config.mainClass);
-        if (config.manifest.addImplementationEntries && !attributes.containsKey(Attributes.Name.IMPLEMENTATION_TITLE)) {
+        if (config.manifest.addImplementationEntries) {
             String name = ApplicationInfoBuildItem.UNSET_VALUE.equals(applicationInfo.getName()) ? appArtifact.getArtifactId()
                     : applicationInfo.getName();
             attributes.put(Attributes.Name.IMPLEMENTATION_TITLE, name);
         }
-        if (config.manifest.addImplementationEntries && !attributes.containsKey(Attributes.Name.IMPLEMENTATION_VERSION)) {
+        if (config.manifest.addImplementationEntries) {
             String version = ApplicationInfoBuildItem.UNSET_VALUE.equals(applicationInfo.getVersion())
                     ? appArtifact.getVersion()
                     : applicationInfo.getVersion();
             attributes.put(Attributes.Name.IMPLEMENTATION_VERSION, version);
         }
-        try (final OutputStream os = wrapForJDK8232879(Files.newOutputStream(manifestPath, DEFAULT_OPEN_OPTIONS))) {
-            manifest.write(os);
-        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        manifest.write(os);
+        runnerJarAssembler.addEntry(JarAssembler.MANIFEST, os.toByteArray());
     }
 
     /**
-     * Copy files from {@code dir} to {@code fs}, filtering out service providers into the given map.
+     * Copy files from {@code dir} to {@code assembler}, filtering out service providers into the given map.
      *
      * @param dir the source directory
-     * @param fs the destination filesystem
+     * @param assembler the destination jar
      * @param services the services map
      * @throws IOException if an error occurs
      */
-    private void copyFiles(Path dir, FileSystem fs, Map<String, List<byte[]>> services) throws IOException {
+    private void copyFiles(Path dir, JarAssembler assembler, Map<String, List<byte[]>> services) throws IOException {
         try (Stream<Path> fileTreeElements = Files.walk(dir)) {
             fileTreeElements.forEach(new Consumer<Path>() {
                 @Override
@@ -628,7 +688,7 @@ public class JarResultBuildStep {
                     }
                     try {
                         if (Files.isDirectory(path)) {
-                            addDir(fs, relativePath);
+                            assembler.addDirectory(relativePath);
                         } else {
                             if (relativePath.startsWith("META-INF/services/") && relativePath.length() > 18) {
                                 final byte[] content;
@@ -638,11 +698,8 @@ public class JarResultBuildStep {
                                     throw new RuntimeException(e);
                                 }
                                 services.computeIfAbsent(relativePath, (u) -> new ArrayList<>()).add(content);
-                            } else {
-                                Path target = fs.getPath(relativePath);
-                                if (!Files.exists(target)) {
-                                    Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
-                                }
+                            } else if (!assembler.contains(relativePath)) {
+                                assembler.addFile(relativePath, path);
                             }
                         }
                     } catch (Exception e) {
@@ -659,26 +716,10 @@ public class JarResultBuildStep {
         }
     }
 
-    private void addDir(FileSystem fs, final String relativePath)
-            throws IOException, FileAlreadyExistsException {
-        final Path targetDir = fs.getPath(relativePath);
-        try {
-            Files.createDirectory(targetDir);
-        } catch (FileAlreadyExistsException e) {
-            if (!Files.isDirectory(targetDir)) {
-                throw e;
-            }
-        }
-    }
-
-    private static byte[] read(Path p) throws IOException {
+    private static byte[] read(ZipFile zip, ZipEntry entry) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        byte[] buffer = new byte[1024];
-        int r;
-        try (InputStream in = Files.newInputStream(p)) {
-            while ((r = in.read(buffer)) > 0) {
-                out.write(buffer, 0, r);
-            }
+        try (InputStream in = zip.getInputStream(entry)) {
+            IoUtils.copy(out, in);
         }
         return out.toByteArray();
     }
@@ -716,6 +757,20 @@ public class JarResultBuildStep {
         }
     }
 
+    static class FastJarRequired implements BooleanSupplier {
+
+        private final PackageConfig packageConfig;
+
+        FastJarRequired(PackageConfig packageConfig) {
+            this.packageConfig = packageConfig;
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            return packageConfig.type.equalsIgnoreCase(PackageConfig.FAST_JAR);
+        }
+    }
+
     // same as the impl in sun.security.util.SignatureFileVerifier#isBlockOrSF()
     static boolean isBlockOrSF(final String s) {
         if (s == null) {
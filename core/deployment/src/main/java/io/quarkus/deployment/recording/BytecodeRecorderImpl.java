@@ -109,6 +109,8 @@ public class BytecodeRecorderImpl implements RecorderContext {
     private final String className;
 
     private final List<ObjectLoader> loaders = new ArrayList<>();
+    private final Set<String> consumedValues = new HashSet<>();
+    private Object buildStepId;
 
     /**
      * the maximum number of instruction groups that can be added to a method. This is to limit the size of the method
@@ -137,6 +139,42 @@ public class BytecodeRecorderImpl implements RecorderContext {
         return storedMethodCalls.isEmpty();
     }
 
+    /**
+     * @param buildStepId the identifier of the build step that recorded the bytecode
+     * @see io.quarkus.builder.BuildContext#getStepId()
+     */
+    public void setBuildStepId(Object buildStepId) {
+        this.buildStepId = buildStepId;
+    }
+
+    public Object getBuildStepId() {
+        return buildStepId;
+    }
+
+    /**
+     * @return the keys of the values this recorder puts in the {@link StartupContext}
+     */
+    public Set<String> getProducedValues() {
+        Set<String> produced = new HashSet<>();
+        for (BytecodeInstruction instruction : storedMethodCalls) {
+            if (instruction instanceof StoredMethodCall && ((StoredMethodCall) instruction).proxyId != null) {
+                produced.add(((StoredMethodCall) instruction).proxyId);
+            } else if (instruction instanceof NewInstance) {
+                produced.add(((NewInstance) instruction).proxyId);
+            }
+        }
+        return produced;
+    }
+
+    /**
+     * Only complete once the bytecode was written.
+     *
+     * @return the keys of the values this recorder reads from the {@link StartupContext}
+     */
+    public Set<String> getConsumedValues() {
+        return consumedValues;
+    }
+
     @Override
     public <F, T> void registerSubstitution(Class<F> from, Class<T> to,
             Class<? extends ObjectSubstitution<F, T>> substitution) {
@@ -614,6 +652,7 @@ public class BytecodeRecorderImpl implements RecorderContext {
                         + " was created in a runtime recorder method, while this recorder is for a static init method. The object will not have been created at the time this method is run.");
             }
             String proxyId = rp.__returned$proxy$key();
+            consumedValues.add(proxyId);
             //because this is the result of a method invocation that may not have happened at param deserialization time
             //we just load it from the startup context
             return new DeferredParameter() {
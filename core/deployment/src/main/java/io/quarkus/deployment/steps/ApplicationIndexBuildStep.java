@@ -15,13 +15,30 @@ import org.jboss.logging.Logger;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.ApplicationIndexBuildItem;
 import io.quarkus.deployment.builditem.ArchiveRootBuildItem;
+import io.quarkus.deployment.index.PersistentIndexCache;
+import io.quarkus.deployment.pkg.builditem.BuildSystemTargetBuildItem;
 
 public class ApplicationIndexBuildStep {
 
     private static final Logger log = Logger.getLogger(ApplicationIndexBuildStep.class);
 
+    private static final String CACHE_PREFIX = "application";
+
     @BuildStep
-    ApplicationIndexBuildItem build(ArchiveRootBuildItem root) throws IOException {
+    ApplicationIndexBuildItem build(ArchiveRootBuildItem root, BuildSystemTargetBuildItem target) throws IOException {
+
+        // The index of an unchanged application root is restored from the previous build
+        PersistentIndexCache cache = Files.isDirectory(root.getArchiveRoot())
+                ? PersistentIndexCache.forOutputDirectory(target.getOutputDirectory(), CACHE_PREFIX)
+                : null;
+        String fingerprint = null;
+        if (cache != null) {
+            fingerprint = PersistentIndexCache.fingerprint(root.getArchiveRoot());
+            Index cached = cache.get(CACHE_PREFIX, fingerprint);
+            if (cached != null) {
+                return new ApplicationIndexBuildItem(cached);
+            }
+        }
 
         Indexer indexer = new Indexer();
         Files.walkFileTree(root.getArchiveRoot(), new FileVisitor<Path>() {
@@ -52,6 +69,9 @@ public class ApplicationIndexBuildStep {
             }
         });
         Index appIndex = indexer.complete();
+        if (cache != null) {
+            cache.put(CACHE_PREFIX, fingerprint, appIndex);
+        }
         return new ApplicationIndexBuildItem(appIndex);
     }
 
@@ -5,15 +5,19 @@ import static io.quarkus.gizmo.MethodDescriptor.ofMethod;
 
 import java.io.File;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.graalvm.nativeimage.ImageInfo;
 import org.jboss.logging.Logger;
 
+import io.quarkus.builder.BuildChain;
 import io.quarkus.builder.Version;
 import io.quarkus.deployment.GeneratedClassGizmoAdaptor;
 import io.quarkus.deployment.annotations.BuildProducer;
@@ -51,7 +55,11 @@ import io.quarkus.runtime.LaunchMode;
 import io.quarkus.runtime.NativeImageRuntimePropertiesRecorder;
 import io.quarkus.runtime.StartupContext;
 import io.quarkus.runtime.StartupTask;
+import io.quarkus.runtime.StartupTaskRunner;
 import io.quarkus.runtime.Timing;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
 import io.quarkus.runtime.configuration.ProfileManager;
 
 class MainClassBuildStep {
@@ -63,6 +71,19 @@ class MainClassBuildStep {
     private static final String JAVA_LIBRARY_PATH = "java.library.path";
     private static final String JAVAX_NET_SSL_TRUST_STORE = "javax.net.ssl.trustStore";
 
+    StartupConfig startup;
+
+    @ConfigRoot(phase = ConfigPhase.BUILD_TIME)
+    static class StartupConfig {
+        /**
+         * If set to true, the recorded runtime init tasks that do not depend on each other are run concurrently on startup.
+         * A task depends on another task if its build step (transitively) consumes the build items produced by the
+         * build step of the other task, or if it uses a value returned by the other task.
+         */
+        @ConfigItem(defaultValue = "false")
+        boolean parallel;
+    }
+
     @BuildStep
     MainClassBuildItem build(List<StaticBytecodeRecorderBuildItem> staticInitTasks,
             List<ObjectSubstitutionBuildItem> substitutions,
@@ -210,6 +231,7 @@ class MainClassBuildStep {
         // Load the run time configuration
         tryBlock.invokeStaticMethod(RunTimeConfigurationGenerator.C_CREATE_RUN_TIME_CONFIG);
 
+        List<BytecodeRecorderImpl> mainRecorders = new ArrayList<>();
         for (MainBytecodeRecorderBuildItem holder : mainMethod) {
             final BytecodeRecorderImpl recorder = holder.getBytecodeRecorder();
             if (!recorder.isEmpty()) {
@@ -222,6 +244,31 @@ class MainClassBuildStep {
                     recorder.registerObjectLoader(item.getObjectLoader());
                 }
                 recorder.writeBytecode(gizmoOutput);
+                mainRecorders.add(recorder);
+            }
+        }
+        if (startup.parallel && mainRecorders.size() > 1) {
+            // Independent tasks are started concurrently
+            boolean[][] dependencies = getDependencies(mainRecorders);
+            ResultHandle runner = tryBlock.newInstance(ofConstructor(StartupTaskRunner.class, StartupContext.class),
+                    startupContext);
+            for (BytecodeRecorderImpl recorder : mainRecorders) {
+                ResultHandle dup = tryBlock.newInstance(ofConstructor(recorder.getClassName()));
+                tryBlock.invokeVirtualMethod(ofMethod(StartupTaskRunner.class, "add", int.class, StartupTask.class), runner,
+                        dup);
+            }
+            for (int i = 0; i < dependencies.length; i++) {
+                for (int j = 0; j < i; j++) {
+                    if (dependencies[i][j] && isDirectDependency(dependencies, i, j)) {
+                        tryBlock.invokeVirtualMethod(
+                                ofMethod(StartupTaskRunner.class, "addDependency", void.class, int.class, int.class), runner,
+                                tryBlock.load(i), tryBlock.load(j));
+                    }
+                }
+            }
+            tryBlock.invokeVirtualMethod(ofMethod(StartupTaskRunner.class, "run", void.class), runner);
+        } else {
+            for (BytecodeRecorderImpl recorder : mainRecorders) {
                 ResultHandle dup = tryBlock.newInstance(ofConstructor(recorder.getClassName()));
                 tryBlock.invokeInterfaceMethod(ofMethod(StartupTask.class, "deploy", void.class, StartupContext.class), dup,
                         startupContext);
@@ -288,4 +335,39 @@ class MainClassBuildStep {
         return new MainClassBuildItem(MAIN_CLASS);
     }
 
+    /**
+     * @return a matrix where {@code [i][j]} is {@code true} if the task {@code i} must run after the task {@code j}
+     */
+    static boolean[][] getDependencies(List<BytecodeRecorderImpl> recorders) {
+        boolean[][] dependencies = new boolean[recorders.size()][recorders.size()];
+        List<Set<String>> produced = new ArrayList<>();
+        for (BytecodeRecorderImpl recorder : recorders) {
+            produced.add(recorder.getProducedValues());
+        }
+        for (int i = 0; i < recorders.size(); i++) {
+            BytecodeRecorderImpl recorder = recorders.get(i);
+            for (int j = 0; j < i; j++) {
+                BytecodeRecorderImpl previous = recorders.get(j);
+                if (recorder.getBuildStepId() == null || previous.getBuildStepId() == null
+                        || BuildChain.dependsOn(recorder.getBuildStepId(), previous.getBuildStepId())
+                        || !Collections.disjoint(recorder.getConsumedValues(), produced.get(j))) {
+                    dependencies[i][j] = true;
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * @return {@code false} if the dependency is implied by another dependency
+     */
+    static boolean isDirectDependency(boolean[][] dependencies, int task, int dependency) {
+        for (int k = dependency + 1; k < task; k++) {
+            if (dependencies[task][k] && dependencies[k][dependency]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
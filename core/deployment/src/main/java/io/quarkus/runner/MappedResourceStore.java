@@ -0,0 +1,154 @@
+package io.quarkus.runner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An append-only store for the generated classes and resources. The content is written to a temporary file and read back
+ * through a read-only memory mapping, so that it does not stay on the heap for the life of the application. Only the
+ * index, i.e. the name, offset and length of each entry, is kept in memory.
+ * <p>
+ * If an entry is written again the new content replaces the old one, the old content stays in the file until the store is
+ * closed.
+ * <p>
+ * A mapping only covers the content that was written when it was taken. Writes made through the channel afterwards are not
+ * guaranteed to be visible through an existing mapping, so an entry that ends beyond the mapped content is read through a new
+ * mapping.
+ */
+final class MappedResourceStore implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ConcurrentMap<String, Entry> index = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private long size;
+    private volatile MappedByteBuffer mapped;
+
+    MappedResourceStore(String prefix) {
+        try {
+            this.file = Files.createTempFile(prefix, ".bin");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void put(String name, byte[] data) {
+        synchronized (this) {
+            if (size + data.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Unable to store " + name + " - the store is limited to 2GB");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = size;
+            try {
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to store " + name, e);
+            }
+            index.put(name, new Entry((int) size, data.length));
+            size = position;
+        }
+    }
+
+    boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * @param name
+     * @return a read-only buffer with the content of the entry or {@code null} if there is no such entry or it can no longer
+     *         be read because the store was closed
+     */
+    ByteBuffer get(String name) {
+        Entry entry = index.get(name);
+        if (entry == null) {
+            return null;
+        }
+        int end = entry.offset + entry.length;
+        MappedByteBuffer mapped = this.mapped;
+        // the capacity of a mapping is the size of the content written when it was taken
+        if (mapped == null || mapped.capacity() < end) {
+            mapped = map(end);
+            if (mapped == null) {
+                return null;
+            }
+        }
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.limit(end).position(entry.offset);
+        return buffer.slice();
+    }
+
+    /**
+     * @param name
+     * @return a copy of the content of the entry or {@code null} if there is no such entry
+     */
+    byte[] getBytes(String name) {
+        ByteBuffer buffer = get(name);
+        if (buffer == null) {
+            return null;
+        }
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    private synchronized MappedByteBuffer map(int required) {
+        MappedByteBuffer mapped = this.mapped;
+        if (mapped != null && mapped.capacity() >= required) {
+            return mapped;
+        }
+        if (!channel.isOpen()) {
+            return null;
+        }
+        try {
+            // Map all the content written so far, the previous mapping is released once it is no longer referenced
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map " + file, e);
+        }
+        this.mapped = mapped;
+        return mapped;
+    }
+
+    /**
+     * Closes the file. The entries that were already mapped can still be read, {@link #get(String)} returns {@code null} for
+     * the others.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // the file cannot be deleted while it is still mapped on some platforms
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final int offset;
+        final int length;
+
+        Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+}
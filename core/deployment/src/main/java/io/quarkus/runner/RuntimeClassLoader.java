@@ -3,8 +3,10 @@ package io.quarkus.runner;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,6 +17,7 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -44,14 +47,15 @@ import org.objectweb.asm.ClassWriter;
 
 import io.quarkus.deployment.ClassOutput;
 
-public class RuntimeClassLoader extends ClassLoader implements ClassOutput, TransformerTarget {
+public class RuntimeClassLoader extends ClassLoader implements ClassOutput, TransformerTarget, Closeable {
 
     private static final Logger log = Logger.getLogger(RuntimeClassLoader.class);
 
-    private final Map<String, byte[]> appClasses = new ConcurrentHashMap<>();
+    // The generated classes and resources are kept off the heap
+    private final MappedResourceStore appClasses = new MappedResourceStore("quarkus-classes");
     private final Set<String> frameworkClasses = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
-    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+    private final MappedResourceStore resources = new MappedResourceStore("quarkus-resources");
 
     private volatile Map<String, List<BiFunction<String, ClassVisitor, ClassVisitor>>> bytecodeTransformers = null;
     private volatile ClassLoader transformerSafeClassLoader;
@@ -153,7 +157,7 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
     public InputStream getResourceAsStream(String nm) {
         String name = sanitizeName(nm);
 
-        byte[] data = resources.get(name);
+        byte[] data = resources.getBytes(name);
         if (data != null) {
             return new ByteArrayInputStream(data);
         }
@@ -173,7 +177,7 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
             return ex;
         }
 
-        if (appClasses.containsKey(name)
+        if (appClasses.contains(name)
                 || (!frameworkClasses.contains(name) && getClassInApplicationClassPaths(name) != null)) {
             return findClass(name);
         }
@@ -188,11 +192,12 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
             return existing;
         }
 
-        byte[] bytes = appClasses.get(name);
-        if (bytes != null) {
+        ByteBuffer buffer = appClasses.get(name);
+        if (buffer != null) {
             try {
                 definePackage(name);
-                return defineClass(name, bytes, 0, bytes.length, defaultProtectionDomain);
+                // defined straight from the mapped buffer, no copy of the class is kept on the heap
+                return defineClass(name, buffer, defaultProtectionDomain);
             } catch (Error e) {
                 //potential race conditions if another thread is loading the same class
                 existing = findLoadedClass(name);
@@ -220,6 +225,7 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
                 }
             }
             try {
+                byte[] bytes;
                 try {
                     bytes = Files.readAllBytes(classLoc);
                 } catch (IOException e) {
@@ -346,6 +352,19 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
         resources.put(name, data);
     }
 
+    /**
+     * Releases the files that back the generated classes and resources. The classes that were already defined are not
+     * affected.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            appClasses.close();
+        } finally {
+            resources.close();
+        }
+    }
+
     /**
      * This is needed in order to easily inject classes into the classloader
      * without having to resort to tricks (that don't work that well on new JDKs)
@@ -502,8 +521,7 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
     }
 
     private URL getQuarkusResource(String name) {
-        byte[] data = resources.get(name);
-        if (data != null) {
+        if (resources.contains(name)) {
             String path = "quarkus:" + name;
 
             try {
@@ -517,7 +535,11 @@ public class RuntimeClassLoader extends ClassLoader implements ClassOutput, Tran
 
                             @Override
                             public InputStream getInputStream() throws IOException {
-                                return new ByteArrayInputStream(resources.get(name));
+                                byte[] data = resources.getBytes(name);
+                                if (data == null) {
+                                    throw new FileNotFoundException(path);
+                                }
+                                return new ByteArrayInputStream(data);
                             }
                         };
                     }
@@ -83,8 +83,14 @@ public class RuntimeRunner implements Runnable, Closeable {
 
     @Override
     public void close() throws IOException {
-        if (closeTask != null) {
-            closeTask.close();
+        try {
+            if (closeTask != null) {
+                closeTask.close();
+            }
+        } finally {
+            if (loader instanceof RuntimeClassLoader) {
+                ((RuntimeClassLoader) loader).close();
+            }
         }
     }
 
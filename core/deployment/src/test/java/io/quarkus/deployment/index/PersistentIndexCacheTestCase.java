@@ -0,0 +1,72 @@
+package io.quarkus.deployment.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.jupiter.api.Test;
+
+public class PersistentIndexCacheTestCase {
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        Path dir = Files.createTempDirectory("index-cache");
+        PersistentIndexCache cache = new PersistentIndexCache(dir);
+        assertNull(cache.get("app", "1"));
+
+        cache.put("app", "1", index());
+        Index cached = cache.get("app", "1");
+        assertNotNull(cached);
+        assertNotNull(cached.getClassByName(DotName.createSimple(PersistentIndexCacheTestCase.class.getName())));
+
+        // Stale entries with the same prefix are removed
+        cache.put("app", "2", index());
+        assertNull(cache.get("app", "1"));
+        assertNotNull(cache.get("app", "2"));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testFingerprint() throws IOException {
+        Path root = Files.createTempDirectory("index-root");
+        Path classFile = root.resolve("Foo.class");
+        Files.write(classFile, new byte[] { 1, 2, 3 });
+        String fingerprint = PersistentIndexCache.fingerprint(root);
+        assertEquals(fingerprint, PersistentIndexCache.fingerprint(root));
+        Files.write(root.resolve("foo.txt"), new byte[] { 1 });
+        assertEquals(fingerprint, PersistentIndexCache.fingerprint(root));
+        Files.write(classFile, new byte[] { 1, 2, 3, 4 });
+        assertNotEquals(fingerprint, PersistentIndexCache.fingerprint(root));
+    }
+
+    @Test
+    public void testFileKey() throws IOException {
+        Path jar = Files.createTempFile("index-cache", ".jar");
+        Files.write(jar, new byte[] { 1, 2, 3 });
+        String key = PersistentIndexCache.fileKey(jar);
+        assertEquals(key, PersistentIndexCache.fileKey(jar));
+        Files.write(jar, new byte[] { 1, 2, 3, 4 });
+        assertNotEquals(key, PersistentIndexCache.fileKey(jar));
+    }
+
+    private static Index index() throws IOException {
+        Indexer indexer = new Indexer();
+        try (InputStream in = PersistentIndexCacheTestCase.class
+                .getResourceAsStream(PersistentIndexCacheTestCase.class.getSimpleName() + ".class")) {
+            indexer.index(in);
+        }
+        return indexer.complete();
+    }
+}
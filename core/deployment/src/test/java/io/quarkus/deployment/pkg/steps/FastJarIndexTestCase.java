@@ -0,0 +1,156 @@
+package io.quarkus.deployment.pkg.steps;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.bootstrap.util.IoUtils;
+import io.quarkus.deployment.proxy.SimpleInterface;
+import io.quarkus.runtime.fastjar.FastJarClassLoader;
+import io.quarkus.runtime.fastjar.FastJarIndex;
+
+public class FastJarIndexTestCase {
+
+    private static final String CLASS_FILE = SimpleInterface.class.getName().replace('.', '/') + ".class";
+
+    private Path root;
+
+    @BeforeEach
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("fast-jar");
+    }
+
+    @AfterEach
+    public void deleteRoot() {
+        IoUtils.recursiveDelete(root);
+    }
+
+    @Test
+    public void testIndex() throws IOException {
+        createJars();
+        FastJarIndex index = JarResultBuildStep.createFastJarIndex(root, Arrays.asList("app/app.jar", "lib/lib.jar"),
+                "org.acme.Main");
+
+        assertArrayEquals(new int[] { 0 }, index.getJarIndexes(CLASS_FILE));
+        assertArrayEquals(new int[] { 0, 1 }, index.getJarIndexes("META-INF/services/foo"));
+        assertArrayEquals(new int[] { 1 }, index.getJarIndexes("lib.txt"));
+        assertArrayEquals(new int[] { 0 }, index.getJarIndexes("io/quarkus/deployment/"));
+        assertArrayEquals(new int[] { 0, 1 }, index.getJarIndexes("META-INF/"));
+        assertNull(index.getJarIndexes("missing"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.write(out);
+        FastJarIndex read = FastJarIndex.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("org.acme.Main", read.getMainClass());
+        assertEquals(Arrays.asList("app/app.jar", "lib/lib.jar"), read.getJars());
+        assertArrayEquals(new int[] { 0, 1 }, read.getJarIndexes("META-INF/services/foo"));
+
+        // the same index is always written in the same way
+        ByteArrayOutputStream again = new ByteArrayOutputStream();
+        read.write(again);
+        assertArrayEquals(out.toByteArray(), again.toByteArray());
+    }
+
+    @Test
+    public void testClassLoader() throws Exception {
+        createJars();
+        FastJarIndex index = JarResultBuildStep.createFastJarIndex(root, Arrays.asList("app/app.jar", "lib/lib.jar"),
+                "org.acme.Main");
+        // the parent does not see the test classes
+        FastJarClassLoader classLoader = new FastJarClassLoader(ClassLoader.getSystemClassLoader().getParent(), root,
+                index);
+
+        Class<?> loaded = classLoader.loadClass(SimpleInterface.class.getName());
+        assertSame(classLoader, loaded.getClassLoader());
+        assertSame(loaded, classLoader.loadClass(SimpleInterface.class.getName()));
+        assertThrows(ClassNotFoundException.class, () -> classLoader.loadClass("org.acme.Missing"));
+
+        URL url = classLoader.getResource("lib.txt");
+        assertNotNull(url);
+        try (InputStream in = url.openStream()) {
+            assertEquals("lib", new String(readBytes(in), StandardCharsets.UTF_8));
+        }
+        List<URL> services = Collections.list(classLoader.getResources("META-INF/services/foo"));
+        assertEquals(2, services.size());
+        assertNotNull(classLoader.getResource("io/quarkus/deployment"));
+        assertNull(classLoader.getResource("missing"));
+    }
+
+    @Test
+    public void testMultiReleaseIndex() throws IOException {
+        createMultiReleaseJar(root.resolve("mr.jar"), "true");
+        createMultiReleaseJar(root.resolve("plain.jar"), null);
+        FastJarIndex index = JarResultBuildStep.createFastJarIndex(root, Arrays.asList("mr.jar", "plain.jar"),
+                "org.acme.Main");
+
+        assertArrayEquals(new int[] { 0, 1 }, index.getJarIndexes("META-INF/versions/9/mr/Only9.txt"));
+        // only the multi-release jar is opened for the runtime version
+        assertArrayEquals(new int[] { 0 }, index.getJarIndexes("mr/Only9.txt"));
+        assertArrayEquals(new int[] { 0 }, index.getJarIndexes("mr/"));
+    }
+
+    private static void createMultiReleaseJar(Path jar, String multiRelease) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (multiRelease != null) {
+            manifest.getMainAttributes().putValue("Multi-Release", multiRelease);
+        }
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+            addEntry(out, "META-INF/versions/9/mr/Only9.txt", "9".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void createJars() throws IOException {
+        byte[] classFile;
+        try (InputStream in = FastJarIndexTestCase.class.getClassLoader().getResourceAsStream(CLASS_FILE)) {
+            classFile = readBytes(in);
+        }
+        Files.createDirectories(root.resolve("app"));
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(root.resolve("app/app.jar")))) {
+            addEntry(out, CLASS_FILE, classFile);
+            addEntry(out, "META-INF/services/foo", "app".getBytes(StandardCharsets.UTF_8));
+        }
+        Files.createDirectories(root.resolve("lib"));
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(root.resolve("lib/lib.jar")))) {
+            addEntry(out, "META-INF/services/foo", "lib".getBytes(StandardCharsets.UTF_8));
+            addEntry(out, "lib.txt", "lib".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IoUtils.copy(out, in);
+        return out.toByteArray();
+    }
+
+    private static void addEntry(ZipOutputStream out, String name, byte[] data) throws IOException {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(data);
+        out.closeEntry();
+    }
+
+}
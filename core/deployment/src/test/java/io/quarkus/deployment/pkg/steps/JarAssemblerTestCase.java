@@ -0,0 +1,182 @@
+package io.quarkus.deployment.pkg.steps;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.bootstrap.util.IoUtils;
+
+public class JarAssemblerTestCase {
+
+    private Path dir;
+
+    @BeforeEach
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("jar-assembler");
+    }
+
+    @AfterEach
+    public void deleteDir() {
+        IoUtils.recursiveDelete(dir);
+    }
+
+    @Test
+    public void testAssemble() throws IOException {
+        Path source = dir.resolve("source.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(source))) {
+            addEntry(out, "org/acme/", null, ZipEntry.DEFLATED);
+            addEntry(out, "org/acme/deflated.txt", repeat("deflated", 100), ZipEntry.DEFLATED);
+            addEntry(out, "org/acme/stored.txt", bytes("stored"), ZipEntry.STORED);
+        }
+        Path file = dir.resolve("file.txt");
+        Files.write(file, bytes("file"));
+
+        Path first = dir.resolve("first.jar");
+        Path second = dir.resolve("second.jar");
+        assemble(source, file, first);
+        assemble(source, file, second);
+
+        // reproducible
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+
+        try (ZipFile zip = new ZipFile(first.toFile())) {
+            List<String> names = new ArrayList<>();
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                names.add(entry.getName());
+            }
+            assertEquals(Arrays.asList("META-INF/", "META-INF/MANIFEST.MF", "a/", "a/b/", "a/b/file.txt", "empty/",
+                    "org/", "org/acme/", "org/acme/deflated.txt", "org/acme/replaced.txt", "org/acme/stored.txt"), names);
+            assertArrayEquals(repeat("deflated", 100), read(zip, "org/acme/deflated.txt"));
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("org/acme/deflated.txt").getMethod());
+            assertArrayEquals(bytes("stored"), read(zip, "org/acme/stored.txt"));
+            assertArrayEquals(bytes("file"), read(zip, "a/b/file.txt"));
+            assertArrayEquals(bytes("new"), read(zip, "org/acme/replaced.txt"));
+            assertEquals(zip.getEntry("a/b/file.txt").getTime(), zip.getEntry("org/acme/stored.txt").getTime());
+        }
+        try (JarInputStream in = new JarInputStream(Files.newInputStream(first))) {
+            assertNotNull(in.getManifest());
+            assertEquals("org.acme.Main", in.getManifest().getMainAttributes().getValue("Main-Class"));
+        }
+    }
+
+    @Test
+    public void testManyEntries() throws IOException {
+        Path jar = dir.resolve("many.jar");
+        try (JarAssembler assembler = new JarAssembler()) {
+            for (int i = 0; i < 70000; i++) {
+                assembler.addEntry("entries/" + i, bytes(Integer.toString(i)));
+            }
+            assembler.write(jar);
+        }
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            assertEquals(70001, zip.size());
+            assertArrayEquals(bytes("69999"), read(zip, "entries/69999"));
+        }
+    }
+
+    @Test
+    public void testEntryLargerThan2GBIsRejected() throws IOException {
+        Path source = dir.resolve("source.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(source))) {
+            addEntry(out, "large.bin", bytes("large"), ZipEntry.STORED);
+        }
+        // claim a compressed size of 2GB in the central directory, the data is never read
+        byte[] data = Files.readAllBytes(source);
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        int central = -1;
+        for (int i = data.length - 4; i >= 0 && central == -1; i--) {
+            if (buffer.getInt(i) == 0x02014b50) {
+                central = i;
+            }
+        }
+        assertTrue(central >= 0);
+        buffer.putInt(central + 20, Integer.MIN_VALUE);
+        Files.write(source, data);
+
+        try (JarAssembler assembler = new JarAssembler()) {
+            assembler.copyEntry(source, "large.bin");
+            IOException e = assertThrows(IOException.class, () -> assembler.write(dir.resolve("target.jar")));
+            assertTrue(e.getMessage().contains("larger than 2GB"), e.getMessage());
+        }
+    }
+
+    private static void assemble(Path source, Path file, Path target) throws IOException {
+        try (JarAssembler assembler = new JarAssembler()) {
+            assembler.addEntry("org/acme/replaced.txt", bytes("old"));
+            assembler.copyEntry(source, "org/acme/");
+            assembler.copyEntry(source, "org/acme/deflated.txt");
+            assembler.copyEntry(source, "org/acme/stored.txt");
+            assembler.addFile("a/b/file.txt", file);
+            assembler.addDirectory("empty");
+            assembler.addEntry("org/acme/replaced.txt", bytes("new"));
+            assembler.addEntry(JarAssembler.MANIFEST,
+                    bytes("Manifest-Version: 1.0\r\nMain-Class: org.acme.Main\r\n\r\n"));
+            assertTrue(assembler.contains("org/acme/stored.txt"));
+            assertFalse(assembler.contains("org/acme/missing.txt"));
+            assembler.write(target);
+        }
+    }
+
+    private static void addEntry(ZipOutputStream out, String name, byte[] data, int method) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            entry.setSize(data.length);
+            entry.setCompressedSize(data.length);
+            entry.setCrc(crc.getValue());
+        }
+        out.putNextEntry(entry);
+        if (data != null) {
+            out.write(data);
+        }
+        out.closeEntry();
+    }
+
+    private static byte[] read(ZipFile zip, String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+            IoUtils.copy(out, in);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] repeat(String value, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(value);
+        }
+        return bytes(sb.toString());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
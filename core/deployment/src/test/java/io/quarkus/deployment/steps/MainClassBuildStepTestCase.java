@@ -0,0 +1,142 @@
+package io.quarkus.deployment.steps;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.builder.BuildChain;
+import io.quarkus.builder.BuildChainBuilder;
+import io.quarkus.builder.BuildContext;
+import io.quarkus.builder.BuildStep;
+import io.quarkus.builder.item.SimpleBuildItem;
+import io.quarkus.deployment.TestClassLoader;
+import io.quarkus.deployment.recording.BytecodeRecorderImpl;
+import io.quarkus.deployment.recording.TestJavaBean;
+import io.quarkus.deployment.recording.TestRecorder;
+import io.quarkus.runtime.RuntimeValue;
+
+public class MainClassBuildStepTestCase {
+
+    public static final class FirstItem extends SimpleBuildItem {
+    }
+
+    public static final class SecondItem extends SimpleBuildItem {
+    }
+
+    public static final class ThirdItem extends SimpleBuildItem {
+    }
+
+    @Test
+    public void testTransitiveDependencyIsNotDirect() {
+        // 2 -> 1 -> 0 and 2 -> 0
+        boolean[][] dependencies = {
+                { false, false, false },
+                { true, false, false },
+                { true, true, false }
+        };
+        assertTrue(MainClassBuildStep.isDirectDependency(dependencies, 1, 0));
+        assertTrue(MainClassBuildStep.isDirectDependency(dependencies, 2, 1));
+        assertFalse(MainClassBuildStep.isDirectDependency(dependencies, 2, 0));
+    }
+
+    @Test
+    public void testUnrelatedDependenciesAreDirect() {
+        // 2 -> 0 and 2 -> 1, 1 does not depend on 0
+        boolean[][] dependencies = {
+                { false, false, false },
+                { false, false, false },
+                { true, true, false }
+        };
+        assertTrue(MainClassBuildStep.isDirectDependency(dependencies, 2, 0));
+        assertTrue(MainClassBuildStep.isDirectDependency(dependencies, 2, 1));
+    }
+
+    @Test
+    public void testRecordersWithoutBuildStepAreOrdered() {
+        TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
+        BytecodeRecorderImpl first = new BytecodeRecorderImpl(tcl, false, "com.quarkus.test.First");
+        BytecodeRecorderImpl second = new BytecodeRecorderImpl(tcl, false, "com.quarkus.test.Second");
+        boolean[][] dependencies = MainClassBuildStep.getDependencies(Arrays.asList(first, second));
+        assertArrayEquals(new boolean[] { false, false }, dependencies[0]);
+        assertArrayEquals(new boolean[] { true, false }, dependencies[1]);
+    }
+
+    @Test
+    public void testBuildStepDependencies() throws Exception {
+        Map<String, Object> stepIds = getStepIds();
+        TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
+        BytecodeRecorderImpl first = recorder(tcl, "com.quarkus.test.First", stepIds.get("first"));
+        BytecodeRecorderImpl unrelated = recorder(tcl, "com.quarkus.test.Unrelated", stepIds.get("unrelated"));
+        BytecodeRecorderImpl second = recorder(tcl, "com.quarkus.test.Second", stepIds.get("second"));
+        boolean[][] dependencies = MainClassBuildStep.getDependencies(Arrays.asList(first, unrelated, second));
+        assertArrayEquals(new boolean[] { false, false, false }, dependencies[0]);
+        assertArrayEquals(new boolean[] { false, false, false }, dependencies[1]);
+        assertArrayEquals(new boolean[] { true, false, false }, dependencies[2]);
+    }
+
+    @Test
+    public void testRecordedValueDependencies() throws Exception {
+        Map<String, Object> stepIds = getStepIds();
+        TestClassLoader tcl = new TestClassLoader(getClass().getClassLoader());
+        // the build steps are unrelated but the second recorder uses a value returned by the first one
+        BytecodeRecorderImpl first = recorder(tcl, "com.quarkus.test.First", stepIds.get("first"));
+        BytecodeRecorderImpl unrelated = recorder(tcl, "com.quarkus.test.Unrelated", stepIds.get("unrelated"));
+        RuntimeValue<TestJavaBean> instance = first.newInstance(TestJavaBean.class.getName());
+        unrelated.getRecordingProxy(TestRecorder.class).add(instance);
+        first.writeBytecode(tcl::write);
+        unrelated.writeBytecode(tcl::write);
+
+        boolean[][] dependencies = MainClassBuildStep.getDependencies(Arrays.asList(first, unrelated));
+        assertArrayEquals(new boolean[] { true, false }, dependencies[1]);
+    }
+
+    private static BytecodeRecorderImpl recorder(TestClassLoader tcl, String className, Object buildStepId) {
+        BytecodeRecorderImpl recorder = new BytecodeRecorderImpl(tcl, false, className);
+        recorder.setBuildStepId(buildStepId);
+        return recorder;
+    }
+
+    /**
+     * Runs a chain where the "second" step consumes the item produced by the "first" step and the "unrelated" step
+     * neither produces nor consumes their items.
+     *
+     * @return the identifiers of the steps by name
+     */
+    private static Map<String, Object> getStepIds() throws Exception {
+        Map<String, Object> stepIds = new ConcurrentHashMap<>();
+        BuildChainBuilder builder = BuildChain.builder();
+        builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(BuildContext context) {
+                stepIds.put("first", context.getStepId());
+                context.produce(new FirstItem());
+            }
+        }).produces(FirstItem.class).build();
+        builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(BuildContext context) {
+                context.consume(FirstItem.class);
+                stepIds.put("second", context.getStepId());
+                context.produce(new SecondItem());
+            }
+        }).consumes(FirstItem.class).produces(SecondItem.class).build();
+        builder.addBuildStep(new BuildStep() {
+            @Override
+            public void execute(BuildContext context) {
+                stepIds.put("unrelated", context.getStepId());
+                context.produce(new ThirdItem());
+            }
+        }).produces(ThirdItem.class).build();
+        builder.addFinal(SecondItem.class);
+        builder.addFinal(ThirdItem.class);
+        builder.build().createExecutionBuilder("my-app.jar").execute();
+        return stepIds;
+    }
+
+}
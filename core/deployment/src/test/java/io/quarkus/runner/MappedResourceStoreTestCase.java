@@ -0,0 +1,83 @@
+package io.quarkus.runner;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class MappedResourceStoreTestCase {
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        try (MappedResourceStore store = new MappedResourceStore("test")) {
+            store.put("foo", bytes("foo"));
+            assertTrue(store.contains("foo"));
+            assertFalse(store.contains("bar"));
+            assertNull(store.get("bar"));
+            assertArrayEquals(bytes("foo"), store.getBytes("foo"));
+
+            // Written after the file was mapped
+            store.put("bar", bytes("barbar"));
+            ByteBuffer buffer = store.get("bar");
+            assertTrue(buffer.isReadOnly());
+            assertEquals(6, buffer.remaining());
+            assertArrayEquals(bytes("barbar"), store.getBytes("bar"));
+            assertArrayEquals(bytes("foo"), store.getBytes("foo"));
+
+            // Replaced
+            store.put("foo", bytes("baz"));
+            assertArrayEquals(bytes("baz"), store.getBytes("foo"));
+
+            store.put("empty", new byte[0]);
+            assertEquals(0, store.getBytes("empty").length);
+        }
+    }
+
+    @Test
+    public void testReadAfterClose() throws Exception {
+        MappedResourceStore store = new MappedResourceStore("test");
+        store.put("foo", bytes("foo"));
+        assertArrayEquals(bytes("foo"), store.getBytes("foo"));
+        store.close();
+        assertArrayEquals(bytes("foo"), store.getBytes("foo"));
+    }
+
+    @Test
+    public void testUnmappedEntryAfterClose() throws Exception {
+        MappedResourceStore store = new MappedResourceStore("test");
+        store.put("foo", bytes("foo"));
+        assertArrayEquals(bytes("foo"), store.getBytes("foo"));
+        // written after the file was mapped
+        store.put("bar", bytes("bar"));
+        store.close();
+        assertArrayEquals(bytes("foo"), store.getBytes("foo"));
+        assertNull(store.get("bar"));
+        assertNull(store.getBytes("bar"));
+    }
+
+    @Test
+    public void testRemapAfterWrite() throws Exception {
+        try (MappedResourceStore store = new MappedResourceStore("test")) {
+            byte[] large = new byte[1 << 18];
+            for (int i = 0; i < 10; i++) {
+                large[i] = (byte) i;
+                store.put("large" + i, large);
+                assertArrayEquals(large, store.getBytes("large" + i));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, store.get("large" + i).get(i));
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -280,6 +280,13 @@ public class DevModeMain implements Closeable {
             for (HotReplacementSetup i : hotReplacement) {
                 i.close();
             }
+            if (runtimeUpdatesProcessor != null) {
+                try {
+                    runtimeUpdatesProcessor.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close the runtime updates processor", e);
+                }
+            }
         }
     }
 }
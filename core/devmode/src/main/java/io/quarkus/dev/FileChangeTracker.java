@@ -0,0 +1,193 @@
+package io.quarkus.dev;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Tracks the changes in directory trees via a {@link WatchService}, so that a scan only needs to look at the files that
+ * actually changed instead of walking the whole tree.
+ * <p>
+ * If the changes are not known, e.g. on the first scan, if the watch service is not available or if events were lost,
+ * {@code null} is returned and the caller falls back to walking the tree. A root that cannot be watched, e.g. because a
+ * directory is not readable, is always walked. Watches are not used on macOS, where the JDK implementation polls the file
+ * system and reports changes with a delay of several seconds.
+ */
+class FileChangeTracker implements Closeable {
+
+    private static final Logger log = Logger.getLogger(FileChangeTracker.class);
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    // root -> the paths changed since the previous call of getChangedPaths(), null if not known
+    private final Map<Path, Set<Path>> roots = new HashMap<>();
+    private final Set<Path> unwatchableRoots = new HashSet<>();
+    private boolean closed;
+
+    FileChangeTracker() {
+        this(isWatchServiceSupported());
+    }
+
+    FileChangeTracker(boolean useWatchService) {
+        WatchService watchService = null;
+        if (useWatchService) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException | UnsupportedOperationException e) {
+                log.debug("File watches are not available, changes are detected by scanning the directories", e);
+            }
+        }
+        this.watchService = watchService;
+    }
+
+    /**
+     * Returns the files and directories below the given root that were created, modified or deleted since the previous
+     * invocation for the same root.
+     *
+     * @param root the root directory
+     * @return the changed paths or {@code null} if all the files need to be checked
+     */
+    synchronized Set<Path> getChangedPaths(Path root) {
+        if (watchService == null || closed || unwatchableRoots.contains(root)) {
+            return null;
+        }
+        processEvents();
+        if (!roots.containsKey(root)) {
+            // the first scan of a root is always a full one, everything that changes after the registration is tracked
+            if (Files.isDirectory(root)) {
+                if (register(root)) {
+                    roots.put(root, new HashSet<>());
+                } else {
+                    unwatchableRoots.add(root);
+                    cancel(root);
+                }
+            }
+            return null;
+        }
+        Set<Path> changed = roots.get(root);
+        roots.put(root, new HashSet<>());
+        return changed;
+    }
+
+    private void processEvents() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || directory == null) {
+                    markAllUnknown();
+                    continue;
+                }
+                Path changed = directory.resolve((Path) event.context());
+                markChanged(changed);
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed)) {
+                    // the files created before the watch was registered are reported as changed as well
+                    if (!register(changed)) {
+                        // the roots containing the directory are registered again by their next scan, a full one
+                        roots.keySet().removeIf(changed::startsWith);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+                // a deleted root is registered again by the next full scan
+                roots.remove(directory);
+            }
+        }
+    }
+
+    private boolean register(Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                    markChanged(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    markChanged(file);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return true;
+        } catch (IOException e) {
+            log.debugf(e, "Unable to watch %s", directory);
+            return false;
+        }
+    }
+
+    private void cancel(Path root) {
+        Iterator<Map.Entry<WatchKey, Path>> it = watchedDirectories.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<WatchKey, Path> entry = it.next();
+            // the directories may be shared with another root
+            if (entry.getValue().startsWith(root) && !isBelowWatchedRoot(entry.getValue())) {
+                entry.getKey().cancel();
+                it.remove();
+            }
+        }
+    }
+
+    private boolean isBelowWatchedRoot(Path path) {
+        for (Path root : roots.keySet()) {
+            if (path.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        roots.clear();
+        watchedDirectories.clear();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    // the paths of a root that is not registered yet are not tracked, its next scan is a full one anyway
+    private void markChanged(Path path) {
+        for (Map.Entry<Path, Set<Path>> entry : roots.entrySet()) {
+            if (entry.getValue() != null && path.startsWith(entry.getKey())) {
+                entry.getValue().add(path);
+            }
+        }
+    }
+
+    private void markAllUnknown() {
+        for (Map.Entry<Path, Set<Path>> entry : roots.entrySet()) {
+            entry.setValue(null);
+        }
+    }
+
+    private static boolean isWatchServiceSupported() {
+        return !System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH).contains("mac");
+    }
+
+}
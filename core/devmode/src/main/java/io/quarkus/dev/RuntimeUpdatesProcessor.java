@@ -3,6 +3,7 @@ package io.quarkus.dev;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -31,7 +32,7 @@ import io.quarkus.deployment.devmode.HotReplacementContext;
 import io.quarkus.deployment.devmode.HotReplacementSetup;
 import io.quarkus.runtime.Timing;
 
-public class RuntimeUpdatesProcessor implements HotReplacementContext {
+public class RuntimeUpdatesProcessor implements HotReplacementContext, Closeable {
     private static final String CLASS_EXTENSION = ".class";
     private static final Logger log = Logger.getLogger(RuntimeUpdatesProcessor.class.getPackage().getName());
 
@@ -54,6 +55,7 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
     private final Map<Path, Long> watchedFileTimestamps = new ConcurrentHashMap<>();
     private final Map<Path, Long> classFileChangeTimeStamps = new ConcurrentHashMap<>();
     private final Map<Path, Path> classFilePathToSourceFilePath = new ConcurrentHashMap<>();
+    private final FileChangeTracker fileChangeTracker = new FileChangeTracker();
 
     /**
      * Resources that appear in both src and target, these will be removed if the src resource subsequently disappears.
@@ -166,16 +168,30 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
 
         for (DevModeContext.ModuleInfo module : context.getModules()) {
             final List<Path> moduleChangedSourceFilePaths = new ArrayList<>();
+            boolean sourcesChanged = false;
 
             for (String sourcePath : module.getSourcePaths()) {
                 final Set<File> changedSourceFiles;
-                try (final Stream<Path> sourcesStream = Files.walk(Paths.get(sourcePath))) {
-                    changedSourceFiles = sourcesStream
-                            .parallel()
-                            .filter(p -> matchingHandledExtension(p).isPresent()
+                final Set<Path> changedPaths = fileChangeTracker.getChangedPaths(Paths.get(sourcePath));
+                if (changedPaths == null) {
+                    sourcesChanged = true;
+                    try (final Stream<Path> sourcesStream = Files.walk(Paths.get(sourcePath))) {
+                        changedSourceFiles = sourcesStream
+                                .parallel()
+                                .filter(p -> matchingHandledExtension(p).isPresent()
+                                        && sourceFileWasRecentModified(p, ignoreFirstScanChanges))
+                                .map(Path::toFile)
+                                //Needing a concurrent Set, not many standard options:
+                                .collect(Collectors.toCollection(ConcurrentSkipListSet::new));
+                    }
+                } else {
+                    // only the files reported by the watch service need to be checked, deleted files are handled
+                    // by the class files check
+                    sourcesChanged |= !changedPaths.isEmpty();
+                    changedSourceFiles = changedPaths.stream()
+                            .filter(p -> matchingHandledExtension(p).isPresent() && Files.isRegularFile(p)
                                     && sourceFileWasRecentModified(p, ignoreFirstScanChanges))
                             .map(Path::toFile)
-                            //Needing a concurrent Set, not many standard options:
                             .collect(Collectors.toCollection(ConcurrentSkipListSet::new));
                 }
                 if (!changedSourceFiles.isEmpty()) {
@@ -196,7 +212,8 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
 
             }
 
-            if (checkForClassFilesChangesInModule(module, moduleChangedSourceFilePaths, ignoreFirstScanChanges)) {
+            if (checkForClassFilesChangesInModule(module, moduleChangedSourceFilePaths, ignoreFirstScanChanges,
+                    sourcesChanged)) {
                 hasChanges = true;
             }
         }
@@ -206,7 +223,7 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
     }
 
     private boolean checkForClassFilesChangesInModule(DevModeContext.ModuleInfo module, List<Path> moduleChangedSourceFiles,
-            boolean isInitialRun) {
+            boolean isInitialRun, boolean sourcesChanged) {
         boolean hasChanges = !moduleChangedSourceFiles.isEmpty();
 
         if (module.getClassesPath() == null) {
@@ -216,6 +233,17 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
         try {
             for (String folder : module.getClassesPath().split(File.pathSeparator)) {
                 final Path moduleClassesPath = Paths.get(folder);
+                final Set<Path> changedPaths = fileChangeTracker.getChangedPaths(moduleClassesPath);
+                if (changedPaths != null && !sourcesChanged) {
+                    // the sources did not change, only the class files reported by the watch service need to be checked
+                    for (Path classFilePath : changedPaths) {
+                        if (classFilePath.toString().endsWith(CLASS_EXTENSION) && Files.isRegularFile(classFilePath)
+                                && checkForClassFileChange(classFilePath, moduleChangedSourceFiles, module, isInitialRun)) {
+                            hasChanges = true;
+                        }
+                    }
+                    continue;
+                }
                 try (final Stream<Path> classesStream = Files.walk(moduleClassesPath)) {
                     final Set<Path> classFilePaths = classesStream
                             .parallel()
@@ -223,28 +251,7 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
                             .collect(Collectors.toSet());
 
                     for (Path classFilePath : classFilePaths) {
-                        final Path sourceFilePath = retrieveSourceFilePathForClassFile(classFilePath, moduleChangedSourceFiles,
-                                module);
-
-                        if (sourceFilePath != null) {
-                            if (!sourceFilePath.toFile().exists()) {
-                                // Source file has been deleted. Delete class and restart
-                                cleanUpClassFile(classFilePath);
-                                sourceFileTimestamps.remove(sourceFilePath);
-                                hasChanges = true;
-                            } else {
-                                classFilePathToSourceFilePath.put(classFilePath, sourceFilePath);
-                                if (classFileWasRecentModified(classFilePath, isInitialRun)) {
-                                    // At least one class was recently modified. Restart.
-                                    hasChanges = true;
-                                } else if (moduleChangedSourceFiles.contains(sourceFilePath)) {
-                                    // Source file has been modified, we delete the .class files as they are going to
-                                    // be recompiled anyway, this allows for simple cleanup of inner classes
-                                    cleanUpClassFile(classFilePath);
-                                    hasChanges = true;
-                                }
-                            }
-                        } else if (classFileWasRecentModified(classFilePath, isInitialRun)) {
+                        if (checkForClassFileChange(classFilePath, moduleChangedSourceFiles, module, isInitialRun)) {
                             hasChanges = true;
                         }
                     }
@@ -257,6 +264,35 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
         return hasChanges;
     }
 
+    private boolean checkForClassFileChange(Path classFilePath, List<Path> moduleChangedSourceFiles,
+            DevModeContext.ModuleInfo module, boolean isInitialRun) throws IOException {
+        final Path sourceFilePath = retrieveSourceFilePathForClassFile(classFilePath, moduleChangedSourceFiles,
+                module);
+
+        if (sourceFilePath != null) {
+            if (!sourceFilePath.toFile().exists()) {
+                // Source file has been deleted. Delete class and restart
+                cleanUpClassFile(classFilePath);
+                sourceFileTimestamps.remove(sourceFilePath);
+                return true;
+            } else {
+                classFilePathToSourceFilePath.put(classFilePath, sourceFilePath);
+                if (classFileWasRecentModified(classFilePath, isInitialRun)) {
+                    // At least one class was recently modified. Restart.
+                    return true;
+                } else if (moduleChangedSourceFiles.contains(sourceFilePath)) {
+                    // Source file has been modified, we delete the .class files as they are going to
+                    // be recompiled anyway, this allows for simple cleanup of inner classes
+                    cleanUpClassFile(classFilePath);
+                    return true;
+                }
+            }
+        } else if (classFileWasRecentModified(classFilePath, isInitialRun)) {
+            return true;
+        }
+        return false;
+    }
+
     private Path retrieveSourceFilePathForClassFile(Path classFilePath, List<Path> moduleChangedSourceFiles,
             DevModeContext.ModuleInfo module) {
         Path sourceFilePath = classFilePathToSourceFilePath.get(classFilePath);
@@ -304,8 +340,9 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
                 continue;
             }
             Path classesDir = Paths.get(module.getClassesPath());
-            //copy all modified non hot deployment files over
-            if (doCopy) {
+            //copy all modified non hot deployment files over, unless the watch service reported no changes
+            final Set<Path> changedResources = doCopy ? fileChangeTracker.getChangedPaths(root) : null;
+            if (doCopy && (changedResources == null || !changedResources.isEmpty())) {
                 try {
                     final Set<Path> seen = new HashSet<>(moduleResources);
                     //since the stream is Closeable, use a try with resources so the underlying iterator is closed
@@ -452,4 +489,9 @@ public class RuntimeUpdatesProcessor implements HotReplacementContext {
         }
     }
 
+    @Override
+    public void close() throws IOException {
+        fileChangeTracker.close();
+    }
+
 }
@@ -0,0 +1,120 @@
+package io.quarkus.dev;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FileChangeTrackerTest {
+
+    private Path root;
+
+    @BeforeEach
+    void createRoot() throws IOException {
+        root = Files.createTempDirectory("tracker");
+    }
+
+    @AfterEach
+    void deleteRoot() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void pollingFallback() throws IOException {
+        try (FileChangeTracker tracker = new FileChangeTracker(false)) {
+            assertNull(tracker.getChangedPaths(root));
+            assertNull(tracker.getChangedPaths(root));
+        }
+    }
+
+    @Test
+    void changesReported() throws Exception {
+        assumeTrue(isWatchServiceAvailable(), "the watch service is not available");
+        try (FileChangeTracker tracker = new FileChangeTracker(true)) {
+            // the first call always requires a full scan
+            assertNull(tracker.getChangedPaths(root));
+
+            Path dir = root.resolve("a");
+            Files.createDirectory(dir);
+            Path file = dir.resolve("A.java");
+            Files.write(file, "class A {}".getBytes());
+            Set<Path> changed = awaitChanges(tracker, root, file);
+            assertNotNull(changed, "the changes were not tracked");
+            assertTrue(changed.contains(file), changed::toString);
+        }
+    }
+
+    @Test
+    void unwatchableRootIsAlwaysScanned() throws Exception {
+        assumeTrue(isWatchServiceAvailable(), "the watch service is not available");
+        Path unreadable = Files.createDirectory(root.resolve("unreadable"));
+        try {
+            Files.setPosixFilePermissions(unreadable, PosixFilePermissions.fromString("---------"));
+        } catch (UnsupportedOperationException e) {
+            assumeTrue(false, "POSIX permissions are not supported");
+        }
+        try {
+            assumeFalse(Files.isReadable(unreadable), "the directory is readable anyway, e.g. by root");
+            try (FileChangeTracker tracker = new FileChangeTracker(true)) {
+                assertNull(tracker.getChangedPaths(root));
+                Files.write(root.resolve("A.java"), "class A {}".getBytes());
+                assertNull(tracker.getChangedPaths(root));
+                assertNull(tracker.getChangedPaths(root));
+            }
+        } finally {
+            Files.setPosixFilePermissions(unreadable, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+
+    @Test
+    void closedTrackerRequiresFullScans() throws Exception {
+        FileChangeTracker tracker = new FileChangeTracker(true);
+        assertNull(tracker.getChangedPaths(root));
+        tracker.close();
+        assertNull(tracker.getChangedPaths(root));
+    }
+
+    private static boolean isWatchServiceAvailable() {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static Set<Path> awaitChanges(FileChangeTracker tracker, Path root, Path expected) throws InterruptedException {
+        Set<Path> all = new HashSet<>();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            Set<Path> changed = tracker.getChangedPaths(root);
+            if (changed == null) {
+                return null;
+            }
+            all.addAll(changed);
+            if (all.contains(expected)) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return all;
+    }
+
+}
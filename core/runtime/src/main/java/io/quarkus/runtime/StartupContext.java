@@ -13,9 +13,10 @@ public class StartupContext implements Closeable {
 
     private static final Logger LOG = Logger.getLogger(StartupContext.class);
 
-    private final Map<String, Object> values = new HashMap<>();
-    private final List<Runnable> shutdownTasks = new ArrayList<>();
-    private final List<Runnable> lastShutdownTasks = new ArrayList<>();
+    // The startup tasks may run concurrently
+    private final Map<String, Object> values = Collections.synchronizedMap(new HashMap<>());
+    private final List<Runnable> shutdownTasks = Collections.synchronizedList(new ArrayList<>());
+    private final List<Runnable> lastShutdownTasks = Collections.synchronizedList(new ArrayList<>());
     private final ShutdownContext shutdownContext = new ShutdownContext() {
         @Override
         public void addShutdownTask(Runnable runnable) {
@@ -49,7 +50,10 @@ public class StartupContext implements Closeable {
     }
 
     private void runAllInReverseOrder(List<Runnable> tasks) {
-        List<Runnable> toClose = new ArrayList<>(tasks);
+        List<Runnable> toClose;
+        synchronized (tasks) {
+            toClose = new ArrayList<>(tasks);
+        }
         Collections.reverse(toClose);
         for (Runnable r : toClose) {
             try {
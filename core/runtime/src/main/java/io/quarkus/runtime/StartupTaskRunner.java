@@ -0,0 +1,145 @@
+package io.quarkus.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the startup tasks concurrently, a task is only started once all of its dependencies completed. Generally this will
+ * be used by generated bytecode, and should not be used directly.
+ */
+public class StartupTaskRunner {
+
+    private final StartupContext context;
+    private final List<Node> nodes = new ArrayList<>();
+
+    private int running;
+    private int completed;
+    private Throwable failure;
+
+    public StartupTaskRunner(StartupContext context) {
+        this.context = context;
+    }
+
+    /**
+     *
+     * @param task
+     * @return the index of the task
+     */
+    public int add(StartupTask task) {
+        nodes.add(new Node(task));
+        return nodes.size() - 1;
+    }
+
+    /**
+     *
+     * @param task the index of the task
+     * @param dependency the index of the task that must complete before the task is started
+     */
+    public void addDependency(int task, int dependency) {
+        Node node = nodes.get(task);
+        nodes.get(dependency).dependents.add(node);
+        node.remaining.incrementAndGet();
+    }
+
+    /**
+     * Runs all the tasks and waits until they complete. If a task fails no other task is started and the failure is
+     * rethrown once the tasks already running complete.
+     */
+    public void run() {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(nodes.size(), Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread thread = new Thread(r, "quarkus-startup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(tccl);
+                    return thread;
+                });
+        try {
+            synchronized (this) {
+                for (Node node : nodes) {
+                    if (node.remaining.get() == 0) {
+                        submit(executor, node);
+                    }
+                }
+                boolean interrupted = false;
+                while (running > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failure != null) {
+                    if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    } else if (failure instanceof Error) {
+                        throw (Error) failure;
+                    }
+                    throw new RuntimeException(failure);
+                }
+                if (completed != nodes.size()) {
+                    throw new IllegalStateException("Startup tasks not run due to a dependency cycle: "
+                            + (nodes.size() - completed));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Must be called while holding the lock
+    private void submit(ExecutorService executor, Node node) {
+        running++;
+        executor.execute(() -> {
+            Throwable error = null;
+            try {
+                node.task.deploy(context);
+            } catch (Throwable t) {
+                error = t;
+            }
+            synchronized (this) {
+                running--;
+                if (error != null) {
+                    if (failure == null) {
+                        failure = error;
+                    } else {
+                        failure.addSuppressed(error);
+                    }
+                } else {
+                    completed++;
+                    if (failure == null) {
+                        for (Node dependent : node.dependents) {
+                            if (dependent.remaining.decrementAndGet() == 0) {
+                                submit(executor, dependent);
+                            }
+                        }
+                    }
+                }
+                notifyAll();
+            }
+        });
+    }
+
+    private static final class Node {
+
+        final StartupTask task;
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger remaining = new AtomicInteger();
+
+        Node(StartupTask task) {
+            this.task = task;
+        }
+
+    }
+
+}
@@ -0,0 +1,223 @@
+package io.quarkus.runtime.fastjar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The class loader of a fast-jar application. Each lookup is resolved via the {@link FastJarIndex}, only the jars that
+ * actually contain the class or resource are opened, the first time they are needed. On Java 9+ the multi-release jars
+ * are opened for the runtime version.
+ */
+public class FastJarClassLoader extends ClassLoader {
+
+    // the multi-release jars are only supported on Java 9+, the constructor is looked up reflectively to run on Java 8
+    private static final Constructor<JarFile> MULTI_RELEASE_JAR_CONSTRUCTOR;
+    private static final Object RUNTIME_VERSION;
+
+    static {
+        registerAsParallelCapable();
+        Constructor<JarFile> constructor;
+        Object runtimeVersion;
+        try {
+            Class<?> versionClass = Class.forName("java.lang.Runtime$Version");
+            constructor = JarFile.class.getConstructor(File.class, boolean.class, int.class, versionClass);
+            runtimeVersion = JarFile.class.getMethod("runtimeVersion").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            constructor = null;
+            runtimeVersion = null;
+        }
+        MULTI_RELEASE_JAR_CONSTRUCTOR = constructor;
+        RUNTIME_VERSION = runtimeVersion;
+    }
+
+    private final FastJarIndex index;
+    private final Path[] paths;
+    // each slot is set once, a jar opened concurrently by another thread is closed
+    private final AtomicReferenceArray<JarFile> jars;
+    private final AtomicReferenceArray<ProtectionDomain> protectionDomains;
+
+    public FastJarClassLoader(ClassLoader parent, Path root, FastJarIndex index) {
+        super(parent);
+        this.index = index;
+        List<String> jarNames = index.getJars();
+        this.paths = new Path[jarNames.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = root.resolve(jarNames.get(i));
+        }
+        this.jars = new AtomicReferenceArray<>(paths.length);
+        this.protectionDomains = new AtomicReferenceArray<>(paths.length);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        String resourceName = name.replace('.', '/').concat(".class");
+        int[] found = index.getJarIndexes(resourceName);
+        if (found == null) {
+            throw new ClassNotFoundException(name);
+        }
+        int jarIndex = found[0];
+        byte[] bytes;
+        try {
+            JarFile jar = getJar(jarIndex);
+            ZipEntry entry = jar.getEntry(resourceName);
+            if (entry == null) {
+                throw new ClassNotFoundException(name);
+            }
+            try (InputStream in = jar.getInputStream(entry)) {
+                bytes = read(in, entry.getSize());
+            }
+            definePackage(name, jar);
+        } catch (IOException | UncheckedIOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+        return defineClass(name, bytes, 0, bytes.length, getProtectionDomain(jarIndex));
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        int[] found = findJarIndexes(name);
+        return found != null ? toUrl(found[0], name) : null;
+    }
+
+    @Override
+    protected Enumeration<URL> findResources(String name) {
+        int[] found = findJarIndexes(name);
+        if (found == null) {
+            return Collections.emptyEnumeration();
+        }
+        List<URL> urls = new ArrayList<>(found.length);
+        for (int jarIndex : found) {
+            urls.add(toUrl(jarIndex, name));
+        }
+        return Collections.enumeration(urls);
+    }
+
+    private int[] findJarIndexes(String name) {
+        if (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        int[] found = index.getJarIndexes(name);
+        if (found == null && !name.endsWith("/")) {
+            // the directories are indexed with a trailing slash
+            found = index.getJarIndexes(name + "/");
+        }
+        return found;
+    }
+
+    private URL toUrl(int jarIndex, String name) {
+        try {
+            return new URL("jar:" + paths[jarIndex].toUri() + "!/" + name);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid resource name: " + name, e);
+        }
+    }
+
+    private JarFile getJar(int jarIndex) throws IOException {
+        JarFile jar = jars.get(jarIndex);
+        if (jar != null) {
+            return jar;
+        }
+        jar = openJar(paths[jarIndex].toFile());
+        if (jars.compareAndSet(jarIndex, null, jar)) {
+            return jar;
+        }
+        jar.close();
+        return jars.get(jarIndex);
+    }
+
+    private static JarFile openJar(File file) throws IOException {
+        if (MULTI_RELEASE_JAR_CONSTRUCTOR == null) {
+            return new JarFile(file, true, ZipFile.OPEN_READ);
+        }
+        try {
+            return MULTI_RELEASE_JAR_CONSTRUCTOR.newInstance(file, true, ZipFile.OPEN_READ, RUNTIME_VERSION);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ProtectionDomain getProtectionDomain(int jarIndex) {
+        ProtectionDomain protectionDomain = protectionDomains.get(jarIndex);
+        if (protectionDomain != null) {
+            return protectionDomain;
+        }
+        URL url;
+        try {
+            url = paths[jarIndex].toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+        protectionDomain = new ProtectionDomain(new CodeSource(url, (Certificate[]) null), null, this, null);
+        return protectionDomains.compareAndSet(jarIndex, null, protectionDomain) ? protectionDomain
+                : protectionDomains.get(jarIndex);
+    }
+
+    private void definePackage(String className, JarFile jar) throws IOException {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot == -1) {
+            return;
+        }
+        String packageName = className.substring(0, lastDot);
+        if (getPackage(packageName) != null) {
+            return;
+        }
+        Manifest manifest = jar.getManifest();
+        try {
+            if (manifest != null) {
+                Attributes attributes = manifest.getMainAttributes();
+                definePackage(packageName,
+                        attributes.getValue(Attributes.Name.SPECIFICATION_TITLE),
+                        attributes.getValue(Attributes.Name.SPECIFICATION_VERSION),
+                        attributes.getValue(Attributes.Name.SPECIFICATION_VENDOR),
+                        attributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE),
+                        attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION),
+                        attributes.getValue(Attributes.Name.IMPLEMENTATION_VENDOR), null);
+            } else {
+                definePackage(packageName, null, null, null, null, null, null, null);
+            }
+        } catch (IllegalArgumentException e) {
+            // defined concurrently by another thread
+        }
+    }
+
+    private static byte[] read(InputStream in, long size) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size > 0 ? (int) size : 8192);
+        byte[] buffer = new byte[8192];
+        int r;
+        while ((r = in.read(buffer)) > 0) {
+            out.write(buffer, 0, r);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,121 @@
+package io.quarkus.runtime.fastjar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The index of a fast-jar application, i.e. the location of every class and resource of the application and its
+ * dependencies. It is written at build time and read by {@link FastJarLauncher} on startup, so that the class loader does
+ * not need to scan the jars.
+ * <p>
+ * A name maps to the indexes of all the jars that contain it, in class path order. The names of directories are included
+ * with a trailing slash.
+ */
+public final class FastJarIndex {
+
+    /**
+     * The location of the index in the runner jar.
+     */
+    public static final String RESOURCE = "META-INF/quarkus-classpath.idx";
+
+    private static final int MAGIC = 0x51464A49;
+    private static final int VERSION = 1;
+
+    private final String mainClass;
+    private final List<String> jars;
+    private final Map<String, int[]> entries;
+
+    /**
+     *
+     * @param mainClass the main class of the application
+     * @param jars the paths of the jars, relative to the directory of the runner jar and separated by {@code /}
+     * @param entries the indexes of the jars that contain each name
+     */
+    public FastJarIndex(String mainClass, List<String> jars, Map<String, int[]> entries) {
+        this.mainClass = mainClass;
+        this.jars = Collections.unmodifiableList(new ArrayList<>(jars));
+        this.entries = entries;
+    }
+
+    public String getMainClass() {
+        return mainClass;
+    }
+
+    public List<String> getJars() {
+        return jars;
+    }
+
+    /**
+     *
+     * @param name
+     * @return the indexes of the jars that contain the given name or {@code null}
+     */
+    public int[] getJarIndexes(String name) {
+        return entries.get(name);
+    }
+
+    public static FastJarIndex read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a fast-jar index");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported fast-jar index version " + version);
+        }
+        String mainClass = data.readUTF();
+        int jarCount = data.readInt();
+        List<String> jars = new ArrayList<>(jarCount);
+        for (int i = 0; i < jarCount; i++) {
+            jars.add(data.readUTF());
+        }
+        int entryCount = data.readInt();
+        // sized so that the map is never rehashed
+        Map<String, int[]> entries = new HashMap<>((int) (entryCount / 0.75f) + 1);
+        for (int i = 0; i < entryCount; i++) {
+            String name = data.readUTF();
+            int[] indexes = new int[data.readUnsignedShort()];
+            for (int j = 0; j < indexes.length; j++) {
+                indexes[j] = data.readUnsignedShort();
+            }
+            entries.put(name, indexes);
+        }
+        return new FastJarIndex(mainClass, jars, entries);
+    }
+
+    /**
+     * The entries are written in a sorted order, the same index always results in the same bytes.
+     *
+     * @param out
+     * @throws IOException
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(mainClass);
+        data.writeInt(jars.size());
+        for (String jar : jars) {
+            data.writeUTF(jar);
+        }
+        data.writeInt(entries.size());
+        for (Map.Entry<String, int[]> entry : new TreeMap<>(entries).entrySet()) {
+            data.writeUTF(entry.getKey());
+            data.writeShort(entry.getValue().length);
+            for (int index : entry.getValue()) {
+                data.writeShort(index);
+            }
+        }
+        data.flush();
+    }
+
+}
@@ -0,0 +1,41 @@
+package io.quarkus.runtime.fastjar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The entry point of a fast-jar application. It is copied to the runner jar together with {@link FastJarIndex} and
+ * {@link FastJarClassLoader}, the runner jar contains nothing else. The launcher reads the index, creates the class loader
+ * and invokes the main class of the application.
+ */
+public final class FastJarLauncher {
+
+    private FastJarLauncher() {
+    }
+
+    public static void main(String[] args) throws Throwable {
+        ClassLoader launcherClassLoader = FastJarLauncher.class.getClassLoader();
+        Path root = Paths.get(FastJarLauncher.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .getParent();
+        FastJarIndex index;
+        try (InputStream in = launcherClassLoader.getResourceAsStream(FastJarIndex.RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Unable to find " + FastJarIndex.RESOURCE);
+            }
+            index = FastJarIndex.read(in);
+        }
+        FastJarClassLoader classLoader = new FastJarClassLoader(launcherClassLoader, root, index);
+        Thread.currentThread().setContextClassLoader(classLoader);
+        Method main = Class.forName(index.getMainClass(), false, classLoader).getMethod("main", String[].class);
+        try {
+            main.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -24,4 +24,12 @@ public class AsyncConfig {
      */
     @ConfigItem(defaultValue = "block")
     OverflowAction overflow;
+
+    /**
+     * The maximum number of queued records written before the underlying handler is flushed. With a value greater than
+     * 1, the queue is drained in batches and the underlying handler is flushed once per batch rather than once per
+     * record. The number of records that did not fit in the queue and the number of dropped records are then counted.
+     */
+    @ConfigItem(defaultValue = "1")
+    int batchSize;
 }
@@ -0,0 +1,183 @@
+package io.quarkus.runtime.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+
+/**
+ * An asynchronous handler that drains the queued records in batches. Every nested handler is only flushed once per
+ * batch, so that the records of a batch end up in as few writes as the buffer of the nested handler allows. The nested
+ * handlers are expected not to flush on every record.
+ * <p>
+ * The number of records that did not fit in the queue and the number of records dropped because of it are counted.
+ */
+public class BatchingAsyncHandler extends ExtHandler {
+
+    private final BlockingQueue<ExtLogRecord> queue;
+    private final int queueLength;
+    private final int batchSize;
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile OverflowAction overflowAction = OverflowAction.BLOCK;
+
+    private final Object lock = new Object();
+    private volatile Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * @param queueLength the maximum number of queued records
+     * @param batchSize the maximum number of records written before the nested handlers are flushed
+     */
+    public BatchingAsyncHandler(int queueLength, int batchSize) {
+        if (queueLength < 1) {
+            throw new IllegalArgumentException("The queue length must be greater than 0");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be greater than 0");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueLength);
+        this.queueLength = queueLength;
+        this.batchSize = batchSize;
+    }
+
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public OverflowAction getOverflowAction() {
+        return overflowAction;
+    }
+
+    public void setOverflowAction(OverflowAction overflowAction) {
+        if (overflowAction == null) {
+            throw new NullPointerException("overflowAction is null");
+        }
+        this.overflowAction = overflowAction;
+    }
+
+    /**
+     * @return the number of records that did not fit in the queue when published
+     */
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    /**
+     * @return the number of records that were dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    protected void doPublish(ExtLogRecord record) {
+        if (closed) {
+            // the records published while the handler is being closed are written on the publishing thread
+            publishBatch(Collections.singletonList(record));
+            return;
+        }
+        startThread();
+        // the record is formatted on another thread, so the lazily computed values must be captured now
+        record.copyAll();
+        if (!queue.offer(record)) {
+            overflows.increment();
+            if (overflowAction == OverflowAction.DISCARD) {
+                dropped.increment();
+                return;
+            }
+            try {
+                // once closed, the handler drains the queue so a blocked publisher is released
+                queue.put(record);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+                return;
+            }
+        }
+        if (closed && queue.remove(record)) {
+            // the handler was closed concurrently and may have drained the queue already, so nobody would write it
+            publishBatch(Collections.singletonList(record));
+        }
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        Thread thread;
+        synchronized (lock) {
+            closed = true;
+            thread = this.thread;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // write the records queued before the handler was closed
+        List<ExtLogRecord> batch = new ArrayList<>(queue.size());
+        queue.drainTo(batch);
+        publishBatch(batch);
+        super.close();
+    }
+
+    private void startThread() {
+        if (thread != null) {
+            return;
+        }
+        synchronized (lock) {
+            if (thread == null && !closed) {
+                Thread thread = new Thread(this::run, "quarkus-log-batching-async-handler");
+                thread.setDaemon(true);
+                thread.start();
+                this.thread = thread;
+            }
+        }
+    }
+
+    private void run() {
+        List<ExtLogRecord> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // if the handler is being closed, the remaining records are written by close()
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            publishBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void publishBatch(List<ExtLogRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (Handler handler : getHandlers()) {
+            try {
+                for (ExtLogRecord record : batch) {
+                    handler.publish(record);
+                }
+                handler.flush();
+            } catch (Exception e) {
+                reportError("Failed to publish a batch of log records", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ import java.util.logging.Level;
 
 import org.graalvm.nativeimage.ImageInfo;
 import org.jboss.logmanager.EmbeddedConfigurator;
+import org.jboss.logmanager.ExtHandler;
 import org.jboss.logmanager.LogContext;
 import org.jboss.logmanager.Logger;
 import org.jboss.logmanager.errormanager.OnlyOnceErrorManager;
@@ -252,7 +253,17 @@ public class LoggingSetupRecorder {
         }
     }
 
-    private static AsyncHandler createAsyncHandler(AsyncConfig asyncConfig, Level level, Handler handler) {
+    private static ExtHandler createAsyncHandler(AsyncConfig asyncConfig, Level level, ExtHandler handler) {
+        if (asyncConfig.batchSize > 1) {
+            final BatchingAsyncHandler asyncHandler = new BatchingAsyncHandler(asyncConfig.queueLength,
+                    asyncConfig.batchSize);
+            asyncHandler.setOverflowAction(asyncConfig.overflow);
+            // the batching handler flushes once per batch
+            handler.setAutoFlush(false);
+            asyncHandler.addHandler(handler);
+            asyncHandler.setLevel(level);
+            return asyncHandler;
+        }
         final AsyncHandler asyncHandler = new AsyncHandler(asyncConfig.queueLength);
         asyncHandler.setOverflowAction(asyncConfig.overflow);
         asyncHandler.addHandler(handler);
@@ -0,0 +1,64 @@
+package io.quarkus.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class StartupTaskRunnerTestCase {
+
+    @Test
+    public void testDependenciesRespected() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        // The first two tasks only complete if they run concurrently
+        CountDownLatch latch = new CountDownLatch(2);
+        StartupContext context = new StartupContext();
+        StartupTaskRunner runner = new StartupTaskRunner(context);
+        int a = runner.add(c -> {
+            await(latch);
+            c.putValue("a", "a");
+            events.add("a");
+        });
+        int b = runner.add(c -> {
+            await(latch);
+            events.add("b");
+        });
+        int c = runner.add(ctx -> events.add("c:" + ctx.getValue("a")));
+        runner.addDependency(c, a);
+        runner.addDependency(c, b);
+        runner.run();
+        assertEquals(3, events.size());
+        assertEquals("c:a", events.get(2));
+    }
+
+    @Test
+    public void testFailure() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        StartupTaskRunner runner = new StartupTaskRunner(new StartupContext());
+        int a = runner.add(c -> {
+            throw new IllegalStateException("boom");
+        });
+        int b = runner.add(c -> events.add("b"));
+        runner.addDependency(b, a);
+        IllegalStateException e = assertThrows(IllegalStateException.class, runner::run);
+        assertEquals("boom", e.getMessage());
+        assertFalse(events.contains("b"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package io.quarkus.runtime.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+import org.junit.jupiter.api.Test;
+
+public class BatchingAsyncHandlerTestCase {
+
+    @Test
+    public void testNestedHandlerIsFlushedOncePerBatch() throws InterruptedException {
+        RecordingHandler nested = new RecordingHandler(true);
+        BatchingAsyncHandler handler = new BatchingAsyncHandler(100, 10);
+        handler.addHandler(nested);
+        try {
+            handler.publish(record(0));
+            // the first record is being written, so the following ones are queued
+            assertTrue(nested.entered.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i <= 20; i++) {
+                handler.publish(record(i));
+            }
+            nested.release.countDown();
+
+            await(() -> nested.flushes.get() == 3);
+            assertEquals(messages(0, 20), nested.messages);
+            // one batch with the first record, then two batches of 10 records
+            assertEquals(3, nested.flushes.get());
+            assertEquals(0, handler.getOverflowCount());
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testOverflowingRecordsAreDiscarded() throws InterruptedException {
+        RecordingHandler nested = new RecordingHandler(true);
+        BatchingAsyncHandler handler = new BatchingAsyncHandler(2, 10);
+        handler.setOverflowAction(OverflowAction.DISCARD);
+        handler.addHandler(nested);
+        try {
+            handler.publish(record(0));
+            assertTrue(nested.entered.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i <= 4; i++) {
+                handler.publish(record(i));
+            }
+            assertEquals(2, handler.getOverflowCount());
+            assertEquals(2, handler.getDroppedCount());
+            nested.release.countDown();
+
+            await(() -> nested.messages.size() == 3);
+            assertEquals(messages(0, 2), nested.messages);
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testOverflowingRecordsBlockThePublisher() throws InterruptedException {
+        RecordingHandler nested = new RecordingHandler(true);
+        BatchingAsyncHandler handler = new BatchingAsyncHandler(1, 10);
+        handler.addHandler(nested);
+        try {
+            handler.publish(record(0));
+            assertTrue(nested.entered.await(10, TimeUnit.SECONDS));
+            handler.publish(record(1));
+            Thread publisher = new Thread(() -> handler.publish(record(2)));
+            publisher.start();
+            await(() -> handler.getOverflowCount() == 1);
+            assertEquals(1, handler.getOverflowCount());
+            nested.release.countDown();
+
+            publisher.join(10_000);
+            await(() -> nested.messages.size() == 3);
+            assertEquals(messages(0, 2), nested.messages);
+            assertEquals(0, handler.getDroppedCount());
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testQueuedRecordsAreWrittenOnClose() {
+        RecordingHandler nested = new RecordingHandler(false);
+        BatchingAsyncHandler handler = new BatchingAsyncHandler(100, 10);
+        handler.addHandler(nested);
+        for (int i = 0; i < 50; i++) {
+            handler.publish(record(i));
+        }
+        handler.close();
+        assertEquals(messages(0, 49), nested.messages);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static ExtLogRecord record(int i) {
+        return new ExtLogRecord(Level.INFO, "message " + i, BatchingAsyncHandlerTestCase.class.getName());
+    }
+
+    private static List<String> messages(int from, int to) {
+        List<String> messages = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            messages.add("message " + i);
+        }
+        return messages;
+    }
+
+    static final class RecordingHandler extends ExtHandler {
+
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final AtomicInteger flushes = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        /**
+         * @param blocking whether writing a record blocks until {@link #release} is counted down
+         */
+        RecordingHandler(boolean blocking) {
+            this.release = new CountDownLatch(blocking ? 1 : 0);
+        }
+
+        @Override
+        protected void doPublish(ExtLogRecord record) {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+    }
+}
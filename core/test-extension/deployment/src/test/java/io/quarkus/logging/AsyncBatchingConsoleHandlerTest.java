@@ -0,0 +1,49 @@
+package io.quarkus.logging;
+
+import static io.quarkus.logging.LoggingTestsHelper.getHandler;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.handlers.AsyncHandler;
+import org.jboss.logmanager.handlers.ConsoleHandler;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.logging.BatchingAsyncHandler;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AsyncBatchingConsoleHandlerTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .withConfigurationResource("application-async-batching-console-log.properties")
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addAsManifestResource("application.properties", "microprofile-config.properties"))
+            .setLogFileName("AsyncBatchingConsoleHandlerTest.log");
+
+    @Test
+    public void asyncBatchingConsoleHandlerConfigurationTest() {
+        Handler handler = getHandler(BatchingAsyncHandler.class);
+        assertThat(handler.getLevel()).isEqualTo(Level.WARNING);
+
+        BatchingAsyncHandler asyncHandler = (BatchingAsyncHandler) handler;
+        assertThat(asyncHandler.getHandlers()).isNotEmpty();
+        assertThat(asyncHandler.getQueueLength()).isEqualTo(256);
+        assertThat(asyncHandler.getBatchSize()).isEqualTo(64);
+        assertThat(asyncHandler.getOverflowAction()).isEqualTo(AsyncHandler.OverflowAction.DISCARD);
+
+        Handler nestedConsoleHandler = Arrays.stream(asyncHandler.getHandlers())
+                .filter(h -> (h instanceof ConsoleHandler))
+                .findFirst().get();
+
+        ConsoleHandler consoleHandler = (ConsoleHandler) nestedConsoleHandler;
+        assertThat(consoleHandler.getLevel()).isEqualTo(Level.WARNING);
+        assertThat(consoleHandler.isAutoFlush()).isFalse();
+    }
+
+}
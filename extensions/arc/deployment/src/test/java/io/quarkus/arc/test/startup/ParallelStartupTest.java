@@ -0,0 +1,65 @@
+package io.quarkus.arc.test.startup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ParallelStartupTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(StartupBean.class)
+                    .addAsResource(new StringAsset("quarkus.startup.parallel=true\nstartup.message=hello"),
+                            "application.properties"));
+
+    @Inject
+    StartupBean bean;
+
+    @Test
+    public void testStartupTasksRunInParallelMode() {
+        String startupThread = bean.getStartupThread();
+        assertNotNull(startupThread, "the startup event was not fired");
+        // the recorded tasks are run by the startup task runner instead of the main thread
+        assertTrue(startupThread.startsWith("quarkus-startup-"), startupThread);
+        assertEquals("hello", bean.getMessage());
+    }
+
+    @ApplicationScoped
+    static class StartupBean {
+
+        @Inject
+        @ConfigProperty(name = "startup.message")
+        String message;
+
+        volatile String startupThread;
+
+        void onStart(@Observes StartupEvent event) {
+            startupThread = Thread.currentThread().getName();
+        }
+
+        String getMessage() {
+            return message;
+        }
+
+        String getStartupThread() {
+            return startupThread;
+        }
+
+    }
+
+}
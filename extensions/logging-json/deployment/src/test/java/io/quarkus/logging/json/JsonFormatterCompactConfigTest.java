@@ -0,0 +1,80 @@
+package io.quarkus.logging.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.formatters.StructuredFormatter;
+import org.jboss.logmanager.handlers.ConsoleHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.logging.json.runtime.CompactJsonFormatter;
+import io.quarkus.runtime.logging.InitialConfigurator;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class JsonFormatterCompactConfigTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .withConfigurationResource("application-json-formatter-compact.properties");
+
+    @Test
+    public void compactJsonFormatterConfigurationTest() {
+        CompactJsonFormatter formatter = getCompactJsonFormatter();
+        assertThat(formatter.getDateTimeFormatter().getZone()).isEqualTo(ZoneId.of("UTC"));
+        assertThat(formatter.getExceptionOutputType())
+                .isEqualTo(StructuredFormatter.ExceptionOutputType.DETAILED_AND_FORMATTED);
+        assertThat(formatter.getRecordDelimiter()).isEqualTo("\n");
+        assertThat(formatter.isPrintDetails()).isFalse();
+    }
+
+    @Test
+    public void compactJsonFormatterOutputTest() {
+        CompactJsonFormatter formatter = getCompactJsonFormatter();
+        ExtLogRecord record = new ExtLogRecord(Level.WARNING, "a \"quoted\"\n\u0001 message",
+                JsonFormatterCompactConfigTest.class.getName());
+        record.setLoggerName("io.quarkus.test");
+        IllegalStateException cause = new IllegalStateException("cause");
+        record.setThrown(new RuntimeException("failure", cause));
+
+        String formatted = formatter.format(record);
+        assertThat(formatted).endsWith("}\n");
+        JsonObject json;
+        try (JsonReader reader = Json.createReader(new StringReader(formatted))) {
+            json = reader.readObject();
+        }
+        assertThat(json.getString("level")).isEqualTo("WARNING");
+        assertThat(json.getString("loggerName")).isEqualTo("io.quarkus.test");
+        assertThat(json.getString("message")).isEqualTo("a \"quoted\"\n\u0001 message");
+        assertThat(json.getString("timestamp")).endsWith("Z");
+        JsonObject exception = json.getJsonObject("exception");
+        assertThat(exception.getString("exceptionType")).isEqualTo(RuntimeException.class.getName());
+        assertThat(exception.getString("message")).isEqualTo("failure");
+        assertThat(exception.getJsonArray("frames")).isNotEmpty();
+        assertThat(exception.getJsonObject("causedBy").getJsonObject("exception").getString("message"))
+                .isEqualTo("cause");
+        assertThat(json.getString("stackTrace")).contains("java.lang.RuntimeException: failure");
+    }
+
+    public static CompactJsonFormatter getCompactJsonFormatter() {
+        Handler handler = Arrays.stream(InitialConfigurator.DELAYED_HANDLER.getHandlers())
+                .filter(h -> (h instanceof ConsoleHandler))
+                .findFirst().orElse(null);
+        assertThat(handler).isNotNull();
+
+        Formatter formatter = handler.getFormatter();
+        assertThat(formatter).isInstanceOf(CompactJsonFormatter.class);
+        return (CompactJsonFormatter) formatter;
+    }
+}
@@ -0,0 +1,262 @@
+package io.quarkus.logging.json.runtime;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.formatters.StructuredFormatter.ExceptionOutputType;
+
+/**
+ * A JSON formatter writing the records in the same structure as the
+ * {@link org.jboss.logmanager.formatters.JsonFormatter}, without pretty printing.
+ * <p>
+ * The record is written directly into a buffer reused by the formatting thread, rather than through a generic JSON
+ * generator, so that formatting a record without an exception allocates little more than the resulting string.
+ */
+public class CompactJsonFormatter extends ExtFormatter {
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    // a buffer grown by an exceptionally large record is not kept
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(INITIAL_BUFFER_SIZE);
+        }
+    };
+
+    private volatile DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME
+            .withZone(ZoneId.systemDefault());
+    private volatile ExceptionOutputType exceptionOutputType = ExceptionOutputType.DETAILED;
+    private volatile boolean printDetails;
+    private volatile String recordDelimiter = "\n";
+
+    public DateTimeFormatter getDateTimeFormatter() {
+        return dateTimeFormatter;
+    }
+
+    /**
+     * @param pattern the date pattern or {@code null} to use the ISO-8601 offset date-time format
+     */
+    public void setDateFormat(String pattern) {
+        ZoneId zone = dateTimeFormatter.getZone();
+        dateTimeFormatter = (pattern == null ? DateTimeFormatter.ISO_OFFSET_DATE_TIME : DateTimeFormatter.ofPattern(pattern))
+                .withZone(zone);
+    }
+
+    public void setZoneId(String zoneId) {
+        dateTimeFormatter = dateTimeFormatter.withZone(zoneId == null ? ZoneId.systemDefault() : ZoneId.of(zoneId));
+    }
+
+    public ExceptionOutputType getExceptionOutputType() {
+        return exceptionOutputType;
+    }
+
+    public void setExceptionOutputType(ExceptionOutputType exceptionOutputType) {
+        this.exceptionOutputType = exceptionOutputType == null ? ExceptionOutputType.DETAILED : exceptionOutputType;
+    }
+
+    public boolean isPrintDetails() {
+        return printDetails;
+    }
+
+    public void setPrintDetails(boolean printDetails) {
+        this.printDetails = printDetails;
+    }
+
+    public String getRecordDelimiter() {
+        return recordDelimiter;
+    }
+
+    public void setRecordDelimiter(String recordDelimiter) {
+        this.recordDelimiter = recordDelimiter == null ? "" : recordDelimiter;
+    }
+
+    @Override
+    public String format(ExtLogRecord record) {
+        StringBuilder buf = BUFFER.get();
+        buf.setLength(0);
+        try {
+            write(buf, record);
+            return buf.toString();
+        } finally {
+            if (buf.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private void write(StringBuilder buf, ExtLogRecord record) {
+        buf.append("{\"timestamp\":\"");
+        dateTimeFormatter.formatTo(Instant.ofEpochMilli(record.getMillis()), buf);
+        buf.append("\",\"sequence\":").append(record.getSequenceNumber());
+        field(buf, "loggerClassName", record.getLoggerClassName());
+        field(buf, "loggerName", record.getLoggerName());
+        field(buf, "level", record.getLevel().getName());
+        field(buf, "message", record.getFormattedMessage());
+        field(buf, "threadName", record.getThreadName());
+        buf.append(",\"threadId\":").append(record.getThreadID());
+
+        // the log manager keeps the MDC snapshot of the record private, a copy is the only way to read all the entries
+        Map<String, String> mdc = record.getMdcCopy();
+        buf.append(",\"mdc\":{");
+        if (!mdc.isEmpty()) {
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    buf.append(',');
+                }
+                first = false;
+                string(buf, entry.getKey());
+                buf.append(':');
+                string(buf, entry.getValue());
+            }
+        }
+        buf.append('}');
+        String ndc = record.getNdc();
+        if (ndc != null && !ndc.isEmpty()) {
+            field(buf, "ndc", ndc);
+        }
+        field(buf, "hostName", record.getHostName());
+        field(buf, "processName", record.getProcessName());
+        buf.append(",\"processId\":").append(record.getProcessId());
+
+        Throwable thrown = record.getThrown();
+        if (thrown != null) {
+            if (exceptionOutputType != ExceptionOutputType.FORMATTED) {
+                buf.append(",\"exception\":");
+                exception(buf, thrown, new IdentityHashMap<>(), 1);
+            }
+            if (exceptionOutputType != ExceptionOutputType.DETAILED) {
+                buf.append(",\"stackTrace\":");
+                stackTrace(buf, thrown);
+            }
+        }
+
+        if (printDetails) {
+            field(buf, "sourceClassName", record.getSourceClassName());
+            field(buf, "sourceFileName", record.getSourceFileName());
+            field(buf, "sourceMethodName", record.getSourceMethodName());
+            buf.append(",\"sourceLineNumber\":").append(record.getSourceLineNumber());
+        }
+        buf.append('}').append(recordDelimiter);
+    }
+
+    /**
+     * @return the next reference id
+     */
+    private static int exception(StringBuilder buf, Throwable t, Map<Throwable, Integer> seen, int refId) {
+        Integer previous = seen.get(t);
+        if (previous != null) {
+            // circular reference to an exception already written
+            buf.append("{\"refId\":").append(previous).append('}');
+            return refId;
+        }
+        seen.put(t, refId);
+        buf.append("{\"refId\":").append(refId++);
+        field(buf, "exceptionType", t.getClass().getName());
+        field(buf, "message", t.getMessage());
+        buf.append(",\"frames\":[");
+        StackTraceElement[] frames = t.getStackTrace();
+        for (int i = 0; i < frames.length; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            StackTraceElement frame = frames[i];
+            buf.append('{');
+            buf.append("\"class\":");
+            string(buf, frame.getClassName());
+            field(buf, "method", frame.getMethodName());
+            if (frame.getFileName() != null) {
+                field(buf, "file", frame.getFileName());
+            }
+            buf.append(",\"line\":").append(frame.getLineNumber()).append('}');
+        }
+        buf.append(']');
+        Throwable[] suppressed = t.getSuppressed();
+        if (suppressed.length > 0) {
+            buf.append(",\"suppressed\":[");
+            for (int i = 0; i < suppressed.length; i++) {
+                if (i > 0) {
+                    buf.append(',');
+                }
+                refId = exception(buf, suppressed[i], seen, refId);
+            }
+            buf.append(']');
+        }
+        Throwable cause = t.getCause();
+        if (cause != null) {
+            buf.append(",\"causedBy\":{\"exception\":");
+            refId = exception(buf, cause, seen, refId);
+            buf.append('}');
+        }
+        buf.append('}');
+        return refId;
+    }
+
+    private static void stackTrace(StringBuilder buf, Throwable t) {
+        StringWriter writer = new StringWriter();
+        t.printStackTrace(new PrintWriter(writer));
+        string(buf, writer.toString());
+    }
+
+    private static void field(StringBuilder buf, String name, String value) {
+        buf.append(",\"").append(name).append("\":");
+        string(buf, value);
+    }
+
+    private static void string(StringBuilder buf, String value) {
+        if (value == null) {
+            buf.append("null");
+            return;
+        }
+        buf.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            // copy the chars that do not need escaping in bulk
+            buf.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    buf.append("\\\"");
+                    break;
+                case '\\':
+                    buf.append("\\\\");
+                    break;
+                case '\n':
+                    buf.append("\\n");
+                    break;
+                case '\r':
+                    buf.append("\\r");
+                    break;
+                case '\t':
+                    buf.append("\\t");
+                    break;
+                case '\b':
+                    buf.append("\\b");
+                    break;
+                case '\f':
+                    buf.append("\\f");
+                    break;
+                default:
+                    buf.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        buf.append(value, start, length).append('"');
+    }
+
+}
@@ -51,4 +51,11 @@ public class JsonConfig {
      */
     @ConfigItem
     boolean printDetails;
+    /**
+     * Use a compact formatter that writes the JSON record into a buffer reused by the logging thread, rather than
+     * building it with a generic JSON generator. The records have the same structure, but pretty printing is not
+     * supported.
+     */
+    @ConfigItem
+    boolean compact;
 }
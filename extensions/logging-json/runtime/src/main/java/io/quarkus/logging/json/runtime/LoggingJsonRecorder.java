@@ -14,6 +14,9 @@ public class LoggingJsonRecorder {
         if (!config.enable) {
             return new RuntimeValue<>(Optional.empty());
         }
+        if (config.compact) {
+            return new RuntimeValue<>(Optional.of(createCompactFormatter(config)));
+        }
         final JsonFormatter formatter = new JsonFormatter();
         formatter.setPrettyPrint(config.prettyPrint);
         final String dateFormat = config.dateFormat;
@@ -29,4 +32,20 @@ public class LoggingJsonRecorder {
         }
         return new RuntimeValue<>(Optional.of(formatter));
     }
+
+    private static Formatter createCompactFormatter(final JsonConfig config) {
+        final CompactJsonFormatter formatter = new CompactJsonFormatter();
+        final String dateFormat = config.dateFormat;
+        if (!dateFormat.equals("default")) {
+            formatter.setDateFormat(dateFormat);
+        }
+        formatter.setExceptionOutputType(config.exceptionOutputType);
+        formatter.setPrintDetails(config.printDetails);
+        config.recordDelimiter.ifPresent(formatter::setRecordDelimiter);
+        final String zoneId = config.zoneId;
+        if (!zoneId.equals("default")) {
+            formatter.setZoneId(zoneId);
+        }
+        return formatter;
+    }
 }
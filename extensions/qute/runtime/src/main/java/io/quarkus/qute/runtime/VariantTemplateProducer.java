@@ -26,6 +26,7 @@ import org.reactivestreams.Publisher;
 
 import io.quarkus.qute.Engine;
 import io.quarkus.qute.Expression;
+import io.quarkus.qute.ResolvedTemplate;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.qute.TemplateInstanceBase;
@@ -152,6 +153,11 @@ public class VariantTemplateProducer {
             return template().instance().data(data()).consume(consumer);
         }
 
+        @Override
+        public CompletionStage<ResolvedTemplate> resolve() {
+            return template().instance().data(data()).resolve();
+        }
+
         private Template template() {
             Variant selected = (Variant) getAttribute(VariantTemplate.SELECTED_VARIANT);
             String name = selected != null ? variants.variantToTemplate.get(selected) : variants.defaultTemplate;
@@ -0,0 +1,98 @@
+package io.quarkus.qute.resteasy.deployment;
+
+import static io.restassured.RestAssured.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.hamcrest.Matchers;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.qute.EngineBuilder;
+import io.quarkus.qute.EvalContext;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateInstance;
+import io.quarkus.qute.ValueResolver;
+import io.quarkus.resteasy.NonBlocking;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class AsyncResolverTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(DelayedResource.class, DelayedResolverRegistrar.class)
+                    .addAsResource(new StringAsset("Hello {name}! {delayed} Bye {name}."), "templates/delayed.txt"));
+
+    @Test
+    public void testAsyncResolver() {
+        // the response is suspended until the delayed value is resolved
+        when().get("/delayed").then().statusCode(200).body(Matchers.is("Hello world! later Bye world."));
+    }
+
+    @Test
+    public void testAsyncResolverOnEventLoop() {
+        // the template is written by a worker thread once resolved
+        when().get("/delayed/non-blocking").then().statusCode(200).body(Matchers.is("Hello world! later Bye world."));
+    }
+
+    @Path("delayed")
+    public static class DelayedResource {
+
+        @Inject
+        Template delayed;
+
+        @GET
+        public TemplateInstance get() {
+            return delayed.data("name", "world");
+        }
+
+        @NonBlocking
+        @GET
+        @Path("non-blocking")
+        public TemplateInstance getNonBlocking() {
+            return delayed.data("name", "world");
+        }
+
+    }
+
+    @ApplicationScoped
+    public static class DelayedResolverRegistrar {
+
+        void addResolver(@Observes EngineBuilder builder) {
+            builder.addValueResolver(new ValueResolver() {
+
+                @Override
+                public boolean appliesTo(EvalContext context) {
+                    return context.getName().equals("delayed");
+                }
+
+                @Override
+                public CompletionStage<Object> resolve(EvalContext context) {
+                    return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(100);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return "later";
+                    });
+                }
+
+            });
+        }
+
+    }
+
+}
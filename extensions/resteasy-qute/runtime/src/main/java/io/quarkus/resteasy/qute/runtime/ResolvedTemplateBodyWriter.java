@@ -0,0 +1,63 @@
+package io.quarkus.resteasy.qute.runtime;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import io.quarkus.qute.ResolvedTemplate;
+
+/**
+ * Writes the resolved template directly to the response output stream, chunk by chunk, instead of building the whole
+ * output as a {@link String} first. The chunks are written by the thread which invoked the writer, so that the backpressure
+ * of the underlying output stream applies.
+ *
+ * @see TemplateResponseFilter
+ */
+@Provider
+public class ResolvedTemplateBodyWriter implements MessageBodyWriter<ResolvedTemplate> {
+
+    static final int CHUNK_SIZE = 8192;
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return ResolvedTemplate.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(ResolvedTemplate template, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(entityStream, getCharset(mediaType)), CHUNK_SIZE);
+        try {
+            template.consume(chunk -> {
+                try {
+                    writer.write(chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static Charset getCharset(MediaType mediaType) {
+        String charset = mediaType != null ? mediaType.getParameters().get(MediaType.CHARSET_PARAMETER) : null;
+        return charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8;
+    }
+
+}
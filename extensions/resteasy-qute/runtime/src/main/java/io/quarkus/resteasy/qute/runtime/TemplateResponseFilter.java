@@ -5,20 +5,26 @@ import static io.quarkus.qute.api.VariantTemplate.VARIANTS;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
 
+import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.core.interception.jaxrs.SuspendableContainerResponseContext;
 
+import io.quarkus.qute.ResolvedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.qute.Variant;
 import io.quarkus.qute.api.VariantTemplate;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.ext.web.RoutingContext;
 
 @Provider
 public class TemplateResponseFilter implements ContainerResponseFilter {
@@ -28,9 +34,6 @@ public class TemplateResponseFilter implements ContainerResponseFilter {
             throws IOException {
         Object entity = responseContext.getEntity();
         if (entity instanceof TemplateInstance) {
-            SuspendableContainerResponseContext ctx = (SuspendableContainerResponseContext) responseContext;
-            ctx.suspend();
-
             MediaType mediaType;
             TemplateInstance rendering = (TemplateInstance) entity;
 
@@ -54,27 +57,46 @@ public class TemplateResponseFilter implements ContainerResponseFilter {
                 mediaType = null;
             }
 
-            try {
-                rendering.renderAsync()
-                        .whenComplete((r, t) -> {
-                            if (t == null) {
-                                Response resp = Response.ok(r, mediaType).build();
-                                // make sure we avoid setting a null media type because that causes
-                                // an NPE further down
-                                if (resp.getMediaType() != null) {
-                                    ctx.setEntity(resp.getEntity(), null, resp.getMediaType());
-                                } else {
-                                    ctx.setEntity(resp.getEntity());
-                                }
-                                ctx.setStatus(resp.getStatus());
-                                ctx.resume();
-                            } else {
-                                ctx.resume(t);
-                            }
-                        });
-            } catch (Throwable t) {
-                ctx.resume(t);
+            CompletableFuture<ResolvedTemplate> resolved = rendering.resolve().toCompletableFuture();
+            if (resolved.isDone() && !resolved.isCompletedExceptionally()) {
+                // All the values were resolved synchronously - the template is rendered by ResolvedTemplateBodyWriter
+                // directly to the output stream
+                setEntity(responseContext, resolved.join(), mediaType);
+                return;
             }
+            // Do not block the current thread while the values are resolved
+            SuspendableContainerResponseContext ctx = (SuspendableContainerResponseContext) responseContext;
+            ctx.suspend();
+            RoutingContext routingContext = ResteasyContext.getContextData(RoutingContext.class);
+            resolved.whenComplete((r, t) -> {
+                if (t != null) {
+                    ctx.resume(t);
+                    return;
+                }
+                setEntity(ctx, r, mediaType);
+                if (routingContext != null && Context.isOnEventLoopThread()) {
+                    // Writing the response may block
+                    routingContext.vertx().executeBlocking(new Handler<Promise<Void>>() {
+                        @Override
+                        public void handle(Promise<Void> promise) {
+                            ctx.resume();
+                            promise.complete();
+                        }
+                    }, false, null);
+                } else {
+                    ctx.resume();
+                }
+            });
+        }
+    }
+
+    private static void setEntity(ContainerResponseContext responseContext, ResolvedTemplate template,
+            MediaType mediaType) {
+        // make sure we avoid setting a null media type because that causes an NPE further down
+        if (mediaType != null) {
+            responseContext.setEntity(template, null, mediaType);
+        } else {
+            responseContext.setEntity(template);
         }
     }
 }
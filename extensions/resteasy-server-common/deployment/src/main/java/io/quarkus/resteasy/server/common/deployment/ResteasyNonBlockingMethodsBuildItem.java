@@ -0,0 +1,35 @@
+package io.quarkus.resteasy.server.common.deployment;
+
+import java.util.Map;
+import java.util.Set;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ * Holds the resource methods that can be dispatched directly on the IO thread.
+ * <p>
+ * Each method is identified by a key in the form {@code declaringClass#name(paramType1,paramType2)}, where the parameter
+ * types are the names returned by {@link Class#getName()}.
+ * <p>
+ * The paths map the HTTP methods of these resource methods to the literal prefixes of their path templates, relative to
+ * the deployment root path and without leading or trailing slashes. A request that does not match any of them cannot be
+ * dispatched to a non-blocking method and does not need to be matched before the dispatch.
+ */
+public final class ResteasyNonBlockingMethodsBuildItem extends SimpleBuildItem {
+
+    private final Set<String> methods;
+    private final Map<String, Set<String>> paths;
+
+    public ResteasyNonBlockingMethodsBuildItem(Set<String> methods, Map<String, Set<String>> paths) {
+        this.methods = methods;
+        this.paths = paths;
+    }
+
+    public Set<String> getMethods() {
+        return methods;
+    }
+
+    public Map<String, Set<String>> getPaths() {
+        return paths;
+    }
+}
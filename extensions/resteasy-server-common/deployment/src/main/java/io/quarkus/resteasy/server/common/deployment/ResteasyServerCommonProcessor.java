@@ -6,24 +6,30 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import javax.ws.rs.container.PreMatching;
+
 import org.jboss.jandex.AnnotationInstance;
 import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.AnnotationTarget.Kind;
 import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ArrayType;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.IndexView;
 import org.jboss.jandex.MethodInfo;
 import org.jboss.jandex.MethodParameterInfo;
+import org.jboss.jandex.PrimitiveType;
 import org.jboss.jandex.Type;
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.api.validation.ResteasyConstraintViolation;
@@ -60,6 +66,7 @@ import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveHierarchyBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.RuntimeInitializedClassBuildItem;
+import io.quarkus.resteasy.NonBlocking;
 import io.quarkus.resteasy.common.deployment.JaxrsProvidersToRegisterBuildItem;
 import io.quarkus.resteasy.common.deployment.ResteasyCommonProcessor.ResteasyCommonConfig;
 import io.quarkus.resteasy.common.deployment.ResteasyDotNames;
@@ -81,6 +88,11 @@ public class ResteasyServerCommonProcessor {
 
     private static final DotName JSONB_ANNOTATION = DotName.createSimple("javax.json.bind.annotation.JsonbAnnotation");
 
+    private static final DotName NON_BLOCKING = DotName.createSimple(NonBlocking.class.getName());
+    private static final DotName PRE_MATCHING = DotName.createSimple(PreMatching.class.getName());
+    private static final DotName COMPLETION_STAGE = DotName.createSimple(CompletionStage.class.getName());
+    private static final DotName PUBLISHER = DotName.createSimple("org.reactivestreams.Publisher");
+
     private static final DotName[] METHOD_ANNOTATIONS = {
             ResteasyDotNames.GET,
             ResteasyDotNames.HEAD,
@@ -133,6 +145,16 @@ public class ResteasyServerCommonProcessor {
          */
         @ConfigItem(defaultValue = "/")
         String path;
+
+        /**
+         * If this is true then resource methods returning {@code CompletionStage} or {@code Publisher} are considered
+         * non-blocking and are dispatched directly on the IO thread, as if they were annotated with
+         * {@code io.quarkus.resteasy.NonBlocking}.
+         * <p>
+         * Only enable this if such methods never block before returning.
+         */
+        @ConfigItem(defaultValue = "false")
+        boolean nonBlockingAsyncMethods;
     }
 
     @BuildStep
@@ -152,6 +174,7 @@ public class ResteasyServerCommonProcessor {
             BuildProducer<BytecodeTransformerBuildItem> transformers,
             BuildProducer<ResteasyServerConfigBuildItem> resteasyServerConfig,
             BuildProducer<ResteasyDeploymentBuildItem> resteasyDeployment,
+            BuildProducer<ResteasyNonBlockingMethodsBuildItem> nonBlockingMethods,
             BuildProducer<UnremovableBeanBuildItem> unremovableBeans,
             BuildProducer<AnnotationsTransformerBuildItem> annotationsTransformer,
             List<AutoInjectAnnotationBuildItem> autoInjectAnnotations,
@@ -347,6 +370,7 @@ public class ResteasyServerCommonProcessor {
             }
         }));
         resteasyDeployment.produce(new ResteasyDeploymentBuildItem(path, deployment));
+        nonBlockingMethods.produce(findNonBlockingMethods(beanArchiveIndexBuildItem.getIndex(), index));
     }
 
     @BuildStep
@@ -469,6 +493,135 @@ public class ResteasyServerCommonProcessor {
         return subresources;
     }
 
+    private ResteasyNonBlockingMethodsBuildItem findNonBlockingMethods(IndexView beanArchiveIndex, IndexView index) {
+        Collection<AnnotationInstance> preMatching = index.getAnnotations(PRE_MATCHING);
+        if (!preMatching.isEmpty()) {
+            // pre-matching filters may change the request URI or method so we cannot find out which resource method
+            // is invoked before the filters run - always dispatch on a worker thread
+            log.debugf("Non-blocking dispatch disabled: pre-matching filters found %s", preMatching);
+            return new ResteasyNonBlockingMethodsBuildItem(Collections.emptySet(), Collections.emptyMap());
+        }
+        Set<String> nonBlockingMethods = new HashSet<>();
+        Map<String, Set<String>> nonBlockingPaths = new HashMap<>();
+        for (DotName annotation : METHOD_ANNOTATIONS) {
+            for (AnnotationInstance annotationInstance : beanArchiveIndex.getAnnotations(annotation)) {
+                if (annotationInstance.target().kind() != Kind.METHOD) {
+                    continue;
+                }
+                MethodInfo method = annotationInstance.target().asMethod();
+                if (isNonBlocking(method)) {
+                    nonBlockingMethods.add(methodKey(method));
+                    nonBlockingPaths.computeIfAbsent(annotation.local(), k -> new HashSet<>()).add(pathPrefix(method));
+                }
+            }
+        }
+        log.debugf("Non-blocking resource methods found: %s", nonBlockingMethods);
+        return new ResteasyNonBlockingMethodsBuildItem(nonBlockingMethods, nonBlockingPaths);
+    }
+
+    /**
+     * @return the part of the path template of the given resource method that precedes the first template parameter,
+     *         without leading and trailing slashes, or an empty string if the method may be reached through a sub-resource
+     *         locator
+     */
+    private static String pathPrefix(MethodInfo method) {
+        AnnotationInstance classPath = method.declaringClass().classAnnotation(ResteasyDotNames.PATH);
+        if (classPath == null) {
+            return "";
+        }
+        String template = classPath.value().asString();
+        AnnotationInstance methodPath = method.annotation(ResteasyDotNames.PATH);
+        if (methodPath != null) {
+            template += "/" + methodPath.value().asString();
+        }
+        int param = template.indexOf('{');
+        if (param >= 0) {
+            template = template.substring(0, param);
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (String segment : template.split("/")) {
+            if (!segment.isEmpty()) {
+                if (prefix.length() > 0) {
+                    prefix.append('/');
+                }
+                prefix.append(segment);
+            }
+        }
+        return prefix.toString();
+    }
+
+    private boolean isNonBlocking(MethodInfo method) {
+        if (method.hasAnnotation(NON_BLOCKING) || method.declaringClass().classAnnotation(NON_BLOCKING) != null) {
+            return true;
+        }
+        if (resteasyConfig.nonBlockingAsyncMethods) {
+            DotName returnType = method.returnType().name();
+            return returnType.equals(COMPLETION_STAGE) || returnType.equals(PUBLISHER);
+        }
+        return false;
+    }
+
+    private static String methodKey(MethodInfo method) {
+        StringBuilder key = new StringBuilder();
+        key.append(method.declaringClass().name().toString()).append('#').append(method.name()).append('(');
+        for (int i = 0; i < method.parameters().size(); i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(reflectionName(method.parameters().get(i)));
+        }
+        return key.append(')').toString();
+    }
+
+    /**
+     * @return the name of the erased type as returned by {@link Class#getName()}
+     */
+    private static String reflectionName(Type type) {
+        switch (type.kind()) {
+            case ARRAY:
+                ArrayType arrayType = type.asArrayType();
+                StringBuilder name = new StringBuilder();
+                for (int i = 0; i < arrayType.dimensions(); i++) {
+                    name.append('[');
+                }
+                Type component = arrayType.component();
+                if (component.kind() == Type.Kind.PRIMITIVE) {
+                    name.append(primitiveDescriptor(component.asPrimitiveType()));
+                } else {
+                    name.append('L').append(reflectionName(component)).append(';');
+                }
+                return name.toString();
+            case TYPE_VARIABLE:
+                List<Type> bounds = type.asTypeVariable().bounds();
+                return bounds.isEmpty() ? DotNames.OBJECT.toString() : reflectionName(bounds.get(0));
+            default:
+                return type.name().toString();
+        }
+    }
+
+    private static char primitiveDescriptor(PrimitiveType type) {
+        switch (type.primitive()) {
+            case BOOLEAN:
+                return 'Z';
+            case BYTE:
+                return 'B';
+            case CHAR:
+                return 'C';
+            case SHORT:
+                return 'S';
+            case INT:
+                return 'I';
+            case LONG:
+                return 'J';
+            case FLOAT:
+                return 'F';
+            case DOUBLE:
+                return 'D';
+            default:
+                throw new IllegalArgumentException("Unsupported primitive type: " + type);
+        }
+    }
+
     private static void registerProviders(ResteasyDeployment deployment,
             Map<String, String> resteasyInitParameters,
             BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
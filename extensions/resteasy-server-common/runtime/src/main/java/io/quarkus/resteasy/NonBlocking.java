@@ -0,0 +1,41 @@
+package io.quarkus.resteasy;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a JAX-RS resource method (or all resource methods of a class) as non-blocking.
+ * <p>
+ * When RESTEasy runs in standalone mode (i.e. on top of Vert.x and not as a Servlet) a non-blocking resource method is
+ * dispatched directly on the Vert.x event loop instead of being handed off to the worker pool. The method, and all the
+ * filters and interceptors that apply to it, must never block the calling thread. Methods that need to perform blocking
+ * operations should return a {@link java.util.concurrent.CompletionStage} and complete it from another thread.
+ * <p>
+ * Requests whose body has not been fully received yet are always dispatched on a worker thread, as reading the body is a
+ * blocking operation.
+ * <p>
+ * The response is written on the event loop as well, which cannot wait for the write queue of the connection to drain:
+ * writing a response that does not fit in the write queue fails with an {@link java.io.IOException}. Resource methods
+ * producing large responses should not be marked as non-blocking.
+ *
+ * <pre>
+ * &#64;Path("/hello")
+ * class HelloResource {
+ *
+ *     &#64;NonBlocking
+ *     &#64;GET
+ *     String hello() {
+ *         return "hello";
+ *     }
+ * }
+ * </pre>
+ */
+@Target({ METHOD, TYPE })
+@Retention(RUNTIME)
+public @interface NonBlocking {
+
+}
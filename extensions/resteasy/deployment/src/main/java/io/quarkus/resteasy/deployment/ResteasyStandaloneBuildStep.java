@@ -29,8 +29,10 @@ import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.HotDeploymentWatchedFileBuildItem;
 import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.resteasy.common.deployment.ResteasyInjectionReadyBuildItem;
+import io.quarkus.resteasy.runtime.standalone.ResteasyMetricsRecorder;
 import io.quarkus.resteasy.runtime.standalone.ResteasyStandaloneRecorder;
 import io.quarkus.resteasy.server.common.deployment.ResteasyDeploymentBuildItem;
+import io.quarkus.resteasy.server.common.deployment.ResteasyNonBlockingMethodsBuildItem;
 import io.quarkus.vertx.core.deployment.InternalWebVertxBuildItem;
 import io.quarkus.vertx.http.deployment.DefaultRouteBuildItem;
 import io.quarkus.vertx.http.deployment.RequireVirtualHttpBuildItem;
@@ -69,6 +71,7 @@ public class ResteasyStandaloneBuildStep {
     public void staticInit(ResteasyStandaloneRecorder recorder,
             Capabilities capabilities,
             ResteasyDeploymentBuildItem deployment,
+            ResteasyNonBlockingMethodsBuildItem nonBlockingMethods,
             ApplicationArchivesBuildItem applicationArchivesBuildItem,
             ResteasyInjectionReadyBuildItem resteasyInjectionReady,
             HttpBuildTimeConfig httpConfig,
@@ -96,10 +99,12 @@ public class ResteasyStandaloneBuildStep {
                 }
                 rootPath += deploymentRootPath;
             }
-            recorder.staticInit(deployment.getDeployment(), rootPath, knownPaths);
+            recorder.staticInit(deployment.getDeployment(), rootPath, knownPaths,
+                    nonBlockingMethods != null ? nonBlockingMethods.getMethods() : null,
+                    nonBlockingMethods != null ? nonBlockingMethods.getPaths() : null);
 
         } else if (!knownPaths.isEmpty()) {
-            recorder.staticInit(null, rootPath, knownPaths);
+            recorder.staticInit(null, rootPath, knownPaths, null, null);
         }
 
         if (deployment != null || !knownPaths.isEmpty()) {
@@ -246,4 +251,16 @@ public class ResteasyStandaloneBuildStep {
         defaultRoutes.produce(new DefaultRouteBuildItem(ut));
     }
 
+    @BuildStep
+    @Record(RUNTIME_INIT)
+    public void registerMetrics(Capabilities capabilities,
+            ResteasyMetricsRecorder recorder,
+            ResteasyStandaloneBuildItem standalone,
+            ShutdownContextBuildItem shutdown) {
+        if (standalone == null || !capabilities.isCapabilityPresent(Capabilities.METRICS)) {
+            return;
+        }
+        recorder.registerBufferMetrics(shutdown);
+    }
+
 }
@@ -0,0 +1,98 @@
+package io.quarkus.resteasy.runtime.standalone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveBufferAllocatorTest {
+
+    @Test
+    public void testSizeIncreasesToTheSmallestFittingSize() {
+        AdaptiveBufferAllocator allocator = new AdaptiveBufferAllocator(8192);
+        allocator.responseWritten("key", 10000);
+        assertEquals(16384, allocator.getBufferSize("key"));
+        // the default size is not affected by the keyed responses
+        assertEquals(8192, allocator.getBufferSize());
+    }
+
+    @Test
+    public void testSizeDecreasesAfterTwoSmallerResponses() {
+        AdaptiveBufferAllocator allocator = new AdaptiveBufferAllocator(8192);
+        allocator.responseWritten("key", 100);
+        assertEquals(8192, allocator.getBufferSize("key"));
+        allocator.responseWritten("key", 100);
+        assertEquals(4096, allocator.getBufferSize("key"));
+
+        // a response in between resets the decrease
+        allocator.responseWritten("key", 100);
+        allocator.responseWritten("key", 4000);
+        allocator.responseWritten("key", 100);
+        assertEquals(4096, allocator.getBufferSize("key"));
+    }
+
+    @Test
+    public void testSizeIsClamped() {
+        AdaptiveBufferAllocator allocator = new AdaptiveBufferAllocator(1024, 2048, 4096);
+        allocator.responseWritten("key", Integer.MAX_VALUE + 1L);
+        assertEquals(4096, allocator.getBufferSize("key"));
+        for (int i = 0; i < 10; i++) {
+            allocator.responseWritten("key", 0);
+        }
+        assertEquals(1024, allocator.getBufferSize("key"));
+    }
+
+    @Test
+    public void testKeysAreBounded() {
+        AdaptiveBufferAllocator allocator = new AdaptiveBufferAllocator(8192);
+        for (int i = 0; i < AdaptiveBufferAllocator.MAX_KEYS; i++) {
+            assertNotSame(allocator.getHandle(null), allocator.getHandle(i));
+        }
+        assertSame(allocator.getHandle(null), allocator.getHandle("overflow"));
+
+        allocator.clear();
+        assertNotSame(allocator.getHandle(null), allocator.getHandle("overflow"));
+    }
+
+    @Test
+    public void testOverloadedMethodsHaveDistinctNames() throws Exception {
+        Method noArgs = Overloaded.class.getMethod("get");
+        Method withArg = Overloaded.class.getMethod("get", String.class);
+        assertEquals(Overloaded.class.getName() + "#get()", AdaptiveBufferAllocator.keyName(noArgs));
+        assertEquals(Overloaded.class.getName() + "#get(java.lang.String)", AdaptiveBufferAllocator.keyName(withArg));
+
+        AdaptiveBufferAllocator allocator = new AdaptiveBufferAllocator(8192);
+        assertNotEquals(allocator.getHandle(noArgs).getName(), allocator.getHandle(withArg).getName());
+    }
+
+    @Test
+    public void testListenerFailureDoesNotPropagate() {
+        AdaptiveBufferAllocator allocator = new AdaptiveBufferAllocator(8192);
+        allocator.responseWritten("existing", 100);
+        List<String> notified = new ArrayList<>();
+        allocator.setHandleListener(handle -> {
+            notified.add(handle.getName());
+            throw new IllegalArgumentException("Duplicate metric");
+        });
+        allocator.responseWritten("key", 10000);
+        assertEquals(16384, allocator.getBufferSize("key"));
+        assertEquals(3, notified.size());
+    }
+
+    public static class Overloaded {
+
+        public String get() {
+            return null;
+        }
+
+        public String get(String name) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.quarkus.resteasy.runtime.standalone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.NoContentException;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.quarkus.vertx.runtime.JsonArrayReader;
+import io.quarkus.vertx.runtime.JsonObjectReader;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class VertxBufferInputStreamTest {
+
+    @Test
+    public void testPartialReads() throws IOException {
+        VertxBufferInputStream stream = new VertxBufferInputStream(buffer("hello world"));
+        byte[] bytes = new byte[16];
+        assertEquals(5, stream.read(bytes, 0, 5));
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), Arrays.copyOf(bytes, 5));
+        assertEquals(' ', stream.read());
+        assertEquals(0, stream.read(bytes, 0, 0));
+        assertEquals(2, stream.skip(2));
+        assertEquals(3, stream.available());
+
+        stream.mark(3);
+        assertEquals(3, stream.read(bytes, 0, 16));
+        stream.reset();
+        assertEquals(3, stream.read(bytes, 2, 16 - 2));
+        assertArrayEquals("rld".getBytes(StandardCharsets.UTF_8), Arrays.copyOfRange(bytes, 2, 5));
+
+        assertEquals(-1, stream.read());
+        assertEquals(-1, stream.read(bytes, 0, 16));
+        assertEquals(0, stream.skip(10));
+        assertEquals(0, stream.available());
+    }
+
+    @Test
+    public void testCloseReleasesTheBufferOnce() throws IOException {
+        ByteBuf buffer = buffer("content");
+        VertxBufferInputStream stream = new VertxBufferInputStream(buffer);
+        stream.close();
+        assertEquals(0, buffer.refCnt());
+        // a second close must not release the buffer again
+        stream.close();
+        assertThrows(IOException.class, stream::read);
+        assertThrows(IOException.class, stream::available);
+    }
+
+    @Test
+    public void testConcurrentCloseReleasesTheBufferOnce() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ByteBuf buffer = buffer("content").retain();
+            VertxBufferInputStream stream = new VertxBufferInputStream(buffer);
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[4];
+            for (int j = 0; j < threads.length; j++) {
+                threads[j] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    stream.close();
+                });
+                threads[j].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            // the reference retained by the test is still there
+            assertEquals(1, buffer.refCnt());
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testJsonReadersUseTheBufferDirectly() throws IOException {
+        VertxBufferInputStream stream = new VertxBufferInputStream(buffer("{\"name\":\"quarkus\"}"));
+        JsonObject object = new JsonObjectReader().readFrom(JsonObject.class, JsonObject.class, null,
+                MediaType.APPLICATION_JSON_TYPE, null, stream);
+        assertEquals("quarkus", object.getString("name"));
+        stream.close();
+
+        stream = new VertxBufferInputStream(buffer("[1,2,3]"));
+        JsonArray array = new JsonArrayReader().readFrom(JsonArray.class, JsonArray.class, null,
+                MediaType.APPLICATION_JSON_TYPE, null, stream);
+        assertEquals(3, array.size());
+        assertEquals(3, array.getInteger(2));
+        stream.close();
+    }
+
+    @Test
+    public void testJsonReadersRejectAnEmptyBody() {
+        VertxBufferInputStream objectStream = new VertxBufferInputStream(buffer(""));
+        assertThrows(NoContentException.class, () -> new JsonObjectReader().readFrom(JsonObject.class, JsonObject.class,
+                null, MediaType.APPLICATION_JSON_TYPE, null, objectStream));
+        objectStream.close();
+
+        VertxBufferInputStream arrayStream = new VertxBufferInputStream(buffer(""));
+        assertThrows(NoContentException.class, () -> new JsonArrayReader().readFrom(JsonArray.class, JsonArray.class,
+                null, MediaType.APPLICATION_JSON_TYPE, null, arrayStream));
+        arrayStream.close();
+    }
+
+    private static ByteBuf buffer(String content) {
+        return Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+    }
+}
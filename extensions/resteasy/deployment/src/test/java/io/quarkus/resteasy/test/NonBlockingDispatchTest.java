@@ -0,0 +1,76 @@
+package io.quarkus.resteasy.test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+
+import org.hamcrest.Matchers;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.resteasy.NonBlocking;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.vertx.core.Context;
+
+public class NonBlockingDispatchTest {
+
+    @RegisterExtension
+    static QuarkusUnitTest runner = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(ThreadResource.class));
+
+    @Test
+    public void testNonBlockingMethodRunsOnIoThread() {
+        RestAssured.when().get("/thread/non-blocking").then().body(Matchers.is("true"));
+    }
+
+    @Test
+    public void testNonBlockingMethodWithBodyRunsOnWorkerThread() {
+        // the body is not buffered so it can only be read on a worker thread
+        RestAssured.given().body("hello").post("/thread/non-blocking").then().body(Matchers.is("hello:false"));
+    }
+
+    @Test
+    public void testBlockingMethodRunsOnWorkerThread() {
+        RestAssured.when().get("/thread/blocking").then().body(Matchers.is("false"));
+        RestAssured.when().get("/thread/async").then().body(Matchers.is("false"));
+    }
+
+    @Path("thread")
+    public static class ThreadResource {
+
+        @NonBlocking
+        @GET
+        @Path("non-blocking")
+        public String nonBlocking() {
+            return "" + Context.isOnEventLoopThread();
+        }
+
+        @NonBlocking
+        @POST
+        @Path("non-blocking")
+        public String nonBlockingPost(String body) {
+            return body + ":" + Context.isOnEventLoopThread();
+        }
+
+        @GET
+        @Path("blocking")
+        public String blocking() {
+            return "" + Context.isOnEventLoopThread();
+        }
+
+        @GET
+        @Path("async")
+        public CompletionStage<String> async() {
+            // async return types are only considered non-blocking if enabled in the config
+            return CompletableFuture.completedFuture("" + Context.isOnEventLoopThread());
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+package io.quarkus.resteasy.runtime.standalone;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.jboss.logging.Logger;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * A {@link BufferAllocator} that adapts the size of the response buffers to the size of the responses previously written
+ * for the same key, usually the resource method. The buffers are served by the pooled netty allocator.
+ * <p>
+ * The sizes are taken from the same table as netty's {@code AdaptiveRecvByteBufAllocator}. Unlike netty we know the
+ * exact size of a response once it is written, so the size is increased to the smallest size that would have fit the
+ * response straight away. It is decreased by one step only if two consecutive responses would have fit into a smaller
+ * buffer.
+ */
+public class AdaptiveBufferAllocator implements BufferAllocator {
+
+    private static final Logger LOGGER = Logger.getLogger(AdaptiveBufferAllocator.class);
+
+    static final int DEFAULT_MINIMUM = 128;
+    static final int DEFAULT_MAXIMUM = 64 * 1024;
+
+    /**
+     * The maximum number of keys that are tracked separately, all other responses share the default handle.
+     */
+    static final int MAX_KEYS = 1024;
+
+    private static final int INDEX_DECREMENT = 1;
+
+    private static final int[] SIZE_TABLE;
+
+    static {
+        List<Integer> sizeTable = new ArrayList<>();
+        for (int i = 16; i < 512; i += 16) {
+            sizeTable.add(i);
+        }
+        for (int i = 512; i > 0; i <<= 1) {
+            sizeTable.add(i);
+        }
+        SIZE_TABLE = new int[sizeTable.size()];
+        for (int i = 0; i < SIZE_TABLE.length; i++) {
+            SIZE_TABLE[i] = sizeTable.get(i);
+        }
+    }
+
+    private final int minIndex;
+    private final int maxIndex;
+    private final int initialIndex;
+    private final Handle defaultHandle;
+    private final ConcurrentMap<Object, Handle> handles = new ConcurrentHashMap<>();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private volatile boolean direct = true;
+    private volatile Consumer<Handle> handleListener;
+
+    public AdaptiveBufferAllocator(int initial) {
+        this(DEFAULT_MINIMUM, initial, DEFAULT_MAXIMUM);
+    }
+
+    public AdaptiveBufferAllocator(int minimum, int initial, int maximum) {
+        if (minimum <= 0 || initial < minimum || maximum < initial) {
+            throw new IllegalArgumentException(
+                    "Invalid buffer sizes [minimum: " + minimum + ", initial: " + initial + ", maximum: " + maximum + "]");
+        }
+        int minIndex = getSizeTableIndex(minimum);
+        this.minIndex = SIZE_TABLE[minIndex] < minimum ? minIndex + 1 : minIndex;
+        int maxIndex = getSizeTableIndex(maximum);
+        this.maxIndex = SIZE_TABLE[maxIndex] > maximum ? maxIndex - 1 : maxIndex;
+        this.initialIndex = getSizeTableIndex(initial);
+        this.defaultHandle = new Handle("default");
+    }
+
+    public void setDirect(boolean direct) {
+        this.direct = direct;
+    }
+
+    /**
+     * @param listener notified whenever a new key is tracked, e.g. to register a metric, may be {@code null}
+     */
+    public void setHandleListener(Consumer<Handle> listener) {
+        this.handleListener = listener;
+        if (listener == null) {
+            return;
+        }
+        notifyListener(listener, defaultHandle);
+        for (Handle handle : handles.values()) {
+            notifyListener(listener, handle);
+        }
+    }
+
+    /**
+     * Forgets all the tracked keys, e.g. when the application is stopped in dev mode so that the resource methods of
+     * the previous application are not retained.
+     */
+    public void clear() {
+        handles.clear();
+    }
+
+    @Override
+    public ByteBuf allocateBuffer() {
+        return allocateBuffer(direct);
+    }
+
+    @Override
+    public ByteBuf allocateBuffer(boolean direct) {
+        return allocateBuffer(direct, getBufferSize());
+    }
+
+    @Override
+    public ByteBuf allocateBuffer(int bufferSize) {
+        return allocateBuffer(direct, bufferSize);
+    }
+
+    @Override
+    public ByteBuf allocateBuffer(boolean direct, int bufferSize) {
+        allocations.increment();
+        allocatedBytes.add(bufferSize);
+        if (direct) {
+            return PooledByteBufAllocator.DEFAULT.directBuffer(bufferSize);
+        } else {
+            return PooledByteBufAllocator.DEFAULT.heapBuffer(bufferSize);
+        }
+    }
+
+    @Override
+    public int getBufferSize() {
+        return defaultHandle.getBufferSize();
+    }
+
+    @Override
+    public int getBufferSize(Object key) {
+        return getHandle(key).getBufferSize();
+    }
+
+    @Override
+    public void responseWritten(Object key, long size) {
+        getHandle(key).record(size);
+    }
+
+    /**
+     * @return the total number of allocated buffers
+     */
+    public long getAllocations() {
+        return allocations.sum();
+    }
+
+    /**
+     * @return the total number of allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    Handle getHandle(Object key) {
+        if (key == null) {
+            return defaultHandle;
+        }
+        Handle handle = handles.get(key);
+        if (handle == null) {
+            if (handles.size() >= MAX_KEYS) {
+                return defaultHandle;
+            }
+            Handle newHandle = new Handle(keyName(key));
+            handle = handles.putIfAbsent(key, newHandle);
+            if (handle == null) {
+                handle = newHandle;
+                Consumer<Handle> listener = handleListener;
+                if (listener != null) {
+                    notifyListener(listener, handle);
+                }
+            }
+        }
+        return handle;
+    }
+
+    private static void notifyListener(Consumer<Handle> listener, Handle handle) {
+        try {
+            listener.accept(handle);
+        } catch (RuntimeException e) {
+            // the listener must never fail the response being written
+            LOGGER.debugf(e, "Failed to notify the listener of the buffer size handle %s", handle.getName());
+        }
+    }
+
+    /**
+     * @return the name of the key, in the form {@code declaringClass#name(paramType1,paramType2)} for a method, so that
+     *         overloaded methods have distinct names
+     */
+    static String keyName(Object key) {
+        if (key instanceof Method) {
+            Method method = (Method) key;
+            StringBuilder name = new StringBuilder();
+            name.append(method.getDeclaringClass().getName()).append('#').append(method.getName()).append('(');
+            Class<?>[] params = method.getParameterTypes();
+            for (int i = 0; i < params.length; i++) {
+                if (i > 0) {
+                    name.append(',');
+                }
+                name.append(params[i].getName());
+            }
+            return name.append(')').toString();
+        }
+        return key.toString();
+    }
+
+    static int getSizeTableIndex(final int size) {
+        for (int low = 0, high = SIZE_TABLE.length - 1;;) {
+            if (high < low) {
+                return low;
+            }
+            if (high == low) {
+                return high;
+            }
+            int mid = low + high >>> 1;
+            int a = SIZE_TABLE[mid];
+            int b = SIZE_TABLE[mid + 1];
+            if (size > b) {
+                low = mid + 1;
+            } else if (size < a) {
+                high = mid - 1;
+            } else if (size == a) {
+                return mid;
+            } else {
+                return mid + 1;
+            }
+        }
+    }
+
+    /**
+     * Tracks the buffer size for a single key. Concurrent updates may race, which is fine as the size is only a hint.
+     */
+    public final class Handle {
+
+        private final String name;
+        private volatile int index;
+        private volatile boolean decreaseNow;
+
+        Handle(String name) {
+            this.name = name;
+            this.index = Math.max(minIndex, Math.min(initialIndex, maxIndex));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getBufferSize() {
+            return SIZE_TABLE[index];
+        }
+
+        void record(long size) {
+            int index = this.index;
+            if (size > SIZE_TABLE[index]) {
+                this.index = size >= SIZE_TABLE[maxIndex] ? maxIndex : getSizeTableIndex((int) size);
+                decreaseNow = false;
+            } else if (size <= SIZE_TABLE[Math.max(0, index - INDEX_DECREMENT)]) {
+                if (decreaseNow) {
+                    this.index = Math.max(index - INDEX_DECREMENT, minIndex);
+                    decreaseNow = false;
+                } else {
+                    decreaseNow = true;
+                }
+            } else {
+                decreaseNow = false;
+            }
+        }
+    }
+}
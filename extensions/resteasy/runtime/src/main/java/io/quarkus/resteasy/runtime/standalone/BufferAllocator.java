@@ -13,4 +13,21 @@ public interface BufferAllocator {
     ByteBuf allocateBuffer(boolean direct, int bufferSize);
 
     int getBufferSize();
+
+    /**
+     * @param key identifies responses of a similar size, e.g. the resource method, may be {@code null}
+     * @return the size of the buffers used to write a response identified by the given key
+     */
+    default int getBufferSize(Object key) {
+        return getBufferSize();
+    }
+
+    /**
+     * Called when a response identified by the given key was written.
+     *
+     * @param key identifies responses of a similar size, e.g. the resource method, may be {@code null}
+     * @param size the number of bytes written
+     */
+    default void responseWritten(Object key, long size) {
+    }
 }
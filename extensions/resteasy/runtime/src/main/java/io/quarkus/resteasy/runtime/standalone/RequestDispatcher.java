@@ -1,14 +1,18 @@
 package io.quarkus.resteasy.runtime.standalone;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Set;
 
 import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResourceMethodInvoker;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.core.SynchronousDispatcher;
 import org.jboss.resteasy.core.ThreadLocalResteasyProviderFactory;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResourceInvoker;
 import org.jboss.resteasy.spi.ResteasyProviderFactory;
 
 import io.vertx.core.Context;
@@ -51,6 +55,43 @@ public class RequestDispatcher {
         return providerFactory;
     }
 
+    /**
+     * Finds out whether the given request would be matched to one of the given resource methods.
+     * <p>
+     * Matching has side effects on the {@link org.jboss.resteasy.specimpl.ResteasyUriInfo} of the request, therefore the request
+     * must not be used for the actual dispatch afterwards.
+     *
+     * @param request the request used for matching
+     * @param methods the resource methods
+     * @return {@code true} if the request is matched to one of the resource methods, {@code false} otherwise
+     */
+    public boolean isMatchedTo(HttpRequest request, Set<Method> methods) {
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        boolean pushed = false;
+        try {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            if (ResteasyProviderFactory.getInstance() instanceof ThreadLocalResteasyProviderFactory) {
+                ThreadLocalResteasyProviderFactory.push(providerFactory);
+                pushed = true;
+            }
+            ResourceInvoker invoker = dispatcher.getRegistry().getResourceInvoker(request);
+            return invoker instanceof ResourceMethodInvoker
+                    && methods.contains(((ResourceMethodInvoker) invoker).getMethod());
+        } catch (RuntimeException e) {
+            // no match, unsupported media type, etc. - the failure is reported by the regular dispatch
+            log.tracef(e, "Unable to match request %s", request.getUri().getRequestUri());
+            return false;
+        } finally {
+            try {
+                if (pushed) {
+                    ThreadLocalResteasyProviderFactory.pop();
+                }
+            } finally {
+                Thread.currentThread().setContextClassLoader(old);
+            }
+        }
+    }
+
     public void service(Context context,
             HttpServerRequest req,
             HttpServerResponse resp,
@@ -0,0 +1,118 @@
+package io.quarkus.resteasy.runtime.standalone;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.plugins.server.BaseHttpRequest;
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.NotImplementedYetException;
+import org.jboss.resteasy.spi.ResteasyAsynchronousContext;
+
+/**
+ * A throwaway request that is only used to find the resource method a request is matched to, before the request is
+ * actually dispatched.
+ * <p>
+ * Matching populates the path parameters and matched URIs of the {@link ResteasyUriInfo} so the instance passed to this
+ * request must not be reused for the actual dispatch.
+ */
+final class ResourceMatchingHttpRequest extends BaseHttpRequest {
+
+    private final ResteasyHttpHeaders httpHeaders;
+    private String httpMethod;
+    private InputStream inputStream;
+    private Map<String, Object> attributes;
+
+    ResourceMatchingHttpRequest(ResteasyUriInfo uri, ResteasyHttpHeaders httpHeaders, String httpMethod) {
+        super(uri);
+        this.httpHeaders = httpHeaders;
+        this.httpMethod = httpMethod;
+    }
+
+    @Override
+    public HttpHeaders getHttpHeaders() {
+        return httpHeaders;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getMutableHeaders() {
+        return httpHeaders.getMutableHeaders();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public void setInputStream(InputStream stream) {
+        this.inputStream = stream;
+    }
+
+    @Override
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public void setHttpMethod(String method) {
+        this.httpMethod = method;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) {
+        return attributes != null ? attributes.get(attribute) : null;
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        if (attributes != null) {
+            attributes.remove(name);
+        }
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return attributes != null ? Collections.enumeration(attributes.keySet()) : Collections.emptyEnumeration();
+    }
+
+    @Override
+    public ResteasyAsynchronousContext getAsyncContext() {
+        // the request is never dispatched so it cannot be suspended
+        return null;
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return null;
+    }
+
+    @Override
+    public void forward(String path) {
+        throw new NotImplementedYetException();
+    }
+
+    @Override
+    public boolean wasForwarded() {
+        return false;
+    }
+}
@@ -0,0 +1,73 @@
+package io.quarkus.resteasy.runtime.standalone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import io.quarkus.runtime.ShutdownContext;
+import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.smallrye.metrics.runtime.LambdaCounter;
+import io.quarkus.smallrye.metrics.runtime.LambdaGauge;
+import io.smallrye.metrics.MetricRegistries;
+
+/**
+ * Registers the RESTEasy standalone metrics. Only used if the metrics extension is present.
+ */
+@Recorder
+public class ResteasyMetricsRecorder {
+
+    static final String BUFFER_ALLOCATIONS = "resteasy.response.buffer.allocations";
+    static final String BUFFER_ALLOCATED_BYTES = "resteasy.response.buffer.allocatedBytes";
+    static final String BUFFER_SIZE = "resteasy.response.buffer.size";
+
+    public void registerBufferMetrics(ShutdownContext shutdown) {
+        MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+        AdaptiveBufferAllocator allocator = ResteasyStandaloneRecorder.getAllocator();
+        List<String> names = new ArrayList<>();
+
+        registry.register(Metadata.builder()
+                .withName(BUFFER_ALLOCATIONS)
+                .withType(MetricType.COUNTER)
+                .withDisplayName("Response Buffer Allocations")
+                .withDescription("Displays the total number of buffers allocated to write JAX-RS responses.")
+                .build(), new LambdaCounter(allocator::getAllocations));
+        names.add(BUFFER_ALLOCATIONS);
+
+        registry.register(Metadata.builder()
+                .withName(BUFFER_ALLOCATED_BYTES)
+                .withType(MetricType.COUNTER)
+                .withUnit(MetricUnits.BYTES)
+                .withDisplayName("Response Buffer Allocated Bytes")
+                .withDescription("Displays the total size of the buffers allocated to write JAX-RS responses.")
+                .build(), new LambdaCounter(allocator::getAllocatedBytes));
+        names.add(BUFFER_ALLOCATED_BYTES);
+
+        Metadata sizeMetadata = Metadata.builder()
+                .withName(BUFFER_SIZE)
+                .withType(MetricType.GAUGE)
+                .withUnit(MetricUnits.BYTES)
+                .withDisplayName("Response Buffer Size")
+                .withDescription("Displays the buffer size currently chosen for the responses of a resource method.")
+                .build();
+        names.add(BUFFER_SIZE);
+        allocator.setHandleListener(handle -> {
+            Tag tag = new Tag("resource", handle.getName());
+            if (!registry.getGauges().containsKey(new MetricID(BUFFER_SIZE, tag))) {
+                registry.register(sizeMetadata, new LambdaGauge(() -> handle.getBufferSize()), tag);
+            }
+        });
+
+        shutdown.addShutdownTask(() -> {
+            allocator.setHandleListener(null);
+            for (String name : names) {
+                registry.remove(name);
+            }
+        });
+    }
+}
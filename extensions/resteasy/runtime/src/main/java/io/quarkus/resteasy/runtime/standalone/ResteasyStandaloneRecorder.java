@@ -1,8 +1,12 @@
 package io.quarkus.resteasy.runtime.standalone;
 
+import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -10,8 +14,6 @@ import java.util.function.Supplier;
 
 import org.jboss.resteasy.spi.ResteasyDeployment;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.PooledByteBufAllocator;
 import io.quarkus.arc.runtime.BeanContainer;
 import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.ShutdownContext;
@@ -36,39 +38,7 @@ public class ResteasyStandaloneRecorder {
      */
     protected static final int BUFFER_SIZE = 8 * 1024;
 
-    private static boolean useDirect = true;
-
-    //TODO: clean this up
-    private static BufferAllocator ALLOCATOR = new BufferAllocator() {
-        @Override
-        public ByteBuf allocateBuffer() {
-            return allocateBuffer(useDirect);
-        }
-
-        @Override
-        public ByteBuf allocateBuffer(boolean direct) {
-            return allocateBuffer(direct, BUFFER_SIZE);
-        }
-
-        @Override
-        public ByteBuf allocateBuffer(int bufferSize) {
-            return allocateBuffer(useDirect, bufferSize);
-        }
-
-        @Override
-        public ByteBuf allocateBuffer(boolean direct, int bufferSize) {
-            if (direct) {
-                return PooledByteBufAllocator.DEFAULT.directBuffer(bufferSize);
-            } else {
-                return PooledByteBufAllocator.DEFAULT.heapBuffer(bufferSize);
-            }
-        }
-
-        @Override
-        public int getBufferSize() {
-            return BUFFER_SIZE;
-        }
-    };
+    private static final AdaptiveBufferAllocator ALLOCATOR = new AdaptiveBufferAllocator(BUFFER_SIZE);
 
     private static volatile List<Path> hotDeploymentResourcePaths;
 
@@ -79,14 +49,60 @@ public class ResteasyStandaloneRecorder {
     private static ResteasyDeployment deployment;
     private static Set<String> knownPaths;
     private static String contextPath;
+    private static Set<Method> nonBlockingMethods = Collections.emptySet();
+    private static Map<String, Set<String>> nonBlockingPaths = Collections.emptyMap();
 
-    public void staticInit(ResteasyDeployment dep, String path, Set<String> known) {
+    public void staticInit(ResteasyDeployment dep, String path, Set<String> known, Set<String> nonBlocking,
+            Map<String, Set<String>> nonBlockingPrefixes) {
         if (dep != null) {
             deployment = dep;
             deployment.start();
         }
         knownPaths = known;
         contextPath = path;
+        // always replaced, so that a dev mode restart does not keep the methods of the previous application
+        nonBlockingMethods = nonBlocking == null || nonBlocking.isEmpty() ? Collections.emptySet()
+                : resolveMethods(nonBlocking);
+        nonBlockingPaths = nonBlockingMethods.isEmpty() || nonBlockingPrefixes == null ? Collections.emptyMap()
+                : nonBlockingPrefixes;
+    }
+
+    /**
+     * @param keys the method keys in the form {@code declaringClass#name(paramType1,paramType2)}
+     * @return the resolved methods
+     */
+    private static Set<Method> resolveMethods(Set<String> keys) {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Set<Method> methods = new HashSet<>();
+        Set<String> classes = new HashSet<>();
+        for (String key : keys) {
+            classes.add(key.substring(0, key.indexOf('#')));
+        }
+        for (String className : classes) {
+            try {
+                for (Method method : Class.forName(className, false, cl).getDeclaredMethods()) {
+                    if (keys.contains(methodKey(method))) {
+                        methods.add(method);
+                    }
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unable to load resource class " + className, e);
+            }
+        }
+        return methods;
+    }
+
+    private static String methodKey(Method method) {
+        StringBuilder key = new StringBuilder();
+        key.append(method.getDeclaringClass().getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] params = method.getParameterTypes();
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(params[i].getName());
+        }
+        return key.append(')').toString();
     }
 
     public Consumer<Route> start(RuntimeValue<Vertx> vertx,
@@ -101,9 +117,11 @@ public class ResteasyStandaloneRecorder {
                 if (deployment != null) {
                     deployment.stop();
                 }
+                // the handles are keyed by the resource methods of this application
+                ALLOCATOR.clear();
             }
         });
-        useDirect = !isVirtual;
+        ALLOCATOR.setDirect(!isVirtual);
         List<Handler<RoutingContext>> handlers = new ArrayList<>();
 
         if (hotDeploymentResourcePaths != null && !hotDeploymentResourcePaths.isEmpty()) {
@@ -162,10 +180,15 @@ public class ResteasyStandaloneRecorder {
         };
     }
 
+    static AdaptiveBufferAllocator getAllocator() {
+        return ALLOCATOR;
+    }
+
     public Handler<RoutingContext> vertxRequestHandler(RuntimeValue<Vertx> vertx,
             BeanContainer beanContainer, Executor executor) {
         if (deployment != null) {
-            return new VertxRequestHandler(vertx.getValue(), beanContainer, deployment, contextPath, ALLOCATOR, executor);
+            return new VertxRequestHandler(vertx.getValue(), beanContainer, deployment, contextPath, ALLOCATOR, executor,
+                    nonBlockingMethods, nonBlockingPaths);
         }
         return null;
     }
@@ -2,6 +2,7 @@ package io.quarkus.resteasy.runtime.standalone;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.util.concurrent.locks.LockSupport;
 
 import org.jboss.logging.Logger;
 
@@ -11,14 +12,24 @@ import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 
+/**
+ * Writes the response from a worker thread, blocking the writer while the write queue of the response is full.
+ * <p>
+ * The writer parks itself until the drain, close, end or exception handler of this response wakes it up. Unlike a
+ * monitor on the connection the wait is scoped to the request, so HTTP/2 streams multiplexed on the same connection do
+ * not contend with each other.
+ */
 public class VertxBlockingOutput implements VertxOutput {
     private static final Logger log = Logger.getLogger("io.quarkus.resteasy");
 
-    protected boolean waitingForDrain;
     protected boolean drainHandlerRegistered;
     protected final HttpServerRequest request;
     protected boolean first = true;
-    protected Throwable throwable;
+    protected volatile Throwable throwable;
+    /**
+     * The thread currently waiting for the write queue to drain, if any.
+     */
+    private volatile Thread waiter;
 
     public VertxBlockingOutput(HttpServerRequest request) {
         this.request = request;
@@ -30,22 +41,14 @@ public class VertxBlockingOutput implements VertxOutput {
                 //TODO: do we need this?
                 terminateResponse();
                 request.connection().close();
-                synchronized (request.connection()) {
-                    if (waitingForDrain) {
-                        request.connection().notify();
-                    }
-                }
+                wakeWaiter();
             }
         });
 
         request.response().endHandler(new Handler<Void>() {
             @Override
             public void handle(Void event) {
-                synchronized (request.connection()) {
-                    if (waitingForDrain) {
-                        request.connection().notify();
-                    }
-                }
+                wakeWaiter();
                 terminateResponse();
             }
         });
@@ -66,21 +69,18 @@ public class VertxBlockingOutput implements VertxOutput {
             return;
         }
         try {
-            //do all this in the same lock
-            synchronized (request.connection()) {
-                try {
-                    awaitWriteable();
-                    if (last) {
-                        request.response().end(createBuffer(data));
-                    } else {
-                        request.response().write(createBuffer(data));
-                    }
-                } catch (Exception e) {
-                    if (data != null && data.refCnt() > 0) {
-                        data.release();
-                    }
-                    throw new IOException("Failed to write", e);
+            try {
+                awaitWriteable();
+                if (last) {
+                    request.response().end(createBuffer(data));
+                } else {
+                    request.response().write(createBuffer(data));
                 }
+            } catch (Exception e) {
+                if (data != null && data.refCnt() > 0) {
+                    data.release();
+                }
+                throw new IOException("Failed to write", e);
             }
         } finally {
             if (last) {
@@ -94,7 +94,6 @@ public class VertxBlockingOutput implements VertxOutput {
             first = false;
             return;
         }
-        assert Thread.holdsLock(request.connection());
         while (request.response().writeQueueFull()) {
             if (throwable != null) {
                 throw new IOException(throwable);
@@ -110,23 +109,32 @@ public class VertxBlockingOutput implements VertxOutput {
                 Handler<Void> handler = new Handler<Void>() {
                     @Override
                     public void handle(Void event) {
-                        if (waitingForDrain) {
-                            request.connection().notifyAll();
-                        }
+                        wakeWaiter();
                     }
                 };
                 request.response().drainHandler(handler);
                 request.response().closeHandler(handler);
             }
+            waiter = Thread.currentThread();
             try {
-                waitingForDrain = true;
-                request.connection().wait();
-            } catch (InterruptedException e) {
-                throw new InterruptedIOException(e.getMessage());
+                // the queue may have drained before the waiter was published, in which case nobody would unpark us
+                if (request.response().writeQueueFull() && throwable == null && !request.response().closed()) {
+                    LockSupport.park(this);
+                }
             } finally {
-                waitingForDrain = false;
+                waiter = null;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedIOException();
             }
         }
     }
 
+    private void wakeWaiter() {
+        Thread waiter = this.waiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
 }
@@ -0,0 +1,163 @@
+package io.quarkus.resteasy.runtime.standalone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+
+/**
+ * An input stream that reads an already buffered request body directly from the underlying {@link ByteBuf}, i.e. without
+ * copying it to a byte array first.
+ * <p>
+ * The stream is also a {@link ByteBufHolder} so that readers which are able to consume a {@link ByteBuf} can access the
+ * remaining content directly. The stream owns a reference to the buffer which is released when the stream is closed.
+ */
+public class VertxBufferInputStream extends InputStream implements ByteBufHolder {
+
+    private final ByteBuf buffer;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /**
+     * @param buffer the buffer, the stream takes over the ownership of one reference
+     */
+    public VertxBufferInputStream(ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkReleased();
+        if (!buffer.isReadable()) {
+            return -1;
+        }
+        return buffer.readByte() & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        checkReleased();
+        if (len == 0) {
+            return 0;
+        }
+        int readable = buffer.readableBytes();
+        if (readable == 0) {
+            return -1;
+        }
+        int read = Math.min(len, readable);
+        buffer.readBytes(b, off, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkReleased();
+        int skipped = (int) Math.min(Math.max(n, 0), buffer.readableBytes());
+        buffer.skipBytes(skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkReleased();
+        return buffer.readableBytes();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        buffer.markReaderIndex();
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        checkReleased();
+        buffer.resetReaderIndex();
+    }
+
+    @Override
+    public void close() {
+        // the stream may be closed both by the reader and by the request handler once the response is sent
+        if (released.compareAndSet(false, true)) {
+            buffer.release();
+        }
+    }
+
+    private void checkReleased() throws IOException {
+        if (released.get()) {
+            throw new IOException("Stream is closed");
+        }
+    }
+
+    /**
+     * @return the remaining, i.e. not yet read, content
+     */
+    @Override
+    public ByteBuf content() {
+        return buffer;
+    }
+
+    @Override
+    public ByteBufHolder copy() {
+        return replace(buffer.copy());
+    }
+
+    @Override
+    public ByteBufHolder duplicate() {
+        return replace(buffer.duplicate());
+    }
+
+    @Override
+    public ByteBufHolder retainedDuplicate() {
+        return replace(buffer.retainedDuplicate());
+    }
+
+    @Override
+    public ByteBufHolder replace(ByteBuf content) {
+        return new VertxBufferInputStream(content);
+    }
+
+    @Override
+    public int refCnt() {
+        return buffer.refCnt();
+    }
+
+    @Override
+    public ByteBufHolder retain() {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public ByteBufHolder retain(int increment) {
+        buffer.retain(increment);
+        return this;
+    }
+
+    @Override
+    public ByteBufHolder touch() {
+        buffer.touch();
+        return this;
+    }
+
+    @Override
+    public ByteBufHolder touch(Object hint) {
+        buffer.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return buffer.release(decrement);
+    }
+}
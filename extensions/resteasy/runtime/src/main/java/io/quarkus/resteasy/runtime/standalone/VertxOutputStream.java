@@ -3,17 +3,26 @@ package io.quarkus.resteasy.runtime.standalone;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.HttpHeaders;
 
+import org.jboss.resteasy.core.ResteasyContext;
+
 import io.netty.buffer.ByteBuf;
 
 public class VertxOutputStream extends OutputStream {
 
+    private static final Object NO_KEY = new Object();
+
     private final VertxHttpResponse response;
     private final BufferAllocator allocator;
     private ByteBuf pooledBuffer;
     private long written;
     private final long contentLength;
+    /**
+     * The key used to size the buffers, i.e. the resource method if known
+     */
+    private Object sizeKey = NO_KEY;
 
     private boolean closed;
 
@@ -57,19 +66,21 @@ public class VertxOutputStream extends OutputStream {
         int idx = off;
         ByteBuf buffer = pooledBuffer;
         try {
-            if (buffer == null) {
-                pooledBuffer = buffer = allocator.allocateBuffer();
-            }
             while (rem > 0) {
+                if (buffer == null) {
+                    pooledBuffer = buffer = allocateBuffer();
+                } else if (!buffer.isWritable()) {
+                    // only write a full buffer once there is more data, so that a response that exactly fits into
+                    // the buffer is written at once
+                    ByteBuf tmpBuf = buffer;
+                    this.pooledBuffer = buffer = null;
+                    response.writeBlocking(tmpBuf, false);
+                    pooledBuffer = buffer = allocateBuffer();
+                }
                 int toWrite = Math.min(rem, buffer.writableBytes());
                 buffer.writeBytes(b, idx, toWrite);
                 rem -= toWrite;
                 idx += toWrite;
-                if (!buffer.isWritable()) {
-                    ByteBuf tmpBuf = buffer;
-                    this.pooledBuffer = buffer = allocator.allocateBuffer();
-                    response.writeBlocking(tmpBuf, false);
-                }
             }
         } catch (Exception e) {
             if (buffer != null && buffer.refCnt() > 0) {
@@ -80,6 +91,19 @@ public class VertxOutputStream extends OutputStream {
         updateWritten(len);
     }
 
+    private ByteBuf allocateBuffer() {
+        if (sizeKey == NO_KEY) {
+            ResourceInfo resourceInfo = ResteasyContext.getContextData(ResourceInfo.class);
+            sizeKey = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+        }
+        int bufferSize = allocator.getBufferSize(sizeKey);
+        if (contentLength != -1) {
+            // no need to allocate more than the remaining content
+            bufferSize = (int) Math.max(1, Math.min(bufferSize, contentLength - written));
+        }
+        return allocator.allocateBuffer(bufferSize);
+    }
+
     void updateWritten(final long len) throws IOException {
         this.written += len;
         if (contentLength != -1 && this.written >= contentLength) {
@@ -122,6 +146,9 @@ public class VertxOutputStream extends OutputStream {
         } finally {
             closed = true;
             pooledBuffer = null;
+            if (sizeKey != NO_KEY) {
+                allocator.responseWritten(sizeKey, written);
+            }
         }
     }
 
@@ -3,6 +3,9 @@ package io.quarkus.resteasy.runtime.standalone;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
 
 import javax.enterprise.inject.Instance;
@@ -26,8 +29,10 @@ import io.quarkus.vertx.http.runtime.security.QuarkusHttpUser;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.RoutingContext;
 
 /**
@@ -36,6 +41,8 @@ import io.vertx.ext.web.RoutingContext;
 public class VertxRequestHandler implements Handler<RoutingContext> {
     private static final Logger log = Logger.getLogger("io.quarkus.resteasy");
 
+    private static final byte[] EMPTY_BODY = new byte[0];
+
     protected final Vertx vertx;
     protected final RequestDispatcher dispatcher;
     protected final String rootPath;
@@ -44,12 +51,15 @@ public class VertxRequestHandler implements Handler<RoutingContext> {
     protected final CurrentIdentityAssociation association;
     protected final CurrentVertxRequest currentVertxRequest;
     protected final Executor executor;
+    protected final Set<Method> nonBlockingMethods;
+    protected final Map<String, Set<String>> nonBlockingPaths;
 
     public VertxRequestHandler(Vertx vertx,
             BeanContainer beanContainer,
             ResteasyDeployment deployment,
             String rootPath,
-            BufferAllocator allocator, Executor executor) {
+            BufferAllocator allocator, Executor executor, Set<Method> nonBlockingMethods,
+            Map<String, Set<String>> nonBlockingPaths) {
         this.vertx = vertx;
         this.beanContainer = beanContainer;
         this.dispatcher = new RequestDispatcher((SynchronousDispatcher) deployment.getDispatcher(),
@@ -57,6 +67,8 @@ public class VertxRequestHandler implements Handler<RoutingContext> {
         this.rootPath = rootPath;
         this.allocator = allocator;
         this.executor = executor;
+        this.nonBlockingMethods = nonBlockingMethods;
+        this.nonBlockingPaths = nonBlockingPaths;
         Instance<CurrentIdentityAssociation> association = CDI.current().select(CurrentIdentityAssociation.class);
         this.association = association.isResolvable() ? association.get() : null;
         currentVertxRequest = CDI.current().select(CurrentVertxRequest.class).get();
@@ -64,12 +76,28 @@ public class VertxRequestHandler implements Handler<RoutingContext> {
 
     @Override
     public void handle(RoutingContext request) {
+        if (mayBeNonBlocking(request.request()) && (request.getBody() != null || hasNoBody(request.request()))) {
+            try {
+                ResteasyHttpHeaders headers = VertxUtil.extractHttpHeaders(request.request());
+                if (isNonBlocking(request.request(), headers)) {
+                    // the body is already available and the resource method does not block - dispatch on the IO thread
+                    InputStream is = request.getBody() != null ? bufferedBody(request)
+                            : new ByteArrayInputStream(EMPTY_BODY);
+                    dispatch(request, headers, is, new VertxBlockingOutput(request.request()));
+                    return;
+                }
+            } catch (Throwable e) {
+                request.fail(e);
+                return;
+            }
+        }
+
         // have to create input stream here.  Cannot execute in another thread
         // otherwise request handlers may not get set up before request ends
         InputStream is;
         try {
             if (request.getBody() != null) {
-                is = new ByteArrayInputStream(request.getBody().getBytes());
+                is = bufferedBody(request);
             } else {
                 is = new VertxInputStream(request.request());
             }
@@ -82,7 +110,8 @@ public class VertxRequestHandler implements Handler<RoutingContext> {
             @Override
             public void run() {
                 try {
-                    dispatch(request, is, new VertxBlockingOutput(request.request()));
+                    dispatch(request, VertxUtil.extractHttpHeaders(request.request()), is,
+                            new VertxBlockingOutput(request.request()));
                 } catch (Throwable e) {
                     request.fail(e);
                 }
@@ -90,7 +119,68 @@ public class VertxRequestHandler implements Handler<RoutingContext> {
         });
     }
 
-    private void dispatch(RoutingContext routingContext, InputStream is, VertxOutput output) {
+    private static InputStream bufferedBody(RoutingContext request) {
+        // read directly from the netty buffer instead of copying the whole body to a byte array
+        VertxBufferInputStream is = new VertxBufferInputStream(request.getBody().getByteBuf().retainedDuplicate());
+        // if the response is never completed the buffer is not released, this is fine as long as the body is buffered in
+        // an unpooled buffer (which is what the vertx body handler does)
+        request.addBodyEndHandler(new Handler<Void>() {
+            @Override
+            public void handle(Void event) {
+                is.close();
+            }
+        });
+        return is;
+    }
+
+    /**
+     * Only the requests whose HTTP method and path may lead to a non-blocking resource method are matched before the
+     * dispatch, the others would be matched twice for nothing.
+     */
+    private boolean mayBeNonBlocking(HttpServerRequest request) {
+        Set<String> prefixes = nonBlockingPaths.get(request.rawMethod());
+        if (prefixes == null) {
+            return false;
+        }
+        String path = request.path();
+        int start = rootPath.startsWith("/") ? 0 : 1;
+        if (path == null || !path.regionMatches(start, rootPath, 0, rootPath.length())) {
+            return false;
+        }
+        start += rootPath.length();
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isNonBlocking(HttpServerRequest request, ResteasyHttpHeaders headers) {
+        ResourceMatchingHttpRequest matchingRequest = new ResourceMatchingHttpRequest(
+                VertxUtil.extractUriInfo(request, rootPath), headers, request.rawMethod());
+        return dispatcher.isMatchedTo(matchingRequest, nonBlockingMethods);
+    }
+
+    private static boolean hasNoBody(HttpServerRequest request) {
+        if (request.isEnded()) {
+            return true;
+        }
+        if (request.version() == HttpVersion.HTTP_2) {
+            // HTTP/2 requests may have a body even without the content-length header
+            return false;
+        }
+        String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null) {
+            return "0".equals(contentLength);
+        }
+        return request.getHeader(HttpHeaders.TRANSFER_ENCODING) == null;
+    }
+
+    private void dispatch(RoutingContext routingContext, ResteasyHttpHeaders headers, InputStream is, VertxOutput output) {
         ManagedContext requestContext = beanContainer.requestContext();
         requestContext.activate();
         QuarkusHttpUser user = (QuarkusHttpUser) routingContext.user();
@@ -102,7 +192,6 @@ public class VertxRequestHandler implements Handler<RoutingContext> {
             Context ctx = vertx.getOrCreateContext();
             HttpServerRequest request = routingContext.request();
             ResteasyUriInfo uriInfo = VertxUtil.extractUriInfo(request, rootPath);
-            ResteasyHttpHeaders headers = VertxUtil.extractHttpHeaders(request);
             HttpServerResponse response = request.response();
             VertxHttpResponse vertxResponse = new VertxHttpResponse(request, dispatcher.getProviderFactory(),
                     request.method(), allocator, output);
@@ -52,6 +52,7 @@ import io.quarkus.deployment.builditem.ExecutorBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.GeneratedClassBuildItem;
 import io.quarkus.deployment.builditem.ServiceStartBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.util.HashUtil;
 import io.quarkus.gizmo.ClassCreator;
@@ -64,6 +65,7 @@ import io.quarkus.scheduler.ScheduledExecution;
 import io.quarkus.scheduler.runtime.ScheduledInvoker;
 import io.quarkus.scheduler.runtime.ScheduledMethodMetadata;
 import io.quarkus.scheduler.runtime.SchedulerConfig;
+import io.quarkus.scheduler.runtime.SchedulerMetricsRecorder;
 import io.quarkus.scheduler.runtime.SchedulerRecorder;
 import io.quarkus.scheduler.runtime.SchedulerSupport;
 import io.quarkus.scheduler.runtime.SimpleScheduler;
@@ -204,7 +206,8 @@ public class SchedulerProcessor {
 
     @BuildStep
     @Record(RUNTIME_INIT)
-    public void build(SchedulerConfig config, SchedulerRecorder recorder, BeanContainerBuildItem beanContainer,
+    public void build(SchedulerConfig config, SchedulerRecorder recorder, SchedulerMetricsRecorder metricsRecorder,
+            BeanContainerBuildItem beanContainer, Capabilities capabilities, ShutdownContextBuildItem shutdown,
             List<ScheduledBusinessMethodItem> scheduledBusinessMethods,
             BuildProducer<GeneratedClassBuildItem> generatedClass, BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
             BuildProducer<FeatureBuildItem> feature,
@@ -222,6 +225,14 @@ public class SchedulerProcessor {
             scheduledMethod.setInvokerClassName(invokerClass);
             List<Scheduled> schedules = new ArrayList<>();
             for (AnnotationInstance scheduled : businessMethod.getSchedules()) {
+                if (capabilities.isCapabilityPresent(Capabilities.QUARTZ)) {
+                    AnnotationValue concurrentExecution = scheduled.value("concurrentExecution");
+                    if (concurrentExecution != null
+                            && !Scheduled.ConcurrentExecution.PROCEED.name().equals(concurrentExecution.asEnum())) {
+                        LOGGER.warnf("concurrentExecution() and maxQueued() are ignored by the Quartz scheduler: %s",
+                                scheduled);
+                    }
+                }
                 schedules.add(annotationProxy.builder(scheduled, Scheduled.class).build(classOutput));
             }
             scheduledMethod.setSchedules(schedules);
@@ -230,6 +241,11 @@ public class SchedulerProcessor {
             scheduledMethods.add(scheduledMethod);
         }
         recorder.initialize(config, scheduledMethods, executor.getExecutorProxy(), beanContainer.getValue());
+        if (!scheduledMethods.isEmpty() && capabilities.isCapabilityPresent(Capabilities.METRICS)
+                && !capabilities.isCapabilityPresent(Capabilities.QUARTZ)) {
+            // The statistics are only collected by the simple scheduler
+            metricsRecorder.registerMetrics(scheduledMethods, beanContainer.getValue(), shutdown);
+        }
         // Make sure that StartupEvent is fired after the init
         serviceStart.produce(new ServiceStartBuildItem(FeatureBuildItem.SCHEDULER));
     }
@@ -324,6 +340,10 @@ public class SchedulerProcessor {
                 return new IllegalStateException("@Scheduled must declare either cron() or every(): " + schedule);
             }
         }
+        AnnotationValue maxQueuedValue = schedule.value("maxQueued");
+        if (maxQueuedValue != null && maxQueuedValue.asInt() < 0) {
+            return new IllegalStateException("Invalid maxQueued() value on: " + schedule);
+        }
         return null;
     }
 
@@ -0,0 +1,76 @@
+package io.quarkus.scheduler.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
+import io.quarkus.scheduler.runtime.ScheduledMethodMetadata;
+import io.quarkus.scheduler.runtime.SchedulerSupport;
+import io.quarkus.test.QuarkusUnitTest;
+
+public class ConcurrentExecutionTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest test = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class).addClasses(Jobs.class));
+
+    @Inject
+    SchedulerSupport support;
+
+    @Test
+    public void testSkipAndQueue() throws InterruptedException {
+        assertTrue(Jobs.SKIP_LATCH.await(5, TimeUnit.SECONDS));
+        assertTrue(Jobs.QUEUE_LATCH.await(5, TimeUnit.SECONDS));
+        assertEquals(1, Jobs.SKIP_MAX_RUNNING.get());
+        assertEquals(1, Jobs.QUEUE_MAX_RUNNING.get());
+        for (ScheduledMethodMetadata method : support.getScheduledMethods()) {
+            assertTrue(support.getStatistics(method).getSkipped() > 0, method.getMethodDescription());
+        }
+    }
+
+    static class Jobs {
+
+        static final CountDownLatch SKIP_LATCH = new CountDownLatch(2);
+        static final CountDownLatch QUEUE_LATCH = new CountDownLatch(3);
+        static final AtomicInteger SKIP_RUNNING = new AtomicInteger();
+        static final AtomicInteger SKIP_MAX_RUNNING = new AtomicInteger();
+        static final AtomicInteger QUEUE_RUNNING = new AtomicInteger();
+        static final AtomicInteger QUEUE_MAX_RUNNING = new AtomicInteger();
+
+        @Scheduled(every = "0.1s", concurrentExecution = ConcurrentExecution.SKIP)
+        void skip() throws InterruptedException {
+            run(SKIP_RUNNING, SKIP_MAX_RUNNING);
+            SKIP_LATCH.countDown();
+        }
+
+        @Scheduled(every = "0.1s", concurrentExecution = ConcurrentExecution.QUEUE, maxQueued = 1)
+        void queue() throws InterruptedException {
+            run(QUEUE_RUNNING, QUEUE_MAX_RUNNING);
+            QUEUE_LATCH.countDown();
+        }
+
+        private static void run(AtomicInteger running, AtomicInteger maxRunning) throws InterruptedException {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(500);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+    }
+
+}
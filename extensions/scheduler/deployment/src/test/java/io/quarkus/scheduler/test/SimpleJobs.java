@@ -16,6 +16,8 @@ public class SimpleJobs {
         LATCHES.put("everyConfig", new CountDownLatch(2));
         LATCHES.put("cron", new CountDownLatch(2));
         LATCHES.put("cronConfig", new CountDownLatch(2));
+        // Would not be reached in time with a resolution of one second
+        LATCHES.put("everySubSecond", new CountDownLatch(10));
     }
 
     @Scheduled(cron = "0/1 * * * * ?")
@@ -28,6 +30,11 @@ public class SimpleJobs {
         LATCHES.get("every").countDown();
     }
 
+    @Scheduled(every = "0.1s")
+    void checkEveryTenthOfSecond() {
+        LATCHES.get("everySubSecond").countDown();
+    }
+
     @Scheduled(cron = "{simpleJobs.cron}")
     void checkEverySecondCronConfig() {
         LATCHES.get("cronConfig").countDown();
@@ -55,8 +55,8 @@ public @interface Scheduled {
      * <p>
      * The value is parsed with {@link Duration#parse(CharSequence)}. However, if an expression starts with a digit, "PT" prefix
      * is added automatically, so for
-     * example, {@code 15m} can be used instead of {@code PT15M} and is parsed as "15 minutes". Note that the absolute value of
-     * the value is always used.
+     * example, {@code 15m} can be used instead of {@code PT15M} and is parsed as "15 minutes". Periods shorter than one second
+     * are supported, e.g. {@code 0.5s}. Note that the absolute value of the value is always used.
      * <p>
      * If the value starts with "&#123;" and ends with "&#125;" the scheduler attempts to find a corresponding config property
      * and use the configured value
@@ -81,6 +81,50 @@ public @interface Scheduled {
      */
     TimeUnit delayUnit() default TimeUnit.MINUTES;
 
+    /**
+     * Specifies what happens if the trigger fires while a previous execution of the same schedule is still running.
+     * <p>
+     * By default, the executions may run concurrently.
+     * <p>
+     * Only the simple scheduler supports this strategy. It is ignored if the Quartz extension is present, and a warning is
+     * logged at build time.
+     *
+     * @return the concurrent execution strategy
+     * @see #maxQueued()
+     */
+    ConcurrentExecution concurrentExecution() default ConcurrentExecution.PROCEED;
+
+    /**
+     * The maximum number of executions waiting for a running execution to finish. Only used if
+     * {@link #concurrentExecution()} is set to {@link ConcurrentExecution#QUEUE}. Ignored by the Quartz scheduler.
+     *
+     * @return the maximum number of queued executions
+     */
+    int maxQueued() default 1;
+
+    /**
+     * Represents a strategy for executions that overlap with a running execution of the same schedule.
+     */
+    enum ConcurrentExecution {
+
+        /**
+         * The execution is started regardless of the running executions.
+         */
+        PROCEED,
+
+        /**
+         * The execution is skipped if a previous execution is still running.
+         */
+        SKIP,
+
+        /**
+         * The executions run one at a time. An execution waits until the previous one has finished, unless there are already
+         * {@link Scheduled#maxQueued()} waiting executions in which case it is skipped.
+         */
+        QUEUE,
+
+    }
+
     @Retention(RUNTIME)
     @Target(METHOD)
     @interface Schedules {
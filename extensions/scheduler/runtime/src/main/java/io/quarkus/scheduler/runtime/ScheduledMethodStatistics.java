@@ -0,0 +1,57 @@
+package io.quarkus.scheduler.runtime;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of a scheduled method.
+ */
+public class ScheduledMethodStatistics {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private volatile long lastLag;
+    private volatile long lastDuration;
+
+    void executed(long lag, long duration) {
+        executions.increment();
+        lastLag = lag;
+        lastDuration = duration;
+    }
+
+    void skipped() {
+        skipped.increment();
+    }
+
+    /**
+     *
+     * @return the number of finished executions
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     *
+     * @return the number of executions skipped because of the concurrent execution limits or a full queue
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     *
+     * @return the time in milliseconds between the scheduled fire time and the start of the last execution
+     */
+    public long getLastLag() {
+        return lastLag;
+    }
+
+    /**
+     *
+     * @return the duration in milliseconds of the last execution
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+}
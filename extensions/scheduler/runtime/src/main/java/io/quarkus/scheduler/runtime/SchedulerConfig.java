@@ -18,4 +18,19 @@ public class SchedulerConfig {
     @ConfigItem(defaultValue = "quartz")
     public CronType cronType;
 
+    /**
+     * The maximum number of threads used to execute the scheduled methods.
+     * <p>
+     * The scheduled methods are executed on a dedicated executor so that slow jobs cannot starve the threads used by the
+     * rest of the application.
+     */
+    @ConfigItem(defaultValue = "10")
+    public int maxThreads;
+
+    /**
+     * The maximum number of executions waiting for a free thread. If the limit is reached further executions are skipped.
+     */
+    @ConfigItem(defaultValue = "100")
+    public int queueSize;
+
 }
@@ -0,0 +1,83 @@
+package io.quarkus.scheduler.runtime;
+
+import java.util.List;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import io.quarkus.arc.runtime.BeanContainer;
+import io.quarkus.runtime.ShutdownContext;
+import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.smallrye.metrics.runtime.LambdaCounter;
+import io.quarkus.smallrye.metrics.runtime.LambdaGauge;
+import io.smallrye.metrics.MetricRegistries;
+
+/**
+ * Registers the metrics of the scheduled methods. Only used if the metrics extension is present.
+ */
+@Recorder
+public class SchedulerMetricsRecorder {
+
+    static final String EXECUTIONS = "scheduler.executions";
+    static final String SKIPPED = "scheduler.skipped";
+    static final String LAG = "scheduler.lag";
+    static final String DURATION = "scheduler.duration";
+
+    public void registerMetrics(List<ScheduledMethodMetadata> scheduledMethods, BeanContainer container,
+            ShutdownContext shutdown) {
+        MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+        SchedulerSupport support = container.instance(SchedulerSupport.class);
+
+        Metadata executions = Metadata.builder()
+                .withName(EXECUTIONS)
+                .withType(MetricType.COUNTER)
+                .withDisplayName("Scheduled Executions")
+                .withDescription("Displays the number of finished executions of a scheduled method.")
+                .build();
+        Metadata skipped = Metadata.builder()
+                .withName(SKIPPED)
+                .withType(MetricType.COUNTER)
+                .withDisplayName("Skipped Scheduled Executions")
+                .withDescription(
+                        "Displays the number of executions of a scheduled method skipped because a previous execution was still running or the executor was busy.")
+                .build();
+        Metadata lag = Metadata.builder()
+                .withName(LAG)
+                .withType(MetricType.GAUGE)
+                .withUnit(MetricUnits.MILLISECONDS)
+                .withDisplayName("Scheduled Execution Lag")
+                .withDescription(
+                        "Displays the time between the scheduled fire time and the start of the last execution of a scheduled method.")
+                .build();
+        Metadata duration = Metadata.builder()
+                .withName(DURATION)
+                .withType(MetricType.GAUGE)
+                .withUnit(MetricUnits.MILLISECONDS)
+                .withDisplayName("Scheduled Execution Duration")
+                .withDescription("Displays the duration of the last execution of a scheduled method.")
+                .build();
+
+        for (ScheduledMethodMetadata method : scheduledMethods) {
+            ScheduledMethodStatistics statistics = support.getStatistics(method);
+            Tag tag = new Tag("method", method.getMethodDescription());
+            registry.register(executions, new LambdaCounter(statistics::getExecutions), tag);
+            registry.register(skipped, new LambdaCounter(statistics::getSkipped), tag);
+            registry.register(lag, new LambdaGauge(statistics::getLastLag), tag);
+            registry.register(duration, new LambdaGauge(statistics::getLastDuration), tag);
+        }
+
+        shutdown.addShutdownTask(new Runnable() {
+            @Override
+            public void run() {
+                registry.remove(EXECUTIONS);
+                registry.remove(SKIPPED);
+                registry.remove(LAG);
+                registry.remove(DURATION);
+            }
+        });
+    }
+
+}
@@ -2,6 +2,8 @@ package io.quarkus.scheduler.runtime;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 import javax.inject.Singleton;
@@ -18,11 +20,16 @@ public class SchedulerSupport {
     private ExecutorService executor;
     private CronType cronType;
     private List<ScheduledMethodMetadata> scheduledMethods;
+    private int maxThreads;
+    private int queueSize;
+    private final Map<String, ScheduledMethodStatistics> statistics = new ConcurrentHashMap<>();
 
     void initialize(SchedulerConfig config, List<ScheduledMethodMetadata> scheduledMethods, ExecutorService executor) {
         this.cronType = config.cronType;
         this.scheduledMethods = scheduledMethods;
         this.executor = executor;
+        this.maxThreads = config.maxThreads;
+        this.queueSize = config.queueSize;
     }
 
     public ExecutorService getExecutor() {
@@ -37,6 +44,31 @@ public class SchedulerSupport {
         return scheduledMethods;
     }
 
+    /**
+     *
+     * @return the maximum number of threads used to execute the scheduled methods
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     *
+     * @return the maximum number of executions waiting for a free thread
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     *
+     * @param method
+     * @return the statistics of the given scheduled method
+     */
+    public ScheduledMethodStatistics getStatistics(ScheduledMethodMetadata method) {
+        return statistics.computeIfAbsent(method.getInvokerClassName(), k -> new ScheduledMethodStatistics());
+    }
+
     @SuppressWarnings("unchecked")
     public ScheduledInvoker createInvoker(String invokerClassName) {
         try {
@@ -2,15 +2,19 @@ package io.quarkus.scheduler.runtime;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -36,14 +40,22 @@ import io.quarkus.scheduler.ScheduledExecution;
 import io.quarkus.scheduler.Scheduler;
 import io.quarkus.scheduler.Trigger;
 
+/**
+ * A simple scheduler backed by a single-threaded {@link ScheduledExecutorService}.
+ * <p>
+ * The next fire time of each trigger is computed only once, when the trigger is scheduled or has just fired. The
+ * executor keeps the scheduled tasks in a priority queue ordered by their delay and sleeps until the earliest one is
+ * due, so the cost of a fire is {@code O(log n)} regardless of the number of triggers and sub-second periods are supported.
+ * <p>
+ * The scheduled methods are invoked on a dedicated bounded executor, see {@link SchedulerConfig#maxThreads} and
+ * {@link SchedulerConfig#queueSize}. Overlapping executions are controlled by {@link Scheduled#concurrentExecution()}.
+ */
 @Typed(Scheduler.class)
 @Singleton
 public class SimpleScheduler implements Scheduler {
 
     private static final Logger LOGGER = Logger.getLogger(SimpleScheduler.class);
 
-    private static final long CHECK_PERIOD = 1000L;
-
     private final ScheduledExecutorService scheduledExecutor;
     private final ExecutorService executor;
     private volatile boolean running;
@@ -55,11 +67,11 @@ public class SimpleScheduler implements Scheduler {
         this.running = true;
         this.scheduledTasks = new ArrayList<>();
         this.triggerNameSequence = new AtomicInteger();
-        this.executor = support.getExecutor();
         this.config = config;
 
         if (support.getScheduledMethods().isEmpty()) {
             this.scheduledExecutor = null;
+            this.executor = null;
         } else {
             this.scheduledExecutor = new JBossScheduledThreadPoolExecutor(1, new Runnable() {
                 @Override
@@ -67,15 +79,17 @@ public class SimpleScheduler implements Scheduler {
                     // noop
                 }
             });
+            this.executor = createExecutor(support.getMaxThreads(), support.getQueueSize());
 
             CronDefinition definition = CronDefinitionBuilder.instanceDefinitionFor(support.getCronType());
             CronParser parser = new CronParser(definition);
 
             for (ScheduledMethodMetadata method : support.getScheduledMethods()) {
                 ScheduledInvoker invoker = support.createInvoker(method.getInvokerClassName());
+                ScheduledMethodStatistics statistics = support.getStatistics(method);
                 for (Scheduled scheduled : method.getSchedules()) {
                     SimpleTrigger trigger = createTrigger(method.getInvokerClassName(), parser, scheduled);
-                    scheduledTasks.add(new ScheduledTask(trigger, invoker));
+                    scheduledTasks.add(new ScheduledTask(trigger, invoker, statistics, getLimit(scheduled)));
                 }
             }
         }
@@ -85,12 +99,10 @@ public class SimpleScheduler implements Scheduler {
         if (scheduledExecutor == null) {
             return;
         }
-        // Try to compute the initial delay to execute the checks near to the whole second
-        // Note that this does not guarantee anything, it's just best effort
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime trunc = now.plusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
-        scheduledExecutor.scheduleAtFixedRate(this::checkTriggers, ChronoUnit.MILLIS.between(now, trunc), CHECK_PERIOD,
-                TimeUnit.MILLISECONDS);
+        ZonedDateTime now = ZonedDateTime.now();
+        for (ScheduledTask task : scheduledTasks) {
+            schedule(task, task.trigger.firstFireTime(now));
+        }
     }
 
     @PreDestroy
@@ -99,34 +111,70 @@ public class SimpleScheduler implements Scheduler {
             if (scheduledExecutor != null) {
                 scheduledExecutor.shutdownNow();
             }
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         } catch (Exception e) {
             LOGGER.warn("Unable to shutdown the scheduler executor", e);
         }
     }
 
-    void checkTriggers() {
-        if (!running) {
-            LOGGER.trace("Skip all triggers - scheduler paused");
+    static ExecutorService createExecutor(int maxThreads, int queueSize) {
+        AtomicInteger threadSequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueSize), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "quarkus-scheduler-thread-" + threadSequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static int getLimit(Scheduled scheduled) {
+        switch (scheduled.concurrentExecution()) {
+            case SKIP:
+                return 1;
+            case QUEUE:
+                return 1 + Math.max(0, scheduled.maxQueued());
+            default:
+                return 0;
         }
-        ZonedDateTime now = ZonedDateTime.now();
+    }
 
-        for (ScheduledTask task : scheduledTasks) {
-            LOGGER.tracef("Evaluate trigger %s", task.trigger.id);
-            ZonedDateTime scheduledFireTime = task.trigger.evaluate(now);
-            if (scheduledFireTime != null) {
-                try {
-                    executor.execute(new Runnable() {
-                        @Override
-                        public void run() {
-                            task.invoker.invoke(new SimpleScheduledExecution(now, scheduledFireTime, task.trigger));
-                        }
-                    });
-                    LOGGER.debugf("Executing scheduled task for trigger %s", task.trigger.id);
-                } catch (RejectedExecutionException e) {
-                    LOGGER.warnf("Rejected execution of a scheduled task for trigger %s", task.trigger.id);
+    void schedule(ScheduledTask task, ZonedDateTime fireTime) {
+        task.trigger.nextFireTime = fireTime;
+        if (fireTime == null) {
+            LOGGER.debugf("Trigger %s will not fire again", task.trigger.id);
+            return;
+        }
+        long delay = Math.max(0, ChronoUnit.MILLIS.between(ZonedDateTime.now(), fireTime));
+        try {
+            scheduledExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    fire(task, fireTime);
                 }
-            }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The scheduler is being shut down
+            LOGGER.debugf("Unable to schedule trigger %s", task.trigger.id);
+        }
+    }
+
+    void fire(ScheduledTask task, ZonedDateTime scheduledFireTime) {
+        ZonedDateTime now = ZonedDateTime.now();
+        // Schedule the next fire first so that the schedule does not depend on the execution
+        schedule(task, task.trigger.nextFireTime(scheduledFireTime, now));
+        if (!running) {
+            LOGGER.tracef("Skip trigger %s - scheduler paused", task.trigger.id);
+            return;
         }
+        task.trigger.previousFireTime = now;
+        task.submit(executor, new SimpleScheduledExecution(now, scheduledFireTime, task.trigger));
     }
 
     @Override
@@ -173,7 +221,11 @@ public class SimpleScheduler implements Scheduler {
                 // This could only happen for config-based expressions
                 throw new IllegalStateException("Invalid every() expression on: " + scheduled, e);
             }
-            return new IntervalTrigger(id, start, duration.toMillis());
+            long interval = Math.abs(duration.toMillis());
+            if (interval == 0) {
+                throw new IllegalStateException("Invalid every() expression on: " + scheduled + " - the period must not be zero");
+            }
+            return new IntervalTrigger(id, start, interval);
         } else {
             throw new IllegalArgumentException("Invalid schedule configuration: " + scheduled);
         }
@@ -183,10 +235,94 @@ public class SimpleScheduler implements Scheduler {
 
         final SimpleTrigger trigger;
         final ScheduledInvoker invoker;
-
-        public ScheduledTask(SimpleTrigger trigger, ScheduledInvoker invoker) {
+        final ScheduledMethodStatistics statistics;
+        // The maximum number of running and waiting executions, 0 means no limit
+        final int limit;
+        // guarded by this
+        final Queue<SimpleScheduledExecution> waiting;
+        // The number of running and waiting executions, guarded by this
+        int pending;
+
+        public ScheduledTask(SimpleTrigger trigger, ScheduledInvoker invoker, ScheduledMethodStatistics statistics,
+                int limit) {
             this.trigger = trigger;
             this.invoker = invoker;
+            this.statistics = statistics;
+            this.limit = limit;
+            this.waiting = limit > 0 ? new ArrayDeque<>() : null;
+        }
+
+        void submit(ExecutorService executor, SimpleScheduledExecution execution) {
+            if (limit == 0) {
+                execute(executor, new Runnable() {
+                    @Override
+                    public void run() {
+                        invoke(execution);
+                    }
+                });
+                return;
+            }
+            boolean skipped = false;
+            boolean start = false;
+            synchronized (this) {
+                if (pending >= limit) {
+                    skipped = true;
+                } else {
+                    waiting.offer(execution);
+                    start = ++pending == 1;
+                }
+            }
+            if (skipped) {
+                statistics.skipped();
+                LOGGER.debugf("Skipped execution of a scheduled task for trigger %s - previous execution still running",
+                        trigger.id);
+            } else if (start) {
+                // No execution is running - start one that also runs the executions queued meanwhile
+                if (!execute(executor, this::drain)) {
+                    synchronized (this) {
+                        waiting.clear();
+                        pending = 0;
+                    }
+                }
+            }
+        }
+
+        private void drain() {
+            SimpleScheduledExecution next;
+            synchronized (this) {
+                next = waiting.poll();
+            }
+            while (next != null) {
+                invoke(next);
+                synchronized (this) {
+                    // An execution is queued together with the increment, so the next one is already there
+                    next = --pending > 0 ? waiting.poll() : null;
+                }
+            }
+        }
+
+        private boolean execute(ExecutorService executor, Runnable runnable) {
+            try {
+                executor.execute(runnable);
+                LOGGER.debugf("Executing scheduled task for trigger %s", trigger.id);
+                return true;
+            } catch (RejectedExecutionException e) {
+                statistics.skipped();
+                LOGGER.warnf("Rejected execution of a scheduled task for trigger %s", trigger.id);
+                return false;
+            }
+        }
+
+        private void invoke(SimpleScheduledExecution execution) {
+            long start = System.currentTimeMillis();
+            try {
+                invoker.invoke(execution);
+            } catch (RuntimeException e) {
+                LOGGER.errorf(e, "Error occured while executing task for trigger %s", trigger.id);
+            } finally {
+                long end = System.currentTimeMillis();
+                statistics.executed(Math.max(0, start - execution.getScheduledFireTime().toEpochMilli()), end - start);
+            }
         }
 
     }
@@ -195,6 +331,8 @@ public class SimpleScheduler implements Scheduler {
 
         private final String id;
         protected final ZonedDateTime start;
+        volatile ZonedDateTime nextFireTime;
+        volatile ZonedDateTime previousFireTime;
 
         public SimpleTrigger(String id, ZonedDateTime start) {
             this.id = id;
@@ -202,22 +340,41 @@ public class SimpleScheduler implements Scheduler {
         }
 
         /**
-         * 
+         *
          * @param now
-         * @return the scheduled time if fired, {@code null} otherwise
+         * @return the first fire time, or {@code null} if the trigger never fires
          */
-        abstract ZonedDateTime evaluate(ZonedDateTime now);
+        abstract ZonedDateTime firstFireTime(ZonedDateTime now);
+
+        /**
+         *
+         * @param scheduledFireTime the time the trigger was scheduled to fire at
+         * @param now
+         * @return the next fire time, or {@code null} if the trigger will not fire again
+         */
+        abstract ZonedDateTime nextFireTime(ZonedDateTime scheduledFireTime, ZonedDateTime now);
 
         public String getId() {
             return id;
         }
 
+        @Override
+        public Instant getNextFireTime() {
+            ZonedDateTime next = nextFireTime;
+            return next != null ? next.toInstant() : null;
+        }
+
+        @Override
+        public Instant getPreviousFireTime() {
+            ZonedDateTime previous = previousFireTime;
+            return previous != null ? previous.toInstant() : null;
+        }
+
     }
 
     static class IntervalTrigger extends SimpleTrigger {
 
         private final long interval;
-        private volatile ZonedDateTime lastFireTime;
 
         public IntervalTrigger(String id, ZonedDateTime start, long interval) {
             super(id, start);
@@ -225,31 +382,15 @@ public class SimpleScheduler implements Scheduler {
         }
 
         @Override
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (now.isBefore(start)) {
-                return null;
-            }
-            if (lastFireTime == null) {
-                // First execution
-                lastFireTime = now;
-                return now;
-            }
-            if (ChronoUnit.MILLIS.between(lastFireTime, now) >= interval) {
-                ZonedDateTime scheduledFireTime = lastFireTime.plus(Duration.ofMillis(interval));
-                lastFireTime = now;
-                return scheduledFireTime;
-            }
-            return null;
-        }
-
-        @Override
-        public Instant getNextFireTime() {
-            return lastFireTime.plus(Duration.ofMillis(interval)).toInstant();
+        ZonedDateTime firstFireTime(ZonedDateTime now) {
+            return now.isBefore(start) ? start : now;
         }
 
         @Override
-        public Instant getPreviousFireTime() {
-            return lastFireTime.toInstant();
+        ZonedDateTime nextFireTime(ZonedDateTime scheduledFireTime, ZonedDateTime now) {
+            ZonedDateTime next = scheduledFireTime.plus(Duration.ofMillis(interval));
+            // Do not try to catch up with the missed executions
+            return next.isBefore(now) ? now : next;
         }
 
     }
@@ -264,33 +405,19 @@ public class SimpleScheduler implements Scheduler {
         }
 
         @Override
-        public Instant getNextFireTime() {
-            Optional<ZonedDateTime> nextFireTime = executionTime.nextExecution(ZonedDateTime.now());
-            return nextFireTime.isPresent() ? nextFireTime.get().toInstant() : null;
+        ZonedDateTime firstFireTime(ZonedDateTime now) {
+            return executionTime.nextExecution(now.isBefore(start) ? start.minusNanos(1) : now).orElse(null);
         }
 
         @Override
-        public Instant getPreviousFireTime() {
-            Optional<ZonedDateTime> prevFireTime = executionTime.lastExecution(ZonedDateTime.now());
-            return prevFireTime.isPresent() ? prevFireTime.get().toInstant() : null;
-        }
-
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (now.isBefore(start)) {
-                return null;
-            }
-            Optional<ZonedDateTime> lastFireTime = executionTime.lastExecution(now);
-            if (lastFireTime.isPresent()) {
-                ZonedDateTime trunc = lastFireTime.get().truncatedTo(ChronoUnit.SECONDS);
-                if (now.isBefore(trunc)) {
-                    return null;
-                }
-                long diff = ChronoUnit.MILLIS.between(trunc, now);
-                if (diff <= CHECK_PERIOD) {
-                    return trunc;
-                }
+        ZonedDateTime nextFireTime(ZonedDateTime scheduledFireTime, ZonedDateTime now) {
+            // Note that the fire may happen a bit before the scheduled time due to clock differences
+            Optional<ZonedDateTime> next = executionTime.nextExecution(scheduledFireTime);
+            if (next.isPresent() && next.get().isBefore(now)) {
+                // Do not try to catch up with the missed executions
+                next = executionTime.nextExecution(now);
             }
-            return null;
+            return next.orElse(null);
         }
 
     }
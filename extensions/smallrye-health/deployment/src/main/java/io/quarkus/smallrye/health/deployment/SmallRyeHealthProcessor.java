@@ -1,23 +1,36 @@
 package io.quarkus.smallrye.health.deployment;
 
 import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.eclipse.microprofile.health.Health;
+import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.Liveness;
 import org.eclipse.microprofile.health.Readiness;
 import org.eclipse.microprofile.health.spi.HealthCheckResponseProvider;
+import org.jboss.jandex.AnnotationTarget.Kind;
+import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
 
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.AnnotationsTransformerBuildItem;
+import io.quarkus.arc.deployment.BeanArchiveIndexBuildItem;
 import io.quarkus.arc.deployment.BeanDefiningAnnotationBuildItem;
+import io.quarkus.arc.processor.AnnotationsTransformer;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.LaunchModeBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
 import io.quarkus.deployment.recording.RecorderContext;
 import io.quarkus.deployment.util.ServiceUtil;
 import io.quarkus.kubernetes.spi.KubernetesHealthLivenessPathBuildItem;
@@ -25,6 +38,8 @@ import io.quarkus.kubernetes.spi.KubernetesHealthReadinessPathBuildItem;
 import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.quarkus.smallrye.health.deployment.spi.HealthBuildItem;
+import io.quarkus.smallrye.health.runtime.HealthCheckInterceptor;
+import io.quarkus.smallrye.health.runtime.ParallelHealthCheck;
 import io.quarkus.smallrye.health.runtime.SmallRyeHealthHandler;
 import io.quarkus.smallrye.health.runtime.SmallRyeHealthRecorder;
 import io.quarkus.smallrye.health.runtime.SmallRyeLivenessHandler;
@@ -42,6 +57,10 @@ class SmallRyeHealthProcessor {
 
     private static final DotName READINESS = DotName.createSimple(Readiness.class.getName());
 
+    private static final DotName HEALTH_CHECK = DotName.createSimple(HealthCheck.class.getName());
+
+    private static final DotName PARALLEL_HEALTH_CHECK = DotName.createSimple(ParallelHealthCheck.class.getName());
+
     /**
      * The configuration for health checking.
      */
@@ -68,6 +87,29 @@ class SmallRyeHealthProcessor {
          */
         @ConfigItem(defaultValue = "/ready")
         String readinessPath;
+
+        /**
+         * Whether the health checks of a request are invoked in parallel on a dedicated pool rather than one after
+         * another on the thread handling the request. The checks declared as final classes or with a final {@code call()}
+         * method can not be intercepted and are still invoked one after another. A {@code @Dependent} check is created
+         * twice per request in this mode.
+         */
+        @ConfigItem(defaultValue = "false")
+        boolean parallelChecks;
+
+        /**
+         * The maximum time a health check invoked in parallel may take. A check that does not complete in time is
+         * reported as down.
+         */
+        @ConfigItem(defaultValue = "10S")
+        Duration checkTimeout;
+
+        /**
+         * How long the result of the health checks is reused by subsequent requests. If set to 0, the result is only
+         * shared by the concurrent requests when the parallel execution is enabled.
+         */
+        @ConfigItem(defaultValue = "0S")
+        Duration cacheTtl;
     }
 
     @BuildStep
@@ -123,6 +165,9 @@ class SmallRyeHealthProcessor {
 
         // Add additional beans
         additionalBean.produce(new AdditionalBeanBuildItem(SmallRyeHealthReporter.class));
+        if (health.parallelChecks) {
+            additionalBean.produce(new AdditionalBeanBuildItem(ParallelHealthCheck.class, HealthCheckInterceptor.class));
+        }
 
         // Discover and register the HealthCheckResponseProvider
         Set<String> providers = ServiceUtil.classNamesNamedIn(getClass().getClassLoader(),
@@ -139,6 +184,59 @@ class SmallRyeHealthProcessor {
                 (Class<? extends HealthCheckResponseProvider>) recorderContext.classProxy(providers.iterator().next()));
     }
 
+    @BuildStep
+    void interceptParallelChecks(BeanArchiveIndexBuildItem beanArchiveIndex,
+            BuildProducer<AnnotationsTransformerBuildItem> annotationsTransformer) {
+        if (!health.parallelChecks) {
+            return;
+        }
+        Set<String> parallelChecks = getParallelChecks(beanArchiveIndex.getIndex());
+        annotationsTransformer.produce(new AnnotationsTransformerBuildItem(new AnnotationsTransformer() {
+            @Override
+            public boolean appliesTo(Kind kind) {
+                return Kind.CLASS == kind;
+            }
+
+            @Override
+            public void transform(TransformationContext transformationContext) {
+                if (parallelChecks.contains(transformationContext.getTarget().asClass().name().toString())) {
+                    transformationContext.transform().add(PARALLEL_HEALTH_CHECK).done();
+                }
+            }
+        }));
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.RUNTIME_INIT)
+    void configureExecution(SmallRyeHealthRecorder recorder, BeanArchiveIndexBuildItem beanArchiveIndex,
+            ShutdownContextBuildItem shutdown) {
+        if (health.parallelChecks || !health.cacheTtl.isZero()) {
+            Set<String> parallelChecks = health.parallelChecks ? getParallelChecks(beanArchiveIndex.getIndex())
+                    : Collections.emptySet();
+            recorder.configureExecution(health.parallelChecks, health.checkTimeout.toMillis(), health.cacheTtl.toMillis(),
+                    parallelChecks, shutdown);
+        }
+    }
+
+    /**
+     * @return the names of the check classes that can be intercepted, the other checks are invoked by the reporter
+     *         sequentially
+     */
+    private static Set<String> getParallelChecks(IndexView index) {
+        Set<String> parallelChecks = new HashSet<>();
+        for (ClassInfo check : index.getAllKnownImplementors(HEALTH_CHECK)) {
+            if (Modifier.isAbstract(check.flags()) || Modifier.isFinal(check.flags())) {
+                continue;
+            }
+            MethodInfo call = check.method("call");
+            if (call != null && Modifier.isFinal(call.flags())) {
+                continue;
+            }
+            parallelChecks.add(check.name().toString());
+        }
+        return parallelChecks;
+    }
+
     @BuildStep
     public void kubernetes(BuildProducer<KubernetesHealthLivenessPathBuildItem> livenessPathItemProducer,
             BuildProducer<KubernetesHealthReadinessPathBuildItem> readinessPathItemProducer) {
@@ -0,0 +1,99 @@
+package io.quarkus.smallrye.health.test;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Liveness;
+import org.eclipse.microprofile.health.Readiness;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class ParallelHealthCheckTest {
+
+    static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(FastHealthCheck.class, SlowHealthCheck.class)
+                    .addAsResource(new StringAsset("quarkus.smallrye-health.parallel-checks=true\n"
+                            + "quarkus.smallrye-health.check-timeout=1S\n"), "application.properties")
+                    .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml"));
+
+    @AfterAll
+    static void release() {
+        RELEASE.countDown();
+    }
+
+    @Test
+    public void check() {
+        RestAssured.when().get("/health/live").then()
+                .statusCode(200)
+                .body("status", is("UP"),
+                        "checks.name", contains("fast"),
+                        "checks.data.thread[0]", startsWith("quarkus-health-check-"),
+                        "checks.data.request[0]", is(true));
+
+        RestAssured.when().get("/health/ready").then()
+                .statusCode(503)
+                .body("status", is("DOWN"),
+                        "checks.status[0]", is("DOWN"),
+                        "checks.data.rootCause[0]", startsWith("The check did not complete"));
+
+        // the previous invocation of the slow check is still running
+        RestAssured.when().get("/health").then()
+                .statusCode(503)
+                .body("status", is("DOWN"),
+                        "checks.status", containsInAnyOrder("UP", "DOWN"),
+                        "checks.data.rootCause", hasItem("The previous invocation of the check did not complete yet"));
+    }
+
+    @ApplicationScoped
+    @Liveness
+    public static class FastHealthCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            return HealthCheckResponse.named("fast")
+                    .up()
+                    .withData("thread", Thread.currentThread().getName())
+                    .withData("request", Arc.container().requestContext().isActive())
+                    .build();
+        }
+    }
+
+    // a new instance is invoked every time, the previous invocation is still detected
+    @Dependent
+    @Readiness
+    public static class SlowHealthCheck implements HealthCheck {
+        @Override
+        public HealthCheckResponse call() {
+            try {
+                RELEASE.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return HealthCheckResponse.named("slow").up().build();
+        }
+    }
+
+}
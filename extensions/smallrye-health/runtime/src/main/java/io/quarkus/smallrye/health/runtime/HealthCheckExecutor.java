@@ -0,0 +1,321 @@
+package io.quarkus.smallrye.health.runtime;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.CDI;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.interceptor.InvocationContext;
+
+import org.eclipse.microprofile.health.Health;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Liveness;
+import org.eclipse.microprofile.health.Readiness;
+
+import io.quarkus.arc.Arc;
+import io.smallrye.health.SmallRyeHealth;
+import io.smallrye.health.SmallRyeHealthReporter;
+
+/**
+ * Executes the health checks on behalf of the health handlers if the parallel execution or the caching of the results
+ * is enabled.
+ * <p>
+ * The concurrent requests for the same group of checks share a single execution. If a cache TTL is set, the result is
+ * also reused by the requests received until it expires. In the parallel mode every check bean annotated with
+ * {@link ParallelHealthCheck} is invoked on a dedicated pool with the request scope active before the reporter is called.
+ * The pool is not shared with the health routes, which block on the worker pool while they wait for the checks.
+ * When the reporter invokes the check, the {@link HealthCheckInterceptor} waits for that invocation instead, so that the
+ * response is built by the reporter as usual. A check that does not complete within the timeout fails, and so does a check
+ * whose previous invocation is still running.
+ * <p>
+ * The reporter obtains its own instance of every check, so a {@code @Dependent} check is created twice per request in
+ * the parallel mode: once for the parallel invocation and once for the reporter, whose invocation returns the result of the
+ * former without calling the check again. The check should therefore not do any expensive work on creation.
+ */
+public class HealthCheckExecutor {
+
+    enum Group {
+        HEALTH,
+        LIVENESS,
+        READINESS
+    }
+
+    @SuppressWarnings("deprecation")
+    private static final Annotation HEALTH = new AnnotationLiteral<Health>() {
+    };
+    private static final Annotation LIVENESS = new AnnotationLiteral<Liveness>() {
+    };
+    private static final Annotation READINESS = new AnnotationLiteral<Readiness>() {
+    };
+
+    private static volatile HealthCheckExecutor instance;
+
+    private final Executor executor;
+    private final boolean parallel;
+    private final long checkTimeout;
+    private final long cacheTtl;
+    private final Set<String> parallelChecks;
+    private final ConcurrentMap<Group, CompletableFuture<CachedHealth>> results = new ConcurrentHashMap<>();
+    // keyed by bean rather than by instance, a @Dependent check is a new instance every time
+    private final Set<Bean<?>> running = ConcurrentHashMap.newKeySet();
+    // the invocations the reporter waits for on the current thread
+    private final ThreadLocal<Invocations> invocations = new ThreadLocal<>();
+
+    /**
+     * @param executor the executor used to invoke the checks in parallel, see {@link #createExecutor(int)}
+     * @param parallel whether the checks are invoked in parallel or by the reporter
+     * @param checkTimeout the timeout of a check in milliseconds, only used in the parallel mode
+     * @param cacheTtl how long the result is reused in milliseconds
+     * @param parallelChecks the classes of the check beans annotated with {@link ParallelHealthCheck}
+     */
+    HealthCheckExecutor(Executor executor, boolean parallel, long checkTimeout, long cacheTtl, Set<String> parallelChecks) {
+        this.executor = executor;
+        this.parallel = parallel;
+        this.checkTimeout = checkTimeout;
+        this.cacheTtl = cacheTtl;
+        this.parallelChecks = parallelChecks;
+    }
+
+    /**
+     * Creates the pool the checks are invoked on in the parallel mode. A check is never invoked again while its previous
+     * invocation is running, so one thread per check is enough for the tasks to never be queued.
+     *
+     * @param maxThreads the number of checks invoked in parallel
+     * @return a bounded executor
+     */
+    static ExecutorService createExecutor(int maxThreads) {
+        int threads = Math.max(1, maxThreads);
+        AtomicInteger threadSequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "quarkus-health-check-" + threadSequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @return the executor or {@code null} if the checks are invoked by the reporter directly
+     */
+    static HealthCheckExecutor get() {
+        return instance;
+    }
+
+    static void set(HealthCheckExecutor executor) {
+        instance = executor;
+    }
+
+    SmallRyeHealth getHealth(SmallRyeHealthReporter reporter, Group group) {
+        while (true) {
+            CompletableFuture<CachedHealth> existing = results.get(group);
+            CompletableFuture<CachedHealth> future;
+            if (existing == null) {
+                future = new CompletableFuture<>();
+                if (results.putIfAbsent(group, future) != null) {
+                    continue;
+                }
+            } else if (!existing.isDone()) {
+                // the checks are being executed for another request
+                return existing.join().health;
+            } else if (existing.isCompletedExceptionally()) {
+                results.remove(group, existing);
+                continue;
+            } else if (!existing.join().isExpired(System.currentTimeMillis())) {
+                return existing.join().health;
+            } else {
+                future = new CompletableFuture<>();
+                if (!results.replace(group, existing, future)) {
+                    continue;
+                }
+            }
+
+            try {
+                long expiresAt = System.currentTimeMillis() + cacheTtl;
+                SmallRyeHealth health = parallel ? executeInParallel(reporter, group) : execute(reporter, group);
+                if (cacheTtl <= 0) {
+                    results.remove(group, future);
+                }
+                future.complete(new CachedHealth(health, expiresAt));
+                return health;
+            } catch (Throwable t) {
+                // the requests waiting for the result must not be left hanging
+                results.remove(group, future);
+                future.completeExceptionally(t);
+                throw t;
+            }
+        }
+    }
+
+    private static SmallRyeHealth execute(SmallRyeHealthReporter reporter, Group group) {
+        switch (group) {
+            case LIVENESS:
+                return reporter.getLiveness();
+            case READINESS:
+                return reporter.getReadiness();
+            default:
+                return reporter.getHealth();
+        }
+    }
+
+    private SmallRyeHealth executeInParallel(SmallRyeHealthReporter reporter, Group group) {
+        BeanManager beanManager = CDI.current().getBeanManager();
+        // a check with both the @Liveness and @Readiness qualifiers is only invoked once
+        Set<Bean<?>> beans = new LinkedHashSet<>();
+        if (group == Group.HEALTH) {
+            addBeans(beans, beanManager, HEALTH);
+        }
+        if (group != Group.READINESS) {
+            addBeans(beans, beanManager, LIVENESS);
+        }
+        if (group != Group.LIVENESS) {
+            addBeans(beans, beanManager, READINESS);
+        }
+
+        Map<String, CompletableFuture<HealthCheckResponse>> futures = new HashMap<>();
+        for (Bean<?> bean : beans) {
+            futures.put(bean.getBeanClass().getName(), invoke(beanManager, bean));
+        }
+
+        // the checks run concurrently, so a common deadline is the timeout of every check
+        invocations.set(new Invocations(futures, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(checkTimeout)));
+        try {
+            return execute(reporter, group);
+        } finally {
+            invocations.remove();
+        }
+    }
+
+    private void addBeans(Set<Bean<?>> beans, BeanManager beanManager, Annotation qualifier) {
+        for (Bean<?> bean : beanManager.getBeans(HealthCheck.class, qualifier)) {
+            // the other checks can not be intercepted and are invoked by the reporter
+            if (parallelChecks.contains(bean.getBeanClass().getName())) {
+                beans.add(bean);
+            }
+        }
+    }
+
+    private CompletableFuture<HealthCheckResponse> invoke(BeanManager beanManager, Bean<?> bean) {
+        CompletableFuture<HealthCheckResponse> future = new CompletableFuture<>();
+        if (!running.add(bean)) {
+            future.completeExceptionally(
+                    new IllegalStateException("The previous invocation of the check did not complete yet"));
+            return future;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    boolean activated = RequestScopeHelper.activeRequestScope();
+                    CreationalContext<?> creationalContext = beanManager.createCreationalContext(bean);
+                    try {
+                        HealthCheck check = (HealthCheck) beanManager.getReference(bean, HealthCheck.class,
+                                creationalContext);
+                        future.complete(check.call());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    } finally {
+                        running.remove(bean);
+                        if (Dependent.class.equals(bean.getScope())) {
+                            creationalContext.release();
+                        }
+                        if (activated) {
+                            Arc.container().requestContext().terminate();
+                        }
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            running.remove(bean);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Called by the {@link HealthCheckInterceptor} when a check is invoked. If the check was already invoked in parallel
+     * for the reporter running on this thread, the result of that invocation is returned, otherwise the check proceeds.
+     */
+    Object intercept(InvocationContext ctx) throws Exception {
+        Invocations current = invocations.get();
+        if (current == null) {
+            return ctx.proceed();
+        }
+        // the target may be a subclass generated for the interception
+        CompletableFuture<HealthCheckResponse> future = null;
+        for (Class<?> clazz = ctx.getTarget().getClass(); future == null && clazz != null; clazz = clazz.getSuperclass()) {
+            future = current.futures.get(clazz.getName());
+        }
+        if (future == null) {
+            return ctx.proceed();
+        }
+        try {
+            return future.get(Math.max(0, current.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("The check did not complete within " + checkTimeout + "ms");
+        } catch (ExecutionException e) {
+            // a check may only throw unchecked exceptions, which are reported by the reporter
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof Exception ? (Exception) cause : e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the check");
+        }
+    }
+
+    static final class Invocations {
+
+        final Map<String, CompletableFuture<HealthCheckResponse>> futures;
+        final long deadline;
+
+        Invocations(Map<String, CompletableFuture<HealthCheckResponse>> futures, long deadline) {
+            this.futures = futures;
+            this.deadline = deadline;
+        }
+
+    }
+
+    static final class CachedHealth {
+
+        final SmallRyeHealth health;
+        final long expiresAt;
+
+        CachedHealth(SmallRyeHealth health, long expiresAt) {
+            this.health = health;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.quarkus.smallrye.health.runtime;
+
+import javax.annotation.Priority;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+
+/**
+ * Returns the result of a check that was already invoked in parallel when the reporter invokes it, so that the response
+ * is still built by the reporter.
+ */
+@ParallelHealthCheck
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE)
+public class HealthCheckInterceptor {
+
+    @AroundInvoke
+    public Object intercept(InvocationContext ctx) throws Exception {
+        HealthCheckExecutor executor = HealthCheckExecutor.get();
+        if (executor == null || !ctx.getMethod().getName().equals("call") || ctx.getMethod().getParameterCount() != 0) {
+            return ctx.proceed();
+        }
+        return executor.intercept(ctx);
+    }
+}
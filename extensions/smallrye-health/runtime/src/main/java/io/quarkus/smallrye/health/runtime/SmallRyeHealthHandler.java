@@ -22,7 +22,9 @@ public class SmallRyeHealthHandler implements Handler<RoutingContext> {
 
         try {
             SmallRyeHealthReporter reporter = CDI.current().select(SmallRyeHealthReporter.class).get();
-            SmallRyeHealth health = reporter.getHealth();
+            HealthCheckExecutor executor = HealthCheckExecutor.get();
+            SmallRyeHealth health = executor != null ? executor.getHealth(reporter, HealthCheckExecutor.Group.HEALTH)
+                    : reporter.getHealth();
             HttpServerResponse resp = event.response();
             if (health.isDown()) {
                 resp.setStatusCode(503);
@@ -1,8 +1,12 @@
 package io.quarkus.smallrye.health.runtime;
 
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.eclipse.microprofile.health.spi.HealthCheckResponseProvider;
 
+import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
 
 @Recorder
@@ -17,4 +21,20 @@ public class SmallRyeHealthRecorder {
         }
     }
 
+    public void configureExecution(boolean parallel, long checkTimeout, long cacheTtl, Set<String> parallelChecks,
+            ShutdownContext shutdown) {
+        // the health routes block the worker pool while they wait for the checks, which must not run on the same pool
+        ExecutorService executor = parallel ? HealthCheckExecutor.createExecutor(parallelChecks.size()) : null;
+        HealthCheckExecutor.set(new HealthCheckExecutor(executor, parallel, checkTimeout, cacheTtl, parallelChecks));
+        shutdown.addShutdownTask(new Runnable() {
+            @Override
+            public void run() {
+                HealthCheckExecutor.set(null);
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+        });
+    }
+
 }
@@ -38,7 +38,9 @@ public class SmallRyeLivenessHandler implements Handler<RoutingContext> {
 
         try {
             SmallRyeHealthReporter reporter = CDI.current().select(SmallRyeHealthReporter.class).get();
-            SmallRyeHealth health = reporter.getLiveness();
+            HealthCheckExecutor executor = HealthCheckExecutor.get();
+            SmallRyeHealth health = executor != null ? executor.getHealth(reporter, HealthCheckExecutor.Group.LIVENESS)
+                    : reporter.getLiveness();
             HttpServerResponse resp = event.response();
             if (health.isDown()) {
                 resp.setStatusCode(503);
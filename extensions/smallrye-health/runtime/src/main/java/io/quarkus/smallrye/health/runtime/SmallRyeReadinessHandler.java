@@ -37,7 +37,9 @@ public class SmallRyeReadinessHandler implements Handler<RoutingContext> {
 
         try {
             SmallRyeHealthReporter reporter = CDI.current().select(SmallRyeHealthReporter.class).get();
-            SmallRyeHealth health = reporter.getReadiness();
+            HealthCheckExecutor executor = HealthCheckExecutor.get();
+            SmallRyeHealth health = executor != null ? executor.getHealth(reporter, HealthCheckExecutor.Group.READINESS)
+                    : reporter.getReadiness();
             HttpServerResponse resp = event.response();
             if (health.isDown()) {
                 resp.setStatusCode(503);
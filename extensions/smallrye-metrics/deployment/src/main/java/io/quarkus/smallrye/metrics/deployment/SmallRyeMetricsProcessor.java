@@ -15,6 +15,7 @@ import static io.quarkus.smallrye.metrics.deployment.SmallRyeMetricsDotNames.MET
 import static io.quarkus.smallrye.metrics.deployment.SmallRyeMetricsDotNames.TIMER_INTERFACE;
 
 import java.lang.reflect.Modifier;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -63,7 +64,9 @@ import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.quarkus.smallrye.metrics.deployment.jandex.JandexBeanInfoAdapter;
 import io.quarkus.smallrye.metrics.deployment.jandex.JandexMemberInfoAdapter;
+import io.quarkus.smallrye.metrics.runtime.SmallRyeMetricsHandler;
 import io.quarkus.smallrye.metrics.runtime.SmallRyeMetricsRecorder;
+import io.quarkus.vertx.http.deployment.FilterBuildItem;
 import io.quarkus.vertx.http.deployment.HttpRootPathBuildItem;
 import io.quarkus.vertx.http.deployment.RouteBuildItem;
 import io.quarkus.vertx.http.deployment.devmode.NotFoundPageDisplayableEndpointBuildItem;
@@ -92,8 +95,25 @@ public class SmallRyeMetricsProcessor {
          */
         @ConfigItem(defaultValue = "/metrics")
         String path;
+
+        /**
+         * How long a rendered metrics response is reused by the subsequent requests asking for the same format. By
+         * default a response is only shared by the requests received while it is being rendered.
+         */
+        @ConfigItem(defaultValue = "0S")
+        Duration cacheTtl;
+
+        /**
+         * Whether the latency of the HTTP requests should be recorded per route, together with the number of active
+         * requests. The metrics are published in the vendor registry.
+         */
+        @ConfigItem(name = "http-server.enabled", defaultValue = "false")
+        boolean httpServerEnabled;
     }
 
+    // the filter is invoked before the CORS and security filters so that their time is included
+    private static final int HTTP_SERVER_METRICS_PRIORITY = FilterBuildItem.CORS + 100;
+
     SmallRyeMetricsConfig metrics;
 
     @BuildStep
@@ -110,8 +130,10 @@ public class SmallRyeMetricsProcessor {
         if (launchModeBuildItem.getLaunchMode().isDevOrTest()) {
             displayableEndpoints.produce(new NotFoundPageDisplayableEndpointBuildItem(metrics.path));
         }
-        routes.produce(new RouteBuildItem(route, recorder.handler(httpRoot.adjustPath(metrics.path)), HandlerType.BLOCKING));
-        routes.produce(new RouteBuildItem(slash, recorder.handler(httpRoot.adjustPath(metrics.path)), HandlerType.BLOCKING));
+        // a single handler for both routes, so that they share the rendered responses
+        SmallRyeMetricsHandler handler = recorder.handler(httpRoot.adjustPath(metrics.path), metrics.cacheTtl.toMillis());
+        routes.produce(new RouteBuildItem(route, handler, HandlerType.BLOCKING));
+        routes.produce(new RouteBuildItem(slash, handler, HandlerType.BLOCKING));
     }
 
     @BuildStep
@@ -243,6 +265,15 @@ public class SmallRyeMetricsProcessor {
         metrics.registerVendorMetrics(shutdown);
     }
 
+    @BuildStep
+    @Record(RUNTIME_INIT)
+    void registerHttpServerMetrics(SmallRyeMetricsRecorder metrics, ShutdownContextBuildItem shutdown,
+            BuildProducer<FilterBuildItem> filters) {
+        if (this.metrics.httpServerEnabled) {
+            filters.produce(new FilterBuildItem(metrics.httpServerMetricsHandler(shutdown), HTTP_SERVER_METRICS_PRIORITY));
+        }
+    }
+
     @BuildStep
     public void logCleanup(BuildProducer<LogCleanupFilterBuildItem> logCleanupFilter) {
         logCleanupFilter.produce(new LogCleanupFilterBuildItem("io.smallrye.metrics.MetricsRegistryImpl",
@@ -0,0 +1,117 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+
+    @Test
+    public void testSmallValuesHaveTheirOwnBucket() {
+        for (int value = 0; value < 32; value++) {
+            assertEquals(value, LatencyHistogram.bucket(value));
+            assertEquals(value, LatencyHistogram.lowestValue(value));
+            assertEquals(value, LatencyHistogram.highestValue(value));
+        }
+        assertEquals(32, LatencyHistogram.bucket(32));
+        assertEquals(32, LatencyHistogram.bucket(33));
+        assertEquals(33, LatencyHistogram.bucket(34));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            long lowest = LatencyHistogram.lowestValue(i);
+            long highest = LatencyHistogram.highestValue(i);
+            assertEquals(i, LatencyHistogram.bucket(lowest), "lowest value of bucket " + i);
+            assertEquals(i, LatencyHistogram.bucket(highest), "highest value of bucket " + i);
+            if (i > 0) {
+                // the buckets are contiguous
+                assertEquals(LatencyHistogram.highestValue(i - 1) + 1, lowest, "bucket " + i);
+            }
+            assertTrue((highest - lowest) <= lowest * MAX_RELATIVE_ERROR, "bucket " + i);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(LatencyHistogram.MAX_VALUE));
+        assertEquals(LatencyHistogram.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    public void testOutOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        histogram.update(-1);
+        histogram.update(Long.MAX_VALUE);
+        Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(0, snapshot.getMin());
+        assertEquals(LatencyHistogram.representativeValue(LatencyHistogram.BUCKETS - 1), snapshot.getMax());
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        Snapshot snapshot = new LatencyHistogram(1).getSnapshot();
+        assertEquals(0, snapshot.size());
+        assertEquals(0.0, snapshot.getMedian());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0.0, snapshot.getMean());
+        assertArrayEquals(new long[0], snapshot.getValues());
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        for (int value = 1; value <= 1000; value++) {
+            histogram.update(value);
+        }
+        Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, snapshot.size());
+        assertEquals(500.5, snapshot.getMean());
+        assertEquals(1, snapshot.getMin());
+        assertApproximately(1000, snapshot.getMax());
+        assertApproximately(500, snapshot.getMedian());
+        assertApproximately(750, snapshot.get75thPercentile());
+        assertApproximately(950, snapshot.get95thPercentile());
+        assertApproximately(980, snapshot.get98thPercentile());
+        assertApproximately(990, snapshot.get99thPercentile());
+        assertApproximately(999, snapshot.get999thPercentile());
+        assertEquals(snapshot.getMin(), (long) snapshot.getValue(0.0));
+        assertEquals(snapshot.getMax(), (long) snapshot.getValue(1.0));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValue(1.5));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int value = 0; value < 10_000; value++) {
+                    histogram.update(100);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(80_000, histogram.getCount());
+        assertEquals(80_000, snapshot.size());
+        assertEquals(100.0, snapshot.getMean());
+        assertArrayEquals(new long[] { LatencyHistogram.representativeValue(LatencyHistogram.bucket(100)) },
+                snapshot.getValues());
+    }
+
+    private static void assertApproximately(double expected, double actual) {
+        assertEquals(expected, actual, expected * MAX_RELATIVE_ERROR);
+    }
+}
@@ -0,0 +1,118 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+
+public class SmallRyeMetricsHandlerTest {
+
+    private static final List<String> ACCEPT_TEXT = Collections.singletonList("text/plain");
+
+    @Test
+    public void testConcurrentRequestsShareTheRendering() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountingHandler handler = new CountingHandler(0, () -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SmallRyeMetricsHandler.RenderedResponse> first = executor
+                    .submit(() -> handler.render("GET", "/metrics", ACCEPT_TEXT));
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            AtomicReference<Thread> waiting = new AtomicReference<>();
+            Future<SmallRyeMetricsHandler.RenderedResponse> second = executor.submit(() -> {
+                waiting.set(Thread.currentThread());
+                return handler.render("GET", "/metrics", ACCEPT_TEXT);
+            });
+            // wait until the second request joins the rendering in progress
+            long deadline = System.currentTimeMillis() + 10_000;
+            while ((waiting.get() == null || waiting.get().getState() != Thread.State.WAITING)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, handler.renderings.get());
+            // without a TTL the response is not retained
+            assertEquals(0, handler.responses.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCachedResponseExpires() throws Exception {
+        CountingHandler handler = new CountingHandler(100, () -> {
+        });
+        SmallRyeMetricsHandler.RenderedResponse first = handler.render("GET", "/metrics", ACCEPT_TEXT);
+        assertSame(first, handler.render("GET", "/metrics", ACCEPT_TEXT));
+        assertEquals(1, handler.renderings.get());
+
+        Thread.sleep(200);
+        assertNotSame(first, handler.render("GET", "/metrics", ACCEPT_TEXT));
+        assertEquals(2, handler.renderings.get());
+    }
+
+    @Test
+    public void testNumberOfCachedResponsesIsBounded() throws Exception {
+        CountingHandler handler = new CountingHandler(60_000, () -> {
+        });
+        for (int i = 0; i < SmallRyeMetricsHandler.MAX_CACHED_RESPONSES; i++) {
+            handler.render("GET", "/metrics", Collections.singletonList("type/" + i));
+        }
+        assertEquals(SmallRyeMetricsHandler.MAX_CACHED_RESPONSES, handler.responses.size());
+
+        // none of the cached responses expired, so the new ones are rendered every time
+        List<String> accept = Collections.singletonList("type/other");
+        assertNotSame(handler.render("GET", "/metrics", accept), handler.render("GET", "/metrics", accept));
+        assertEquals(SmallRyeMetricsHandler.MAX_CACHED_RESPONSES + 2, handler.renderings.get());
+        assertEquals(SmallRyeMetricsHandler.MAX_CACHED_RESPONSES, handler.responses.size());
+    }
+
+    interface Action {
+        void run() throws Exception;
+    }
+
+    static final class CountingHandler extends SmallRyeMetricsHandler {
+
+        final AtomicInteger renderings = new AtomicInteger();
+        private final long cacheTtl;
+        private final Action action;
+
+        CountingHandler(long cacheTtl, Action action) {
+            this.cacheTtl = cacheTtl;
+            this.action = action;
+            setCacheTtl(cacheTtl);
+        }
+
+        @Override
+        RenderedResponse doRender(String method, String path, List<String> acceptHeaders) {
+            renderings.incrementAndGet();
+            try {
+                action.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return new RenderedResponse(200, Collections.emptyMap(), Buffer.buffer("metrics"),
+                    System.currentTimeMillis() + cacheTtl);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.quarkus.smallrye.metrics.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.smallrye.metrics.runtime.HttpServerMetricsHandler;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.smallrye.metrics.MetricRegistries;
+import io.vertx.ext.web.Router;
+
+public class HttpServerMetricsTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(Routes.class)
+                    .addAsResource(new StringAsset("quarkus.smallrye-metrics.http-server.enabled=true\n"),
+                            "application.properties"));
+
+    @Test
+    public void testLatencyIsRecordedPerRoute() {
+        RestAssured.when().get("/hello/world").then().statusCode(200);
+        RestAssured.when().get("/hello/quarkus").then().statusCode(200);
+        RestAssured.when().get("/templated/1").then().statusCode(200);
+
+        MetricRegistry registry = MetricRegistries.get(MetricRegistry.Type.VENDOR);
+        assertEquals(2, latency(registry, "/hello/:name").getCount());
+        assertEquals(1, latency(registry, "/items/{id}").getCount());
+        assertNull(registry.getHistograms().get(route("/hello/world")));
+
+        Gauge<?> active = registry.getGauges().get(new MetricID("http.server.active"));
+        assertNotNull(active);
+        assertEquals(0L, ((Number) active.getValue()).longValue());
+    }
+
+    private static Histogram latency(MetricRegistry registry, String template) {
+        Histogram histogram = registry.getHistograms().get(route(template));
+        assertNotNull(histogram, template);
+        return histogram;
+    }
+
+    private static MetricID route(String template) {
+        return new MetricID("http.server.latency", new Tag("route", template));
+    }
+
+    @ApplicationScoped
+    static class Routes {
+
+        void register(@Observes Router router) {
+            router.get("/hello/:name").handler(rc -> rc.response().end("hello " + rc.pathParam("name")));
+            router.get("/templated/:id").handler(rc -> {
+                rc.put(HttpServerMetricsHandler.ROUTE_TEMPLATE, "/items/{id}");
+                rc.response().end("item " + rc.pathParam("id"));
+            });
+        }
+    }
+}
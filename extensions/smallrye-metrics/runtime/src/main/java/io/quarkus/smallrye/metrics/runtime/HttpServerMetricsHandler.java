@@ -0,0 +1,151 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * A filter that records the number of active HTTP requests and the latency of the requests per route template.
+ * <p>
+ * The route template of a request is the path of the route that ended the response, e.g. {@code /hello/:name}. A
+ * handler may override the template by putting it in the routing context data under {@link #ROUTE_TEMPLATE}. Requests
+ * ended by a route without a path, such as a filter or the default route, are recorded under {@code *}.
+ * <p>
+ * A request whose connection is closed before the response is ended is no longer counted as active, but its latency is
+ * not recorded. HTTP/1.x connections handle one request at a time so the close handler of the connection is used, as the
+ * close handler of the response may be replaced by a handler invoked later. An HTTP/2 stream relies on the close handler
+ * of its response.
+ */
+public class HttpServerMetricsHandler implements Handler<RoutingContext> {
+
+    /**
+     * The key of the routing context data used to override the route template of a request.
+     */
+    public static final String ROUTE_TEMPLATE = "io.quarkus.smallrye.metrics.route-template";
+
+    static final String LATENCY = "http.server.latency";
+    static final String ACTIVE = "http.server.active";
+    static final String ROUTE_TAG = "route";
+    static final String OTHER_ROUTES = "*";
+
+    private static final AtomicIntegerFieldUpdater<ActiveRequest> COMPLETED = AtomicIntegerFieldUpdater
+            .newUpdater(ActiveRequest.class, "completed");
+
+    private final MetricRegistry registry;
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final LongAdder active = new LongAdder();
+    private final Metadata latency;
+
+    public HttpServerMetricsHandler(MetricRegistry registry) {
+        this.registry = registry;
+        this.latency = Metadata.builder()
+                .withName(LATENCY)
+                .withType(MetricType.HISTOGRAM)
+                .withUnit(MetricUnits.MICROSECONDS)
+                .withDisplayName("HTTP Server Request Latency")
+                .withDescription("Displays the time between the start of an HTTP request and the end of its response.")
+                .build();
+        Metadata activeMetadata = Metadata.builder()
+                .withName(ACTIVE)
+                .withType(MetricType.GAUGE)
+                .withDisplayName("Active HTTP Server Requests")
+                .withDescription("Displays the number of HTTP requests whose response has not been ended yet.")
+                .build();
+        registry.register(activeMetadata, new LambdaGauge(this::activeCount));
+    }
+
+    @Override
+    public void handle(RoutingContext routingContext) {
+        ActiveRequest request = new ActiveRequest(routingContext);
+        active.increment();
+        routingContext.addBodyEndHandler(request);
+        HttpServerRequest httpRequest = routingContext.request();
+        if (httpRequest.version() == HttpVersion.HTTP_2) {
+            httpRequest.response().closeHandler(request);
+        } else {
+            // the previous request of the connection has been ended, so its handler does not need to be kept
+            httpRequest.connection().closeHandler(request);
+        }
+        routingContext.next();
+    }
+
+    long activeCount() {
+        return active.sum();
+    }
+
+    void close() {
+        registry.remove(LATENCY);
+        registry.remove(ACTIVE);
+        histograms.clear();
+        active.reset();
+    }
+
+    private static String routeTemplate(RoutingContext routingContext) {
+        String template = routingContext.get(ROUTE_TEMPLATE);
+        if (template != null) {
+            return template;
+        }
+        Route route = routingContext.currentRoute();
+        if (route != null && route.getPath() != null) {
+            return route.getPath();
+        }
+        return OTHER_ROUTES;
+    }
+
+    private LatencyHistogram histogram(String template) {
+        LatencyHistogram histogram = histograms.get(template);
+        if (histogram == null) {
+            // the number of templates is bounded by the number of routes, so this only happens once per route
+            synchronized (this) {
+                histogram = histograms.get(template);
+                if (histogram == null) {
+                    histogram = new LatencyHistogram();
+                    registry.register(latency, histogram, new Tag(ROUTE_TAG, template));
+                    histograms.put(template, histogram);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private final class ActiveRequest implements Handler<Void> {
+
+        private final RoutingContext routingContext;
+        private final long start = System.nanoTime();
+        // not private so that the field updater can access it
+        volatile int completed;
+
+        ActiveRequest(RoutingContext routingContext) {
+            this.routingContext = routingContext;
+        }
+
+        /**
+         * Invoked either when the body of the response has been written or when the connection is closed.
+         */
+        @Override
+        public void handle(Void event) {
+            if (COMPLETED.compareAndSet(this, 0, 1)) {
+                active.decrement();
+                if (routingContext.response().ended()) {
+                    histogram(routeTemplate(routingContext))
+                            .update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                }
+            }
+        }
+    }
+
+}
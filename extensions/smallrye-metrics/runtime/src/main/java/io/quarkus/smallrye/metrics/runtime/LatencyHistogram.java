@@ -0,0 +1,259 @@
+package io.quarkus.smallrye.metrics.runtime;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Snapshot;
+
+/**
+ * A histogram with fixed log-linear buckets, i.e. 16 buckets per power of two, so that any recorded value is kept with
+ * a relative error below 6.25%. Values greater than {@code 2^32 - 1} are recorded as {@code 2^32 - 1}.
+ * <p>
+ * The buckets are striped by the recording thread, so that recording a value does not allocate and threads recording
+ * concurrently, such as the event loops, do not contend on the same counters. The stripes are only merged when a
+ * snapshot is taken.
+ */
+public class LatencyHistogram implements Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 32;
+    static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    static final int BUCKETS = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private static final int COUNT = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    LatencyHistogram(int concurrency) {
+        int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, concurrency - 1)) << 1);
+        stripes = new AtomicLongArray[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS + 2);
+        }
+        stripeMask = count - 1;
+    }
+
+    static int bucket(long value) {
+        if (value < (SUB_BUCKETS << 1)) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long lowestValue(int bucket) {
+        if (bucket < (SUB_BUCKETS << 1)) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return (long) ((bucket & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+    }
+
+    static long highestValue(int bucket) {
+        return bucket == BUCKETS - 1 ? MAX_VALUE : lowestValue(bucket + 1) - 1;
+    }
+
+    /**
+     * @return the value reported for all the values recorded in the given bucket
+     */
+    static long representativeValue(int bucket) {
+        long lowest = lowestValue(bucket);
+        return lowest + ((highestValue(bucket) - lowest) >>> 1);
+    }
+
+    @Override
+    public void update(int value) {
+        update((long) value);
+    }
+
+    @Override
+    public void update(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        stripe.incrementAndGet(bucket(value));
+        stripe.addAndGet(SUM, value);
+        stripe.incrementAndGet(COUNT);
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray stripe : stripes) {
+            count += stripe.get(COUNT);
+        }
+        return count;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        long[] buckets = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucketCount = stripe.get(i);
+                buckets[i] += bucketCount;
+                // the count is computed from the buckets so that it is consistent with them
+                count += bucketCount;
+            }
+            sum += stripe.get(SUM);
+        }
+        return new BucketSnapshot(buckets, count, sum);
+    }
+
+    static final class BucketSnapshot extends Snapshot {
+
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+
+        BucketSnapshot(long[] buckets, long count, long sum) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            if (count == 0) {
+                return 0.0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return representativeValue(i);
+                }
+            }
+            return getMax();
+        }
+
+        /**
+         * @return the representative values of the non-empty buckets in ascending order
+         */
+        @Override
+        public long[] getValues() {
+            int size = 0;
+            for (long bucket : buckets) {
+                if (bucket != 0) {
+                    size++;
+                }
+            }
+            long[] values = new long[size];
+            int idx = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] != 0) {
+                    values[idx++] = representativeValue(i);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public double getMedian() {
+            return getValue(0.5);
+        }
+
+        @Override
+        public double get75thPercentile() {
+            return getValue(0.75);
+        }
+
+        @Override
+        public double get95thPercentile() {
+            return getValue(0.95);
+        }
+
+        @Override
+        public double get98thPercentile() {
+            return getValue(0.98);
+        }
+
+        @Override
+        public double get99thPercentile() {
+            return getValue(0.99);
+        }
+
+        @Override
+        public double get999thPercentile() {
+            return getValue(0.999);
+        }
+
+        @Override
+        public long getMax() {
+            for (int i = buckets.length - 1; i >= 0; i--) {
+                if (buckets[i] != 0) {
+                    return representativeValue(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        @Override
+        public long getMin() {
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] != 0) {
+                    return representativeValue(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public double getStdDev() {
+            if (count <= 1) {
+                return 0.0;
+            }
+            double mean = getMean();
+            double variance = 0.0;
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] != 0) {
+                    double diff = representativeValue(i) - mean;
+                    variance += buckets[i] * diff * diff;
+                }
+            }
+            return Math.sqrt(variance / (count - 1));
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+
+}
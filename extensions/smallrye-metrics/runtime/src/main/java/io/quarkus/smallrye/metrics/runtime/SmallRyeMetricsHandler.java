@@ -1,7 +1,13 @@
 package io.quarkus.smallrye.metrics.runtime;
 
 import java.io.IOException;
-import java.util.stream.Stream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.inject.spi.CDI;
 
@@ -10,13 +16,29 @@ import org.jboss.logging.Logger;
 import io.smallrye.metrics.MetricsRequestHandler;
 import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
+/**
+ * Exports the metrics. The handler is expected to be invoked on a worker thread, as the rendering of a large registry may
+ * take a while.
+ * <p>
+ * Concurrent requests asking for the same format share a single rendering. If a cache TTL is set, the rendered response
+ * is also reused by the requests received until it expires. The response is written in chunks, so that a large response
+ * does not fill up the write queue of the connection.
+ */
 public class SmallRyeMetricsHandler implements Handler<RoutingContext> {
 
+    private static final int CHUNK_SIZE = 64 * 1024;
+    static final int MAX_CACHED_RESPONSES = 16;
+
     private String metricsPath;
+    private long cacheTtl;
+
+    private volatile MetricsRequestHandler internalHandler;
+    final ConcurrentMap<String, CompletableFuture<RenderedResponse>> responses = new ConcurrentHashMap<>();
 
     private static final Logger LOGGER = Logger.getLogger(SmallRyeMetricsHandler.class.getName());
 
@@ -24,24 +46,151 @@ public class SmallRyeMetricsHandler implements Handler<RoutingContext> {
         this.metricsPath = metricsPath;
     }
 
+    /**
+     * @param cacheTtl how long a rendered response is reused in milliseconds, 0 means the response is only shared by
+     *        the concurrent requests
+     */
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
     @Override
     public void handle(RoutingContext routingContext) {
-        MetricsRequestHandler internalHandler = CDI.current().select(MetricsRequestHandler.class).get();
         HttpServerResponse response = routingContext.response();
         HttpServerRequest request = routingContext.request();
-        Stream<String> acceptHeaders = request.headers().getAll("Accept").stream();
+        List<String> acceptHeaders = request.headers().getAll("Accept");
 
+        RenderedResponse rendered;
         try {
-            internalHandler.handleRequest(request.path(), metricsPath, request.rawMethod(), acceptHeaders,
-                    (status, message, headers) -> {
-                        response.setStatusCode(status);
-                        headers.forEach(response::putHeader);
-                        response.end(Buffer.buffer(message));
-                    });
+            rendered = render(request.rawMethod(), request.path(), acceptHeaders);
         } catch (IOException e) {
             response.setStatusCode(503);
             response.end();
             LOGGER.error(e);
+            return;
+        }
+        response.setStatusCode(rendered.status);
+        rendered.headers.forEach(response::putHeader);
+        if (rendered.body.length() <= CHUNK_SIZE) {
+            response.end(rendered.body);
+        } else {
+            response.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(rendered.body.length()));
+            write(response, rendered.body, 0);
+        }
+    }
+
+    private static void write(HttpServerResponse response, Buffer body, int offset) {
+        while (offset < body.length()) {
+            int end = Math.min(offset + CHUNK_SIZE, body.length());
+            // the slices share the bytes of the rendered response
+            response.write(body.slice(offset, end));
+            offset = end;
+            if (response.writeQueueFull() && offset < body.length()) {
+                int next = offset;
+                response.drainHandler(v -> write(response, body, next));
+                return;
+            }
+        }
+        response.end();
+    }
+
+    RenderedResponse render(String method, String path, List<String> acceptHeaders) throws IOException {
+        String key = method + ' ' + path + ' ' + String.join(",", acceptHeaders);
+        while (true) {
+            CompletableFuture<RenderedResponse> existing = responses.get(key);
+            CompletableFuture<RenderedResponse> future;
+            if (existing == null) {
+                if (responses.size() >= MAX_CACHED_RESPONSES) {
+                    // the key depends on the request headers, so do not let the expired responses accumulate
+                    long now = System.currentTimeMillis();
+                    responses.values()
+                            .removeIf(f -> f.isDone() && (f.isCompletedExceptionally() || f.join().isExpired(now)));
+                    if (responses.size() >= MAX_CACHED_RESPONSES) {
+                        // too many distinct requests, the response is neither shared nor cached
+                        return doRender(method, path, acceptHeaders);
+                    }
+                }
+                future = new CompletableFuture<>();
+                if (responses.putIfAbsent(key, future) != null) {
+                    continue;
+                }
+            } else if (!existing.isDone()) {
+                // the response is being rendered by another request
+                return join(existing);
+            } else if (existing.isCompletedExceptionally()) {
+                responses.remove(key, existing);
+                continue;
+            } else if (!existing.join().isExpired(System.currentTimeMillis())) {
+                return existing.join();
+            } else {
+                future = new CompletableFuture<>();
+                if (!responses.replace(key, existing, future)) {
+                    continue;
+                }
+            }
+
+            try {
+                RenderedResponse rendered = doRender(method, path, acceptHeaders);
+                if (cacheTtl <= 0) {
+                    responses.remove(key, future);
+                }
+                future.complete(rendered);
+                return rendered;
+            } catch (Throwable t) {
+                // the requests waiting for the response must not be left hanging
+                responses.remove(key, future);
+                future.completeExceptionally(t);
+                throw t;
+            }
+        }
+    }
+
+    RenderedResponse doRender(String method, String path, List<String> acceptHeaders) throws IOException {
+        MetricsRequestHandler internalHandler = this.internalHandler;
+        if (internalHandler == null) {
+            internalHandler = CDI.current().select(MetricsRequestHandler.class).get();
+            this.internalHandler = internalHandler;
+        }
+        RenderedResponse[] rendered = new RenderedResponse[1];
+        long expiresAt = System.currentTimeMillis() + cacheTtl;
+        internalHandler.handleRequest(path, metricsPath, method, acceptHeaders.stream(),
+                (status, message, headers) -> {
+                    rendered[0] = new RenderedResponse(status, new HashMap<>(headers), Buffer.buffer(message), expiresAt);
+                });
+        if (rendered[0] == null) {
+            throw new IOException("No response rendered for " + method + " " + path);
+        }
+        return rendered[0];
+    }
+
+    private static RenderedResponse join(CompletableFuture<RenderedResponse> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    static final class RenderedResponse {
+
+        final int status;
+        final Map<String, String> headers;
+        final Buffer body;
+        final long expiresAt;
+
+        RenderedResponse(int status, Map<String, String> headers, Buffer body, long expiresAt) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.expiresAt = expiresAt;
         }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
     }
 }
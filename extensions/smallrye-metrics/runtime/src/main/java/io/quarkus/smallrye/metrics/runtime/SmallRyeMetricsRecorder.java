@@ -9,7 +9,10 @@ import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import javax.enterprise.inject.spi.BeanManager;
@@ -22,6 +25,7 @@ import org.eclipse.microprofile.metrics.MetricUnits;
 import org.eclipse.microprofile.metrics.Tag;
 import org.graalvm.nativeimage.ImageInfo;
 import org.jboss.logging.Logger;
+import org.jboss.logmanager.ExtHandler;
 
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.ArcContainer;
@@ -29,14 +33,18 @@ import io.quarkus.arc.InjectableBean;
 import io.quarkus.arc.runtime.BeanContainer;
 import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
+import io.quarkus.runtime.logging.BatchingAsyncHandler;
+import io.quarkus.runtime.logging.InitialConfigurator;
 import io.smallrye.metrics.MetricRegistries;
 import io.smallrye.metrics.TagsUtils;
 import io.smallrye.metrics.elementdesc.BeanInfo;
 import io.smallrye.metrics.elementdesc.MemberInfo;
 import io.smallrye.metrics.interceptors.MetricResolver;
 import io.smallrye.metrics.setup.MetricsMetadata;
+import io.vertx.core.Handler;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 
 @Recorder
 public class SmallRyeMetricsRecorder {
@@ -73,6 +81,10 @@ public class SmallRyeMetricsRecorder {
     private static final String MEMORY_USED_HEAP = "memory.usedHeap";
     private static final String MEMORY_USED_NON_HEAP = "memory.usedNonHeap";
 
+    // logging
+    private static final String LOG_ASYNC_OVERFLOWS = "log.async.overflows";
+    private static final String LOG_ASYNC_DROPPED = "log.async.dropped";
+
     public Function<Router, Route> route(String name) {
         return new Function<Router, Route>() {
             @Override
@@ -82,9 +94,16 @@ public class SmallRyeMetricsRecorder {
         };
     }
 
-    public SmallRyeMetricsHandler handler(String metricsPath) {
+    public SmallRyeMetricsHandler handler(String metricsPath, long cacheTtl) {
         SmallRyeMetricsHandler handler = new SmallRyeMetricsHandler();
         handler.setMetricsPath(metricsPath);
+        handler.setCacheTtl(cacheTtl);
+        return handler;
+    }
+
+    public Handler<RoutingContext> httpServerMetricsHandler(ShutdownContext shutdown) {
+        HttpServerMetricsHandler handler = new HttpServerMetricsHandler(MetricRegistries.get(MetricRegistry.Type.VENDOR));
+        shutdown.addShutdownTask(handler::close);
         return handler;
     }
 
@@ -95,6 +114,7 @@ public class SmallRyeMetricsRecorder {
         memoryPoolMetrics(registry, names);
         vendorSpecificMemoryMetrics(registry, names);
         vendorOperatingSystemMetrics(registry, names);
+        asyncLoggingMetrics(registry, names);
 
         if (!names.isEmpty()) {
             shutdown.addShutdownTask(() -> {
@@ -293,6 +313,67 @@ public class SmallRyeMetricsRecorder {
         }
     }
 
+    private void asyncLoggingMetrics(MetricRegistry registry, List<String> names) {
+        // the handlers are looked up when the counters are read, as the logging may be set up after the metrics
+        Metadata meta = Metadata.builder()
+                .withName(LOG_ASYNC_OVERFLOWS)
+                .withType(MetricType.COUNTER)
+                .withDisplayName("Async log queue overflows")
+                .withDescription("Displays the number of log records that did not fit in the queue of a batching " +
+                        "asynchronous log handler.")
+                .build();
+        registry.register(meta, new LambdaCounter(() -> {
+            long count = 0;
+            for (BatchingAsyncHandler handler : batchingAsyncHandlers()) {
+                count += handler.getOverflowCount();
+            }
+            return count;
+        }));
+        names.add(LOG_ASYNC_OVERFLOWS);
+
+        meta = Metadata.builder()
+                .withName(LOG_ASYNC_DROPPED)
+                .withType(MetricType.COUNTER)
+                .withDisplayName("Dropped async log records")
+                .withDescription("Displays the number of log records dropped because the queue of a batching " +
+                        "asynchronous log handler was full.")
+                .build();
+        registry.register(meta, new LambdaCounter(() -> {
+            long count = 0;
+            for (BatchingAsyncHandler handler : batchingAsyncHandlers()) {
+                count += handler.getDroppedCount();
+            }
+            return count;
+        }));
+        names.add(LOG_ASYNC_DROPPED);
+    }
+
+    private static List<BatchingAsyncHandler> batchingAsyncHandlers() {
+        List<BatchingAsyncHandler> handlers = new ArrayList<>();
+        collectBatchingAsyncHandlers(InitialConfigurator.DELAYED_HANDLER, handlers,
+                Collections.newSetFromMap(new IdentityHashMap<>()));
+        return handlers;
+    }
+
+    /**
+     * The batching handlers may be nested, e.g. in a handler contributed by an extension, so the whole tree of handlers
+     * is searched.
+     */
+    private static void collectBatchingAsyncHandlers(ExtHandler parent, List<BatchingAsyncHandler> handlers,
+            Set<java.util.logging.Handler> visited) {
+        for (java.util.logging.Handler handler : parent.getHandlers()) {
+            if (!visited.add(handler)) {
+                continue;
+            }
+            if (handler instanceof BatchingAsyncHandler) {
+                handlers.add((BatchingAsyncHandler) handler);
+            }
+            if (handler instanceof ExtHandler) {
+                collectBatchingAsyncHandlers((ExtHandler) handler, handlers, visited);
+            }
+        }
+    }
+
     private void vendorOperatingSystemMetrics(MetricRegistry registry, List<String> names) {
         OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
 
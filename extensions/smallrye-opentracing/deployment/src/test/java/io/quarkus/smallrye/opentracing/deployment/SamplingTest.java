@@ -0,0 +1,298 @@
+package io.quarkus.smallrye.opentracing.deployment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.opentracing.Scope;
+import io.opentracing.ScopeManager;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.tag.Tags;
+import io.opentracing.util.GlobalTracerTestUtil;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.restassured.parsing.Parser;
+
+/**
+ * The Jaeger spans that are not sampled discard their tags, so the tags set on the server spans are recorded before they
+ * reach the Jaeger span.
+ */
+public class SamplingTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClass(TestResource.class)
+                    .addClass(Service.class)
+                    .addClass(RestService.class)
+                    .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml"));
+
+    static final InMemoryReporter reporter = new InMemoryReporter();
+    static final List<String> tags = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void after() {
+        reporter.clear();
+        tags.clear();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        GlobalTracerTestUtil.resetGlobalTracer();
+    }
+
+    @Test
+    public void testTagsAreSkippedIfNotSampled() {
+        get(false);
+        // set by the standard decorator
+        Assertions.assertFalse(tags.contains(Tags.HTTP_METHOD.getKey()), tags.toString());
+        Assertions.assertFalse(tags.contains(Tags.HTTP_URL.getKey()), tags.toString());
+        // also set by the filter that finishes the span in the standalone Vert.x mode
+        Assertions.assertFalse(tags.contains(Tags.HTTP_STATUS.getKey()), tags.toString());
+    }
+
+    @Test
+    public void testTagsAreWrittenIfSampled() {
+        JaegerSpan span = get(true);
+        Assertions.assertTrue(tags.contains(Tags.HTTP_METHOD.getKey()), tags.toString());
+        Assertions.assertTrue(tags.contains(Tags.HTTP_URL.getKey()), tags.toString());
+        Assertions.assertTrue(tags.contains(Tags.HTTP_STATUS.getKey()), tags.toString());
+        Assertions.assertEquals("GET", span.getTags().get(Tags.HTTP_METHOD.getKey()));
+        Assertions.assertEquals(200, span.getTags().get(Tags.HTTP_STATUS.getKey()));
+    }
+
+    private static JaegerSpan get(boolean sampled) {
+        // the JAX-RS filters use the global tracer, which delegates to the tracer registered last
+        GlobalTracerTestUtil.setGlobalTracerUnconditionally(new RecordingTracer(new JaegerTracer.Builder("sampling-test")
+                .withSampler(new ConstSampler(sampled))
+                .withReporter(reporter)
+                .build()));
+        try {
+            RestAssured.defaultParser = Parser.TEXT;
+            RestAssured.when().get("/hello")
+                    .then()
+                    .statusCode(200);
+        } finally {
+            RestAssured.reset();
+        }
+        List<JaegerSpan> spans = reporter.getSpans();
+        Assertions.assertEquals(1, spans.size());
+        Assertions.assertEquals(sampled, spans.get(0).context().isSampled());
+        return spans.get(0);
+    }
+
+    /**
+     * Records the keys of the tags set on the spans and delegates to a Jaeger tracer.
+     */
+    static class RecordingTracer implements Tracer {
+
+        private final Tracer delegate;
+
+        RecordingTracer(Tracer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ScopeManager scopeManager() {
+            return delegate.scopeManager();
+        }
+
+        @Override
+        public Span activeSpan() {
+            return delegate.activeSpan();
+        }
+
+        @Override
+        public SpanBuilder buildSpan(String operationName) {
+            return new RecordingSpanBuilder(delegate.buildSpan(operationName));
+        }
+
+        @Override
+        public <C> void inject(SpanContext spanContext, Format<C> format, C carrier) {
+            delegate.inject(spanContext, format, carrier);
+        }
+
+        @Override
+        public <C> SpanContext extract(Format<C> format, C carrier) {
+            return delegate.extract(format, carrier);
+        }
+
+        class RecordingSpanBuilder implements SpanBuilder {
+
+            private final SpanBuilder delegate;
+
+            RecordingSpanBuilder(SpanBuilder delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public SpanBuilder asChildOf(SpanContext parent) {
+                delegate.asChildOf(parent);
+                return this;
+            }
+
+            @Override
+            public SpanBuilder asChildOf(Span parent) {
+                delegate.asChildOf(parent == null ? null : parent.context());
+                return this;
+            }
+
+            @Override
+            public SpanBuilder addReference(String referenceType, SpanContext referencedContext) {
+                delegate.addReference(referenceType, referencedContext);
+                return this;
+            }
+
+            @Override
+            public SpanBuilder ignoreActiveSpan() {
+                delegate.ignoreActiveSpan();
+                return this;
+            }
+
+            @Override
+            public SpanBuilder withTag(String key, String value) {
+                delegate.withTag(key, value);
+                return this;
+            }
+
+            @Override
+            public SpanBuilder withTag(String key, boolean value) {
+                delegate.withTag(key, value);
+                return this;
+            }
+
+            @Override
+            public SpanBuilder withTag(String key, Number value) {
+                delegate.withTag(key, value);
+                return this;
+            }
+
+            @Override
+            public SpanBuilder withStartTimestamp(long microseconds) {
+                delegate.withStartTimestamp(microseconds);
+                return this;
+            }
+
+            @Override
+            public Scope startActive(boolean finishSpanOnClose) {
+                return scopeManager().activate(start(), finishSpanOnClose);
+            }
+
+            @SuppressWarnings("deprecation")
+            @Override
+            public Span startManual() {
+                return start();
+            }
+
+            @Override
+            public Span start() {
+                return new RecordingSpan(delegate.start());
+            }
+
+        }
+
+    }
+
+    static class RecordingSpan implements Span {
+
+        private final Span delegate;
+
+        RecordingSpan(Span delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SpanContext context() {
+            return delegate.context();
+        }
+
+        @Override
+        public Span setTag(String key, String value) {
+            tags.add(key);
+            delegate.setTag(key, value);
+            return this;
+        }
+
+        @Override
+        public Span setTag(String key, boolean value) {
+            tags.add(key);
+            delegate.setTag(key, value);
+            return this;
+        }
+
+        @Override
+        public Span setTag(String key, Number value) {
+            tags.add(key);
+            delegate.setTag(key, value);
+            return this;
+        }
+
+        @Override
+        public Span log(Map<String, ?> fields) {
+            delegate.log(fields);
+            return this;
+        }
+
+        @Override
+        public Span log(long timestampMicroseconds, Map<String, ?> fields) {
+            delegate.log(timestampMicroseconds, fields);
+            return this;
+        }
+
+        @Override
+        public Span log(String event) {
+            delegate.log(event);
+            return this;
+        }
+
+        @Override
+        public Span log(long timestampMicroseconds, String event) {
+            delegate.log(timestampMicroseconds, event);
+            return this;
+        }
+
+        @Override
+        public Span setBaggageItem(String key, String value) {
+            delegate.setBaggageItem(key, value);
+            return this;
+        }
+
+        @Override
+        public String getBaggageItem(String key) {
+            return delegate.getBaggageItem(key);
+        }
+
+        @Override
+        public Span setOperationName(String operationName) {
+            delegate.setOperationName(operationName);
+            return this;
+        }
+
+        @Override
+        public void finish() {
+            delegate.finish();
+        }
+
+        @Override
+        public void finish(long finishMicros) {
+            delegate.finish(finishMicros);
+        }
+
+    }
+}
@@ -1,5 +1,6 @@
 package io.quarkus.smallrye.opentracing.runtime;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import javax.enterprise.inject.spi.CDI;
@@ -14,6 +15,7 @@ import org.jboss.logging.Logger;
 
 import io.opentracing.Tracer;
 import io.opentracing.contrib.jaxrs2.server.OperationNameProvider;
+import io.opentracing.contrib.jaxrs2.server.ServerSpanDecorator;
 import io.opentracing.contrib.jaxrs2.server.ServerTracingDynamicFeature;
 
 @Provider
@@ -33,7 +35,9 @@ public class QuarkusSmallRyeTracingDynamicFeature implements DynamicFeature {
         ServerTracingDynamicFeature.Builder builder = new ServerTracingDynamicFeature.Builder(
                 CDI.current().select(Tracer.class).get())
                         .withOperationNameProvider(OperationNameProvider.ClassNameOperationName.newBuilder())
-                        .withTraceSerialization(false);
+                        .withTraceSerialization(false)
+                        .withDecorators(Collections.singletonList(
+                                new SamplingAwareServerSpanDecorator(ServerSpanDecorator.STANDARD_TAGS)));
         if (skipPattern.isPresent()) {
             builder.withSkipPattern(skipPattern.get());
         }
@@ -47,9 +47,12 @@ public class QuarkusSmallRyeTracingStandaloneVertxDynamicFeature implements Dyna
                     SpanWrapper wrapper = routingContext.get(SpanWrapper.PROPERTY_NAME);
                     if (wrapper != null) {
                         wrapper.getScope().close();
-                        Tags.HTTP_STATUS.set(wrapper.get(), routingContext.response().getStatusCode());
-                        if (routingContext.failure() != null) {
-                            addExceptionLogs(wrapper.get(), routingContext.failure());
+                        // the tags and logs of a span that is not sampled would be discarded
+                        if (SamplingAwareServerSpanDecorator.isSampled(wrapper.get())) {
+                            Tags.HTTP_STATUS.set(wrapper.get(), routingContext.response().getStatusCode());
+                            if (routingContext.failure() != null) {
+                                addExceptionLogs(wrapper.get(), routingContext.failure());
+                            }
                         }
                         wrapper.finish();
                     }
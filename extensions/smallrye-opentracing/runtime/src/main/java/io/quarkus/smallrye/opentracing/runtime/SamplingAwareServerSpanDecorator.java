@@ -0,0 +1,47 @@
+package io.quarkus.smallrye.opentracing.runtime;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.contrib.jaxrs2.server.ServerSpanDecorator;
+
+/**
+ * Decorates the server spans only if they are sampled.
+ * <p>
+ * The Jaeger tracer discards the tags of a span that is not sampled, so computing them, e.g. the request URL, is wasted
+ * work on the request thread. The span itself is still created, as its context is propagated to the downstream
+ * services.
+ */
+public class SamplingAwareServerSpanDecorator implements ServerSpanDecorator {
+
+    private final ServerSpanDecorator delegate;
+
+    public SamplingAwareServerSpanDecorator(ServerSpanDecorator delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return {@code false} if the span is known not to be sampled
+     */
+    static boolean isSampled(Span span) {
+        SpanContext context = span.context();
+        return !(context instanceof JaegerSpanContext) || ((JaegerSpanContext) context).isSampled();
+    }
+
+    @Override
+    public void decorateRequest(ContainerRequestContext requestContext, Span span) {
+        if (isSampled(span)) {
+            delegate.decorateRequest(requestContext, span);
+        }
+    }
+
+    @Override
+    public void decorateResponse(ContainerResponseContext responseContext, Span span) {
+        if (isSampled(span)) {
+            delegate.decorateResponse(responseContext, span);
+        }
+    }
+}
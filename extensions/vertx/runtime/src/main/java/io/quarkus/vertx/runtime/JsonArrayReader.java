@@ -14,6 +14,8 @@ import javax.ws.rs.core.NoContentException;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.Provider;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 
@@ -32,6 +34,14 @@ public class JsonArrayReader implements MessageBodyReader<JsonArray> {
     @Override
     public JsonArray readFrom(Class<JsonArray> type, Type genericType, Annotation[] annotations, MediaType mediaType,
             MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+        if (entityStream instanceof ByteBufHolder) {
+            // the content is already available in a buffer - no need to copy it
+            ByteBuf content = ((ByteBufHolder) entityStream).content();
+            if (!content.isReadable()) {
+                throw new NoContentException("Cannot create JsonArray");
+            }
+            return new JsonArray(Buffer.buffer(content.slice()));
+        }
         byte[] bytes = getBytes(entityStream);
         if (bytes.length == 0) {
             throw new NoContentException("Cannot create JsonArray");
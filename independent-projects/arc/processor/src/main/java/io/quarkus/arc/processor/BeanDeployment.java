@@ -7,6 +7,7 @@ import io.quarkus.arc.processor.BeanProcessor.BuildContextImpl;
 import io.quarkus.arc.processor.BeanRegistrar.RegistrationContext;
 import io.quarkus.arc.processor.BuildExtension.BuildContext;
 import io.quarkus.arc.processor.BuildExtension.Key;
+import io.quarkus.arc.processor.InjectionPointInfo.TypeAndQualifiers;
 import io.quarkus.gizmo.MethodCreator;
 import io.quarkus.gizmo.ResultHandle;
 import java.lang.annotation.Annotation;
@@ -84,6 +85,10 @@ public class BeanDeployment {
 
     private final List<InjectionPointInfo> injectionPoints;
 
+    // Programmatic lookups resolved at build time, an Instance<T> injection point is assigned the index of its lookup
+    private final List<List<BeanInfo>> lookups;
+    private final Map<InjectionPointInfo, Integer> lookupIndexes;
+
     private final boolean removeUnusedBeans;
     private final List<Predicate<BeanInfo>> unusedExclusions;
     private final Set<BeanInfo> removedBeans;
@@ -155,6 +160,8 @@ public class BeanDeployment {
                 new HashMap<>(), interceptorBindings, annotationStore);
 
         this.injectionPoints = new CopyOnWriteArrayList<>();
+        this.lookups = new ArrayList<>();
+        this.lookupIndexes = new HashMap<>();
         this.interceptors = new CopyOnWriteArrayList<>();
         this.beans = new CopyOnWriteArrayList<>();
         this.observers = new CopyOnWriteArrayList<>();
@@ -306,6 +313,8 @@ public class BeanDeployment {
 
         buildContext.putInternal(BuildExtension.Key.REMOVED_BEANS.asString(), Collections.unmodifiableSet(removedBeans));
 
+        initLookups();
+
         LOGGER.debugf("Bean deployment initialized in %s ms", System.currentTimeMillis() - start);
     }
 
@@ -327,6 +336,24 @@ public class BeanDeployment {
         return Collections.unmodifiableList(beans);
     }
 
+    /**
+     *
+     * @return the beans resolved for the programmatic lookups, in the order of their indexes
+     */
+    List<List<BeanInfo>> getLookups() {
+        return Collections.unmodifiableList(lookups);
+    }
+
+    /**
+     *
+     * @param injectionPoint
+     * @return the index of the lookup resolved for the given {@code Instance<T>} injection point or -1
+     */
+    int getLookupIndex(InjectionPointInfo injectionPoint) {
+        Integer index = lookupIndexes.get(injectionPoint);
+        return index != null ? index : -1;
+    }
+
     public Collection<BeanInfo> getRemovedBeans() {
         return Collections.unmodifiableSet(removedBeans);
     }
@@ -912,6 +939,67 @@ public class BeanDeployment {
         return interceptors;
     }
 
+    private void initLookups() {
+        Map<String, Integer> keyToIndex = new HashMap<>();
+        for (InjectionPointInfo injectionPoint : injectionPoints) {
+            // Instance<Foo>
+            if (!BuiltinBean.INSTANCE.matches(injectionPoint)
+                    || injectionPoint.getRequiredType().kind() != Type.Kind.PARAMETERIZED_TYPE) {
+                continue;
+            }
+            Type lookupType = injectionPoint.getRequiredType().asParameterizedType().arguments().get(0);
+            if (!isLookupType(lookupType)) {
+                continue;
+            }
+            // AnnotationInstance#equals() takes the annotation target into account
+            String key = lookupType + injectionPoint.getRequiredQualifiers().stream()
+                    .map(q -> q.name() + q.values().toString()).sorted().collect(Collectors.joining(",", "[", "]"));
+            Integer index = keyToIndex.get(key);
+            if (index == null) {
+                List<BeanInfo> resolved = beanResolver
+                        .resolve(new TypeAndQualifiers(lookupType, injectionPoint.getRequiredQualifiers()));
+                if (resolved.size() > 1) {
+                    // The container keeps all the matching beans if the ambiguity cannot be resolved
+                    BeanInfo selected = Beans.resolveAmbiguity(resolved);
+                    if (selected != null) {
+                        resolved = Collections.singletonList(selected);
+                    }
+                }
+                index = lookups.size();
+                lookups.add(resolved);
+                keyToIndex.put(key, index);
+            }
+            lookupIndexes.put(injectionPoint, index);
+        }
+        LOGGER.debugf("%s programmatic lookups resolved at build time", lookups.size());
+    }
+
+    private static boolean isLookupType(Type type) {
+        // The built-in beans registered by the container match these types at runtime
+        if (DotNames.OBJECT.equals(type.name()) || DotNames.INSTANCE.equals(type.name())
+                || DotNames.EVENT.equals(type.name()) || DotNames.BEAN_MANAGER.equals(type.name())) {
+            return false;
+        }
+        return isResolvable(type);
+    }
+
+    private static boolean isResolvable(Type type) {
+        // Type variables and wildcards are not resolved at build time
+        switch (type.kind()) {
+            case CLASS:
+                return true;
+            case PARAMETERIZED_TYPE:
+                for (Type argument : type.asParameterizedType().arguments()) {
+                    if (!isResolvable(argument)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private void validateBeans(List<Throwable> errors, List<BeanDeploymentValidator> validators) {
         Map<String, List<BeanInfo>> namedBeans = new HashMap<>();
 
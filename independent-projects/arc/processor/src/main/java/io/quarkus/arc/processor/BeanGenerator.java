@@ -88,11 +88,19 @@ public class BeanGenerator extends AbstractGenerator {
 
     protected final PrivateMembersCollector privateMembers;
 
+    protected final Map<BeanInfo, Integer> requestContextIndexes;
+
     public BeanGenerator(AnnotationLiteralProcessor annotationLiterals, Predicate<DotName> applicationClassPredicate,
             PrivateMembersCollector privateMembers) {
+        this(annotationLiterals, applicationClassPredicate, privateMembers, Collections.emptyMap());
+    }
+
+    public BeanGenerator(AnnotationLiteralProcessor annotationLiterals, Predicate<DotName> applicationClassPredicate,
+            PrivateMembersCollector privateMembers, Map<BeanInfo, Integer> requestContextIndexes) {
         this.annotationLiterals = annotationLiterals;
         this.applicationClassPredicate = applicationClassPredicate;
         this.privateMembers = privateMembers;
+        this.requestContextIndexes = requestContextIndexes;
     }
 
     /**
@@ -209,6 +217,9 @@ public class BeanGenerator extends AbstractGenerator {
         if (!BuiltinScope.isDefault(bean.getScope())) {
             implementGetScope(bean, beanCreator);
         }
+        if (requestContextIndexes.containsKey(bean)) {
+            implementGetRequestContextIndex(bean, beanCreator);
+        }
         if (qualifiers != null) {
             implementGetQualifiers(bean, beanCreator, qualifiers.getFieldDescriptor());
         }
@@ -290,6 +301,9 @@ public class BeanGenerator extends AbstractGenerator {
         if (!BuiltinScope.isDefault(bean.getScope())) {
             implementGetScope(bean, beanCreator);
         }
+        if (requestContextIndexes.containsKey(bean)) {
+            implementGetRequestContextIndex(bean, beanCreator);
+        }
         if (qualifiers != null) {
             implementGetQualifiers(bean, beanCreator, qualifiers.getFieldDescriptor());
         }
@@ -385,6 +399,9 @@ public class BeanGenerator extends AbstractGenerator {
         if (!BuiltinScope.isDefault(bean.getScope())) {
             implementGetScope(bean, beanCreator);
         }
+        if (requestContextIndexes.containsKey(bean)) {
+            implementGetRequestContextIndex(bean, beanCreator);
+        }
         if (qualifiers != null) {
             implementGetQualifiers(bean, beanCreator, qualifiers.getFieldDescriptor());
         }
@@ -466,6 +483,9 @@ public class BeanGenerator extends AbstractGenerator {
         if (!BuiltinScope.isDefault(bean.getScope())) {
             implementGetScope(bean, beanCreator);
         }
+        if (requestContextIndexes.containsKey(bean)) {
+            implementGetRequestContextIndex(bean, beanCreator);
+        }
         if (qualifiers != null) {
             implementGetQualifiers(bean, beanCreator, qualifiers.getFieldDescriptor());
         }
@@ -1475,6 +1495,17 @@ public class BeanGenerator extends AbstractGenerator {
         getScope.returnValue(getScope.loadClass(bean.getScope().getDotName().toString()));
     }
 
+    /**
+     *
+     * @param bean
+     * @param beanCreator
+     * @see InjectableBean#getRequestContextIndex()
+     */
+    protected void implementGetRequestContextIndex(BeanInfo bean, ClassCreator beanCreator) {
+        MethodCreator getIndex = beanCreator.getMethodCreator("getRequestContextIndex", int.class).setModifiers(ACC_PUBLIC);
+        getIndex.returnValue(getIndex.load(requestContextIndexes.get(bean).intValue()));
+    }
+
     /**
      *
      * @param bean
@@ -130,7 +130,15 @@ public class BeanProcessor {
         PrivateMembersCollector privateMembers = new PrivateMembersCollector();
         AnnotationLiteralProcessor annotationLiterals = new AnnotationLiteralProcessor(sharedAnnotationLiterals,
                 applicationClassPredicate);
-        BeanGenerator beanGenerator = new BeanGenerator(annotationLiterals, applicationClassPredicate, privateMembers);
+        // Request scoped beans are assigned a dense index so that the request context can store the instances in an array
+        Map<BeanInfo, Integer> requestContextIndexes = new HashMap<>();
+        for (BeanInfo bean : beanDeployment.getBeans()) {
+            if (BuiltinScope.REQUEST.is(bean.getScope())) {
+                requestContextIndexes.put(bean, requestContextIndexes.size());
+            }
+        }
+        BeanGenerator beanGenerator = new BeanGenerator(annotationLiterals, applicationClassPredicate, privateMembers,
+                requestContextIndexes);
         ClientProxyGenerator clientProxyGenerator = new ClientProxyGenerator(applicationClassPredicate);
         InterceptorGenerator interceptorGenerator = new InterceptorGenerator(annotationLiterals, applicationClassPredicate,
                 privateMembers);
@@ -188,7 +196,7 @@ public class BeanProcessor {
         // Generate _ComponentsProvider
         resources.addAll(
                 new ComponentsProviderGenerator(annotationLiterals).generate(name, beanDeployment, beanToGeneratedName,
-                        observerToGeneratedName));
+                        observerToGeneratedName, requestContextIndexes.size()));
 
         // Generate AnnotationLiterals
         if (annotationLiterals.hasLiteralsToGenerate()) {
@@ -44,9 +44,10 @@ enum BuiltinBean {
         ResultHandle javaMemberHandle = BeanGenerator.getJavaMemberHandle(ctx.constructor, ctx.injectionPoint);
         ResultHandle instanceProvider = ctx.constructor.newInstance(
                 MethodDescriptor.ofConstructor(InstanceProvider.class, java.lang.reflect.Type.class, Set.class,
-                        InjectableBean.class, Set.class, Member.class, int.class),
+                        InjectableBean.class, Set.class, Member.class, int.class, int.class),
                 parameterizedType, qualifiers, ctx.constructor.getThis(), annotationsHandle, javaMemberHandle,
-                ctx.constructor.load(ctx.injectionPoint.getPosition()));
+                ctx.constructor.load(ctx.injectionPoint.getPosition()),
+                ctx.constructor.load(ctx.beanDeployment.getLookupIndex(ctx.injectionPoint)));
         ResultHandle instanceProviderSupplier = ctx.constructor.newInstance(
                 MethodDescriptors.FIXED_VALUE_SUPPLIER_CONSTRUCTOR, instanceProvider);
         ctx.constructor.writeInstanceField(
@@ -41,6 +41,7 @@ public class ComponentsProviderGenerator extends AbstractGenerator {
     static final String SETUP_PACKAGE = Arc.class.getPackage().getName() + ".setup";
     static final String ADD_OBSERVERS = "addObservers";
     static final String ADD_BEANS = "addBeans";
+    static final String ADD_LOOKUPS = "addLookups";
 
     protected final AnnotationLiteralProcessor annotationLiterals;
 
@@ -54,10 +55,11 @@ public class ComponentsProviderGenerator extends AbstractGenerator {
      * @param beanDeployment
      * @param beanToGeneratedName
      * @param observerToGeneratedName
+     * @param requestContextSize the number of request scoped beans
      * @return a collection of resources
      */
     Collection<Resource> generate(String name, BeanDeployment beanDeployment, Map<BeanInfo, String> beanToGeneratedName,
-            Map<ObserverInfo, String> observerToGeneratedName) {
+            Map<ObserverInfo, String> observerToGeneratedName, int requestContextSize) {
 
         ResourceClassOutput classOutput = new ResourceClassOutput(true);
 
@@ -106,14 +108,19 @@ public class ComponentsProviderGenerator extends AbstractGenerator {
                     getComponents.loadClass(entry.getKey().toString()), bindingsHandle);
         }
 
+        // Programmatic lookups resolved at build time, indexed by the position in the list
+        ResultHandle lookupsHandle = getComponents.newInstance(MethodDescriptor.ofConstructor(ArrayList.class));
+        processLookups(componentsProvider, getComponents, beanDeployment, beanIdToBeanHandle, lookupsHandle);
+
         ResultHandle beansHandle = getComponents.invokeInterfaceMethod(
                 MethodDescriptor.ofMethod(Map.class, "values", Collection.class),
                 beanIdToBeanHandle);
 
         ResultHandle componentsHandle = getComponents.newInstance(
                 MethodDescriptor.ofConstructor(Components.class, Collection.class, Collection.class, Collection.class,
-                        Map.class),
-                beansHandle, observersHandle, contextsHandle, transitiveBindingsHandle);
+                        Map.class, int.class, List.class),
+                beansHandle, observersHandle, contextsHandle, transitiveBindingsHandle,
+                getComponents.load(requestContextSize), lookupsHandle);
         getComponents.returnValue(componentsHandle);
 
         // Finally write the bytecode
@@ -197,6 +204,15 @@ public class ComponentsProviderGenerator extends AbstractGenerator {
         }
     }
 
+    private void processLookups(ClassCreator componentsProvider, MethodCreator getComponents, BeanDeployment beanDeployment,
+            ResultHandle beanIdToBeanHandle, ResultHandle lookupsHandle) {
+        try (LookupAdder lookupAdder = new LookupAdder(componentsProvider, getComponents)) {
+            for (List<BeanInfo> lookup : beanDeployment.getLookups()) {
+                lookupAdder.addLookup(lookup, beanIdToBeanHandle, lookupsHandle);
+            }
+        }
+    }
+
     private Map<BeanInfo, List<BeanInfo>> initBeanToInjections(BeanDeployment beanDeployment) {
         Map<BeanInfo, List<BeanInfo>> beanToInjections = new HashMap<>();
         for (BeanInfo bean : beanDeployment.getBeans()) {
@@ -264,6 +280,70 @@ public class ComponentsProviderGenerator extends AbstractGenerator {
         return false;
     }
 
+    static class LookupAdder implements AutoCloseable {
+
+        private static final int GROUP_LIMIT = 30;
+        private int group;
+        private int lookupsAdded;
+        private MethodCreator addLookupsMethod;
+        private final MethodCreator getComponentsMethod;
+        private final ClassCreator componentsProvider;
+
+        public LookupAdder(ClassCreator componentsProvider, MethodCreator getComponentsMethod) {
+            this.group = 1;
+            this.getComponentsMethod = getComponentsMethod;
+            this.componentsProvider = componentsProvider;
+        }
+
+        public void close() {
+            if (addLookupsMethod != null) {
+                addLookupsMethod.returnValue(null);
+            }
+        }
+
+        void addLookup(List<BeanInfo> resolved, ResultHandle beanIdToBeanHandle, ResultHandle lookupsHandle) {
+
+            if (addLookupsMethod == null || lookupsAdded >= GROUP_LIMIT) {
+                if (addLookupsMethod != null) {
+                    addLookupsMethod.returnValue(null);
+                }
+                lookupsAdded = 0;
+                // First add next addLookups(map, list) method
+                addLookupsMethod = componentsProvider
+                        .getMethodCreator(ADD_LOOKUPS + group++, void.class, Map.class, List.class)
+                        .setModifiers(ACC_PRIVATE);
+                // Invoke addLookups(map, list) inside the getComponents() method
+                getComponentsMethod.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(componentsProvider.getClassName(),
+                                addLookupsMethod.getMethodDescriptor().getName(), void.class, Map.class, List.class),
+                        getComponentsMethod.getThis(), beanIdToBeanHandle, lookupsHandle);
+            }
+            lookupsAdded++;
+
+            // Append to the addLookups() method body
+            beanIdToBeanHandle = addLookupsMethod.getMethodParam(0);
+            lookupsHandle = addLookupsMethod.getMethodParam(1);
+
+            // lookups.add(Collections.singleton(beanIdToBean.get("id")))
+            ResultHandle beansHandle;
+            if (resolved.isEmpty()) {
+                beansHandle = addLookupsMethod.invokeStaticMethod(MethodDescriptors.COLLECTIONS_EMPTY_SET);
+            } else if (resolved.size() == 1) {
+                beansHandle = addLookupsMethod.invokeStaticMethod(MethodDescriptors.COLLECTIONS_SINGLETON,
+                        addLookupsMethod.invokeInterfaceMethod(MethodDescriptors.MAP_GET, beanIdToBeanHandle,
+                                addLookupsMethod.load(resolved.get(0).getIdentifier())));
+            } else {
+                beansHandle = addLookupsMethod.newInstance(MethodDescriptor.ofConstructor(HashSet.class));
+                for (BeanInfo bean : resolved) {
+                    addLookupsMethod.invokeInterfaceMethod(MethodDescriptors.SET_ADD, beansHandle,
+                            addLookupsMethod.invokeInterfaceMethod(MethodDescriptors.MAP_GET, beanIdToBeanHandle,
+                                    addLookupsMethod.load(bean.getIdentifier())));
+                }
+            }
+            addLookupsMethod.invokeInterfaceMethod(MethodDescriptors.LIST_ADD, lookupsHandle, beansHandle);
+        }
+    }
+
     static class ObserverAdder implements AutoCloseable {
 
         private static final int GROUP_LIMIT = 30;
@@ -2,6 +2,8 @@ package io.quarkus.arc;
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -11,14 +13,25 @@ public final class Components {
     private final Collection<InjectableObserverMethod<?>> observers;
     private final Collection<InjectableContext> contexts;
     private final Map<Class<? extends Annotation>, Set<Annotation>> transitiveInterceptorBindings;
+    private final int requestContextSize;
+    private final List<Set<InjectableBean<?>>> lookups;
 
     public Components(Collection<InjectableBean<?>> beans, Collection<InjectableObserverMethod<?>> observers,
             Collection<InjectableContext> contexts,
             Map<Class<? extends Annotation>, Set<Annotation>> transitiveInterceptorBindings) {
+        this(beans, observers, contexts, transitiveInterceptorBindings, 0, Collections.emptyList());
+    }
+
+    public Components(Collection<InjectableBean<?>> beans, Collection<InjectableObserverMethod<?>> observers,
+            Collection<InjectableContext> contexts,
+            Map<Class<? extends Annotation>, Set<Annotation>> transitiveInterceptorBindings, int requestContextSize,
+            List<Set<InjectableBean<?>>> lookups) {
         this.beans = beans;
         this.observers = observers;
         this.contexts = contexts;
         this.transitiveInterceptorBindings = transitiveInterceptorBindings;
+        this.requestContextSize = requestContextSize;
+        this.lookups = lookups;
     }
 
     public Collection<InjectableBean<?>> getBeans() {
@@ -37,4 +50,20 @@ public final class Components {
         return transitiveInterceptorBindings;
     }
 
+    /**
+     *
+     * @return the number of request scoped beans with an assigned {@link InjectableBean#getRequestContextIndex()}
+     */
+    public int getRequestContextSize() {
+        return requestContextSize;
+    }
+
+    /**
+     *
+     * @return the beans resolved for the programmatic lookups at build time, indexed by the lookup
+     */
+    public List<Set<InjectableBean<?>>> getLookups() {
+        return lookups;
+    }
+
 }
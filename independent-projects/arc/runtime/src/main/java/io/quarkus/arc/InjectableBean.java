@@ -105,4 +105,14 @@ public interface InjectableBean<T> extends Bean<T>, InjectableReferenceProvider<
         return false;
     }
 
+    /**
+     * Request scoped beans are assigned a dense index at build time. The index is used by the request context to store
+     * the contextual instances in an array.
+     *
+     * @return the index of a request scoped bean, or {@code -1} if no index was assigned
+     */
+    default int getRequestContextIndex() {
+        return -1;
+    }
+
 }
@@ -76,6 +76,8 @@ public class ArcContainerImpl implements ArcContainer {
     private final InjectableContext applicationContext;
     private final InjectableContext singletonContext;
 
+    // Programmatic lookups resolved at build time, indexed by the lookup index passed to the InstanceProvider
+    private final Set<InjectableBean<?>>[] lookups;
     private final ComputingCache<Resolvable, Set<InjectableBean<?>>> resolved;
     private final ComputingCache<String, InjectableBean<?>> beansById;
     private final ComputingCache<String, Set<InjectableBean<?>>> beansByName;
@@ -94,12 +96,19 @@ public class ArcContainerImpl implements ArcContainer {
 
         applicationContext = new ApplicationContext();
         singletonContext = new SingletonContext();
-        requestContext = new RequestContext();
         contexts = new ArrayList<>();
-        contexts.add(requestContext);
 
+        int requestContextSize = 0;
+        boolean requestContextIndexed = true;
+        List<Set<InjectableBean<?>>> lookups = Collections.emptyList();
+        boolean lookupsIndexed = true;
         for (ComponentsProvider componentsProvider : ServiceLoader.load(ComponentsProvider.class)) {
             Components components = componentsProvider.getComponents();
+            if (components.getRequestContextSize() > 0) {
+                // Indexes assigned by different deployments would clash
+                requestContextIndexed = requestContextSize == 0;
+                requestContextSize = components.getRequestContextSize();
+            }
             for (InjectableBean<?> bean : components.getBeans()) {
                 if (bean instanceof InjectableInterceptor) {
                     interceptors.add((InjectableInterceptor<?>) bean);
@@ -108,6 +117,11 @@ public class ArcContainerImpl implements ArcContainer {
                 }
             }
             observers.addAll(components.getObservers());
+            if (!components.getLookups().isEmpty()) {
+                // Indexes assigned by different deployments would clash
+                lookupsIndexed = lookups.isEmpty();
+                lookups = components.getLookups();
+            }
             // Add custom contexts
             for (InjectableContext context : components.getContexts()) {
                 if (ApplicationScoped.class.equals(context.getScope())) {
@@ -125,11 +139,14 @@ public class ArcContainerImpl implements ArcContainer {
                 transitiveInterceptorBindings.put(entry.getKey(), entry.getValue());
             }
         }
+        requestContext = new RequestContext(requestContextIndexed ? requestContextSize : 0);
+        contexts.add(0, requestContext);
         // register built-in beans
         addBuiltInBeans();
 
         Collections.sort(interceptors, (i1, i2) -> Integer.compare(i2.getPriority(), i1.getPriority()));
 
+        this.lookups = toArray(lookupsIndexed ? lookups : Collections.emptyList());
         resolved = new ComputingCache<>(this::resolve);
         beansById = new ComputingCache<>(this::findById);
         beansByName = new ComputingCache<>(this::resolve);
@@ -593,6 +610,20 @@ public class ArcContainerImpl implements ArcContainer {
         return resolved.getValue(new Resolvable(requiredType, qualifiers));
     }
 
+    /**
+     *
+     * @param index the lookup index assigned at build time
+     * @return the beans resolved at build time or {@code null} if no such lookup exists
+     */
+    Set<InjectableBean<?>> getLookup(int index) {
+        return index >= 0 && index < lookups.length ? lookups[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<InjectableBean<?>>[] toArray(List<Set<InjectableBean<?>>> lookups) {
+        return lookups.toArray(new Set[lookups.size()]);
+    }
+
     private boolean matches(InjectableBean<?> bean, Type requiredType, Annotation... qualifiers) {
         if (!BeanTypeAssignabilityRules.matches(requiredType, bean.getTypes())) {
             return false;
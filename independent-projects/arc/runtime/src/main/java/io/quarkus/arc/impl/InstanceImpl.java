@@ -44,16 +44,24 @@ class InstanceImpl<T> implements Instance<T> {
 
     InstanceImpl(InjectableBean<?> targetBean, Type type, Set<Annotation> qualifiers,
             CreationalContextImpl<?> creationalContext, Set<Annotation> annotations, Member javaMember, int position) {
-        this(targetBean, type, getRequiredType(type), qualifiers, creationalContext, annotations, javaMember, position);
+        this(targetBean, type, qualifiers, creationalContext, annotations, javaMember, position, -1);
+    }
+
+    InstanceImpl(InjectableBean<?> targetBean, Type type, Set<Annotation> qualifiers,
+            CreationalContextImpl<?> creationalContext, Set<Annotation> annotations, Member javaMember, int position,
+            int lookup) {
+        this(targetBean, type, getRequiredType(type), qualifiers, creationalContext, annotations, javaMember, position,
+                lookup);
     }
 
     InstanceImpl(InstanceImpl<?> parent, Type requiredType, Set<Annotation> requiredQualifiers) {
         this(parent.targetBean, parent.injectionPointType, requiredType, requiredQualifiers, parent.creationalContext,
-                parent.annotations, parent.javaMember, parent.position);
+                parent.annotations, parent.javaMember, parent.position, -1);
     }
 
     InstanceImpl(InjectableBean<?> targetBean, Type injectionPointType, Type requiredType, Set<Annotation> requiredQualifiers,
-            CreationalContextImpl<?> creationalContext, Set<Annotation> annotations, Member javaMember, int position) {
+            CreationalContextImpl<?> creationalContext, Set<Annotation> annotations, Member javaMember, int position,
+            int lookup) {
         this.injectionPointType = injectionPointType;
         this.requiredType = requiredType;
         this.requiredQualifiers = requiredQualifiers != null ? requiredQualifiers : Collections.emptySet();
@@ -62,7 +70,9 @@ class InstanceImpl<T> implements Instance<T> {
             // Do not prefetch the beans for Instance<Object> with no qualifiers
             this.resolvedBeans = null;
         } else {
-            this.resolvedBeans = resolve();
+            // The beans of a lookup discovered at build time are already resolved
+            Set<InjectableBean<?>> lookupBeans = lookup >= 0 ? ArcContainerImpl.instance().getLookup(lookup) : null;
+            this.resolvedBeans = lookupBeans != null ? lookupBeans : resolve();
         }
         this.targetBean = targetBean;
         this.annotations = annotations;
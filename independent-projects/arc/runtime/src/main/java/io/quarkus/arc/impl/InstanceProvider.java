@@ -21,21 +21,32 @@ public class InstanceProvider<T> implements InjectableReferenceProvider<Instance
     private final Set<Annotation> annotations;
     private final Member javaMember;
     private final int position;
+    private final int lookup;
 
     public InstanceProvider(Type type, Set<Annotation> qualifiers, InjectableBean<?> targetBean, Set<Annotation> annotations,
             Member javaMember, int position) {
+        this(type, qualifiers, targetBean, annotations, javaMember, position, -1);
+    }
+
+    /**
+     *
+     * @param lookup the index of the lookup resolved at build time or -1
+     */
+    public InstanceProvider(Type type, Set<Annotation> qualifiers, InjectableBean<?> targetBean, Set<Annotation> annotations,
+            Member javaMember, int position, int lookup) {
         this.requiredType = type;
         this.qualifiers = qualifiers;
         this.targetBean = targetBean;
         this.annotations = annotations;
         this.javaMember = javaMember;
         this.position = position;
+        this.lookup = lookup;
     }
 
     @Override
     public Instance<T> get(CreationalContext<Instance<T>> creationalContext) {
         return new InstanceImpl<T>(targetBean, requiredType, qualifiers, CreationalContextImpl.unwrap(creationalContext),
-                annotations, javaMember, position);
+                annotations, javaMember, position, lookup);
     }
 
 }
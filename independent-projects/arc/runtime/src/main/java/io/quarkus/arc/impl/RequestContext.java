@@ -6,11 +6,14 @@ import io.quarkus.arc.InstanceHandle;
 import io.quarkus.arc.ManagedContext;
 import io.quarkus.arc.impl.EventImpl.Notifier;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import javax.enterprise.context.BeforeDestroyed;
 import javax.enterprise.context.ContextNotActiveException;
@@ -32,13 +35,21 @@ class RequestContext implements ManagedContext {
     private static final Logger LOGGER = Logger.getLogger(RequestContext.class.getPackage().getName());
 
     // It's a normal scope so there may be no more than one mapped instance per contextual type per thread
-    private final ThreadLocal<ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>>> currentContext = new ThreadLocal<>();
+    private final ThreadLocal<ContextInstances> currentContext = new ThreadLocal<>();
+
+    // The number of request scoped beans with an index assigned at build time
+    private final int size;
 
     private final LazyValue<Notifier<Object>> initializedNotifier;
     private final LazyValue<Notifier<Object>> beforeDestroyedNotifier;
     private final LazyValue<Notifier<Object>> destroyedNotifier;
 
     public RequestContext() {
+        this(0);
+    }
+
+    public RequestContext(int size) {
+        this.size = size;
         this.initializedNotifier = new LazyValue<>(RequestContext::createInitializedNotifier);
         this.beforeDestroyedNotifier = new LazyValue<>(RequestContext::createBeforeDestroyedNotifier);
         this.destroyedNotifier = new LazyValue<>(RequestContext::createDestroyedNotifier);
@@ -55,7 +66,7 @@ class RequestContext implements ManagedContext {
         if (contextual == null) {
             throw new IllegalArgumentException("Contextual parameter must not be null");
         }
-        Map<Contextual<?>, ContextInstanceHandle<?>> ctx = currentContext.get();
+        ContextInstances ctx = currentContext.get();
         if (ctx == null) {
             // Thread local not set - context is not active!
             throw new ContextNotActiveException();
@@ -82,7 +93,7 @@ class RequestContext implements ManagedContext {
 
     @Override
     public void destroy(Contextual<?> contextual) {
-        Map<Contextual<?>, ContextInstanceHandle<?>> ctx = currentContext.get();
+        ContextInstances ctx = currentContext.get();
         if (ctx == null) {
             // Thread local not set - context is not active!
             throw new ContextNotActiveException();
@@ -96,7 +107,7 @@ class RequestContext implements ManagedContext {
     @Override
     public void activate(ContextState initialState) {
         if (initialState == null) {
-            currentContext.set(new ConcurrentHashMap<>());
+            currentContext.set(new ContextInstances(size));
             // Fire an event with qualifier @Initialized(RequestScoped.class) if there are any observers for it
             fireIfNotEmpty(initializedNotifier);
         } else {
@@ -110,7 +121,7 @@ class RequestContext implements ManagedContext {
 
     @Override
     public ContextState getState() {
-        ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> ctx = currentContext.get();
+        ContextInstances ctx = currentContext.get();
         if (ctx == null) {
             // Thread local not set - context is not active!
             throw new ContextNotActiveException();
@@ -125,7 +136,7 @@ class RequestContext implements ManagedContext {
 
     @Override
     public void destroy() {
-        Map<Contextual<?>, ContextInstanceHandle<?>> ctx = currentContext.get();
+        ContextInstances ctx = currentContext.get();
         if (ctx != null) {
             synchronized (ctx) {
                 // Fire an event with qualifier @BeforeDestroyed(RequestScoped.class) if there are any observers for it
@@ -179,9 +190,9 @@ class RequestContext implements ManagedContext {
 
     class RequestContextState implements ContextState {
 
-        private final ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> value;
+        private final ContextInstances value;
 
-        RequestContextState(ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> value) {
+        RequestContextState(ContextInstances value) {
             this.value = value;
         }
 
@@ -193,4 +204,97 @@ class RequestContext implements ManagedContext {
 
     }
 
+    /**
+     * The instances of a single request. Beans with an index assigned at build time are stored in an array, other
+     * contextuals in a map that is only created if needed. The state may be propagated to other threads, so all the
+     * access goes through atomic operations.
+     */
+    static final class ContextInstances {
+
+        private final AtomicReferenceArray<ContextInstanceHandle<?>> indexed;
+
+        private volatile ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others;
+
+        ContextInstances(int size) {
+            this.indexed = new AtomicReferenceArray<>(size);
+        }
+
+        ContextInstanceHandle<?> get(Contextual<?> contextual) {
+            int index = indexOf(contextual);
+            if (index >= 0) {
+                return indexed.get(index);
+            }
+            ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others = this.others;
+            return others != null ? others.get(contextual) : null;
+        }
+
+        void put(Contextual<?> contextual, ContextInstanceHandle<?> instance) {
+            int index = indexOf(contextual);
+            if (index >= 0) {
+                indexed.set(index, instance);
+            } else {
+                others().put(contextual, instance);
+            }
+        }
+
+        ContextInstanceHandle<?> remove(Contextual<?> contextual) {
+            int index = indexOf(contextual);
+            if (index >= 0) {
+                return indexed.getAndSet(index, null);
+            }
+            ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others = this.others;
+            return others != null ? others.remove(contextual) : null;
+        }
+
+        List<ContextInstanceHandle<?>> values() {
+            List<ContextInstanceHandle<?>> values = new ArrayList<>();
+            for (int i = 0; i < indexed.length(); i++) {
+                ContextInstanceHandle<?> instance = indexed.get(i);
+                if (instance != null) {
+                    values.add(instance);
+                }
+            }
+            ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others = this.others;
+            if (others != null) {
+                values.addAll(others.values());
+            }
+            return values;
+        }
+
+        void clear() {
+            for (int i = 0; i < indexed.length(); i++) {
+                indexed.set(i, null);
+            }
+            ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others = this.others;
+            if (others != null) {
+                others.clear();
+            }
+        }
+
+        private int indexOf(Contextual<?> contextual) {
+            if (contextual instanceof InjectableBean) {
+                int index = ((InjectableBean<?>) contextual).getRequestContextIndex();
+                if (index < indexed.length()) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others() {
+            ConcurrentMap<Contextual<?>, ContextInstanceHandle<?>> others = this.others;
+            if (others == null) {
+                synchronized (this) {
+                    others = this.others;
+                    if (others == null) {
+                        others = new ConcurrentHashMap<>();
+                        this.others = others;
+                    }
+                }
+            }
+            return others;
+        }
+
+    }
+
 }
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.InjectableBean;
 import io.quarkus.arc.ManagedContext;
 import io.quarkus.arc.test.ArcTestContainer;
 import javax.enterprise.context.ContextNotActiveException;
@@ -115,6 +116,27 @@ public class RequestContextTest {
         assertTrue(Controller.DESTROYED.get());
     }
 
+    @Test
+    public void testDestroyContextual() {
+        Controller.DESTROYED.set(false);
+        ArcContainer arc = Arc.container();
+        ManagedContext requestContext = arc.requestContext();
+        InjectableBean<Controller> bean = arc.instance(Controller.class).getBean();
+        assertTrue(bean.getRequestContextIndex() >= 0);
+
+        requestContext.activate();
+        try {
+            String id = arc.instance(Controller.class).get().getId();
+            assertEquals(1, requestContext.getState().getContextualInstances().size());
+            requestContext.destroy(bean);
+            assertTrue(Controller.DESTROYED.get());
+            assertTrue(requestContext.getState().getContextualInstances().isEmpty());
+            assertNotEquals(id, arc.instance(Controller.class).get().getId());
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
     @Test
     public void testRequestContextEvents() {
         // reset counters since other tests might have triggered it already
@@ -0,0 +1,142 @@
+package io.quarkus.arc.test.instance.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ComponentsProvider;
+import io.quarkus.arc.InjectableBean;
+import io.quarkus.arc.test.ArcTestContainer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Default;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Inject;
+import javax.inject.Qualifier;
+import javax.inject.Singleton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class PrecomputedLookupTest {
+
+    @RegisterExtension
+    public ArcTestContainer container = new ArcTestContainer(Blue.class, Service.class, BlueService.class,
+            ListProducer.class, Client.class);
+
+    @Test
+    public void testLookups() {
+        Client client = Arc.container().instance(Client.class).get();
+        assertEquals("default", client.service.get().id());
+        assertEquals("blue", client.blueService.get().id());
+        assertEquals(2, client.list.get().size());
+        assertTrue(client.missing.isUnsatisfied());
+        // The ambiguity cannot be resolved, all the matching beans are kept
+        assertTrue(client.all.isAmbiguous());
+        List<String> ids = new ArrayList<>();
+        client.all.forEach(service -> ids.add(service.id()));
+        assertEquals(new HashSet<>(Arrays.asList("default", "blue")), new HashSet<>(ids));
+
+        // The same lookups performed through the container
+        assertEquals("default", Arc.container().instance(Service.class).get().id());
+        assertEquals("blue", Arc.container().instance(Service.class, new Blue.Literal()).get().id());
+        assertEquals("blue", client.service.select(new Blue.Literal()).get().id());
+        assertFalse(Arc.container().instance(Runnable.class).isAvailable());
+    }
+
+    @Test
+    public void testLookupsResolvedAtBuildTime() {
+        List<Set<Class<?>>> lookups = new ArrayList<>();
+        for (ComponentsProvider componentsProvider : ServiceLoader.load(ComponentsProvider.class)) {
+            for (Set<InjectableBean<?>> beans : componentsProvider.getComponents().getLookups()) {
+                lookups.add(beans.stream().map(InjectableBean::getBeanClass).collect(Collectors.toSet()));
+            }
+        }
+        // Instance<Service>, @Blue Instance<Service>, @Any Instance<Service>, Instance<List<String>>, Instance<Runnable>
+        assertEquals(5, lookups.size());
+        assertTrue(lookups.contains(setOf(Service.class)));
+        assertTrue(lookups.contains(setOf(BlueService.class)));
+        assertTrue(lookups.contains(setOf(Service.class, BlueService.class)));
+        assertTrue(lookups.contains(setOf(ListProducer.class)));
+        assertTrue(lookups.contains(setOf()));
+    }
+
+    private static Set<Class<?>> setOf(Class<?>... classes) {
+        return new HashSet<>(Arrays.asList(classes));
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Blue {
+
+        @SuppressWarnings("serial")
+        final class Literal extends AnnotationLiteral<Blue> implements Blue {
+        }
+
+    }
+
+    @Default
+    @Dependent
+    static class Service {
+
+        String id() {
+            return "default";
+        }
+
+    }
+
+    @Blue
+    @Dependent
+    static class BlueService extends Service {
+
+        @Override
+        String id() {
+            return "blue";
+        }
+
+    }
+
+    @Singleton
+    static class ListProducer {
+
+        @Produces
+        List<String> list() {
+            return Arrays.asList("foo", "bar");
+        }
+
+    }
+
+    @Singleton
+    static class Client {
+
+        @Inject
+        Instance<Service> service;
+
+        @Blue
+        @Inject
+        Instance<Service> blueService;
+
+        @Inject
+        Instance<List<String>> list;
+
+        @Inject
+        Instance<Runnable> missing;
+
+        @Any
+        @Inject
+        Instance<Service> all;
+
+    }
+
+}
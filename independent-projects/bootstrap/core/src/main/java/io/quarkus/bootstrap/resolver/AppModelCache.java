@@ -0,0 +1,526 @@
+package io.quarkus.bootstrap.resolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationFile;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Profile;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.jboss.logging.Logger;
+
+import io.quarkus.bootstrap.BootstrapDependencyProcessingException;
+import io.quarkus.bootstrap.model.AppArtifact;
+import io.quarkus.bootstrap.model.AppDependency;
+import io.quarkus.bootstrap.model.AppModel;
+import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
+import io.quarkus.bootstrap.resolver.maven.workspace.LocalProject;
+import io.quarkus.bootstrap.resolver.maven.workspace.LocalWorkspace;
+import io.quarkus.bootstrap.resolver.maven.workspace.ModelUtils;
+
+/**
+ * Persists a resolved {@link AppModel} in the output directory of the application project, so that
+ * the next bootstrap of the same application does not need to resolve the dependencies.
+ * <p>
+ * The cached model is keyed by a hash of the POMs of all the projects in the workspace, the
+ * parent and imported POMs they reference from outside the workspace, the resolution request, the relevant
+ * resolver settings (offline mode, local and remote repositories), the Maven command line, the user properties
+ * and the inputs the profiles declared in those POMs are activated by (the properties, JDK, OS and files
+ * they check). The rest of the system properties and the environment are not hashed, since they change from
+ * one invocation to the other without affecting the model.
+ * In addition, the model is discarded if any of the resolved artifact files were removed or modified
+ * since the model was cached, e.g. when a SNAPSHOT dependency was re-installed.
+ */
+public class AppModelCache {
+
+    private static final Logger log = Logger.getLogger(AppModelCache.class);
+
+    private static final String QUARKUS = "quarkus";
+    private static final String BOOTSTRAP = "bootstrap";
+    private static final String APP_MODEL = "app-model.dat";
+    private static final String DEV_APP_MODEL = "app-model-dev.dat";
+
+    private static final int FORMAT_ID = 1;
+
+    private static final String MAVEN_CMD_LINE_ARGS = "MAVEN_CMD_LINE_ARGS";
+    private static final String IMPORT = "import";
+    private static final String POM = "pom";
+    private static final String JAVA_VERSION = "java.version";
+    private static final String OS_NAME = "os.name";
+    private static final String OS_ARCH = "os.arch";
+    private static final String OS_VERSION = "os.version";
+    // guards against cyclic property references
+    private static final int MAX_INTERPOLATION_DEPTH = 16;
+
+    /**
+     * Creates a cache for the given resolution request. The model can only be cached if the application
+     * artifact is a project in the workspace the resolver was initialized with.
+     *
+     * @param mvn  the resolver
+     * @param appArtifact  the application artifact
+     * @param directDeps  the direct dependencies of the application
+     * @param managingProject  the project managing the dependencies or null
+     * @param devmode  whether the model is resolved for the dev mode
+     * @return  the cache or null if the model can not be cached
+     */
+    public static AppModelCache newInstance(MavenArtifactResolver mvn, AppArtifact appArtifact,
+            List<AppDependency> directDeps, AppArtifact managingProject, boolean devmode) {
+        final RepositorySystemSession session = mvn.getSession();
+        final WorkspaceReader wsReader = session.getWorkspaceReader();
+        if(!(wsReader instanceof LocalWorkspace)) {
+            return null;
+        }
+        final LocalWorkspace workspace = (LocalWorkspace) wsReader;
+        final LocalProject project = workspace.getProject(appArtifact.getGroupId(), appArtifact.getArtifactId());
+        if(project == null) {
+            return null;
+        }
+        final String key;
+        try {
+            key = hash(workspace, mvn, appArtifact, directDeps, managingProject, devmode);
+        } catch (IOException e) {
+            debug("Failed to compute the application model cache key for %s: %s", appArtifact, e);
+            return null;
+        }
+        return new AppModelCache(project.getOutputDir().resolve(QUARKUS).resolve(BOOTSTRAP)
+                .resolve(devmode ? DEV_APP_MODEL : APP_MODEL), key);
+    }
+
+    private final Path file;
+    private final String key;
+
+    AppModelCache(Path file, String key) {
+        this.file = file;
+        this.key = key;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the cached model.
+     *
+     * @param appArtifact  the application artifact the model is read for
+     * @return  the cached model or null if there is no model cached for the key
+     * or some of the cached artifacts have changed
+     */
+    public AppModel read(AppArtifact appArtifact) {
+        if(!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if(in.readInt() != FORMAT_ID) {
+                debug("Unsupported application model cache format in %s for %s", file, appArtifact);
+                return null;
+            }
+            if(!key.equals(in.readUTF())) {
+                debug("Cached application model has expired for %s", appArtifact);
+                return null;
+            }
+            final List<AppDependency> userDeps = readDeps(in);
+            final List<AppDependency> deploymentDeps = userDeps == null ? null : readDeps(in);
+            if(deploymentDeps == null) {
+                debug("Cached application model for %s references artifacts that have changed", appArtifact);
+                return null;
+            }
+            debug("Application model for %s was read from the cache %s", appArtifact, file);
+            return new AppModel(appArtifact, userDeps, deploymentDeps);
+        } catch (IOException e) {
+            log.warn("Failed to read the application model cache from " + file + " for " + appArtifact, e);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the model, replacing the one previously cached.
+     *
+     * @param appModel  the resolved model
+     */
+    public void write(AppModel appModel) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tmp = Files.createTempFile(file.getParent(), APP_MODEL, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FORMAT_ID);
+                    out.writeUTF(key);
+                    writeDeps(out, appModel.getUserDependencies());
+                    writeDeps(out, appModel.getDeploymentDependencies());
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            debug("Application model for %s was cached in %s", appModel.getAppArtifact(), file);
+        } catch (IOException | BootstrapDependencyProcessingException e) {
+            log.warn("Failed to persist the application model cache in " + file + " for " + appModel.getAppArtifact(), e);
+        }
+    }
+
+    private static void writeDeps(DataOutputStream out, List<AppDependency> deps) throws IOException {
+        out.writeInt(deps.size());
+        for(AppDependency dep : deps) {
+            final AppArtifact artifact = dep.getArtifact();
+            out.writeUTF(artifact.getGroupId());
+            out.writeUTF(artifact.getArtifactId());
+            out.writeUTF(artifact.getClassifier());
+            out.writeUTF(artifact.getType());
+            out.writeUTF(artifact.getVersion());
+            out.writeUTF(dep.getScope() == null ? "" : dep.getScope());
+            out.writeBoolean(dep.isOptional());
+            final Path path = artifact.getPath();
+            out.writeUTF(path == null ? "" : path.toString());
+            out.writeLong(path == null || Files.isDirectory(path) ? -1 : Files.getLastModifiedTime(path).toMillis());
+        }
+    }
+
+    /**
+     * @return  the dependencies or null if some of the artifacts have changed
+     */
+    private static List<AppDependency> readDeps(DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        final List<AppDependency> deps = new ArrayList<>(size);
+        for(int i = 0; i < size; ++i) {
+            final AppArtifact artifact = new AppArtifact(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+            final String scope = in.readUTF();
+            final boolean optional = in.readBoolean();
+            final String path = in.readUTF();
+            final long lastModified = in.readLong();
+            if(!path.isEmpty()) {
+                final Path p = Paths.get(path);
+                if(!isUpToDate(p, lastModified)) {
+                    return null;
+                }
+                artifact.setPath(p);
+            }
+            deps.add(new AppDependency(artifact, scope, optional));
+        }
+        return deps;
+    }
+
+    private static boolean isUpToDate(Path p, long lastModified) throws IOException {
+        if(lastModified < 0) {
+            // local project output directories are covered by the workspace POMs
+            return Files.isDirectory(p);
+        }
+        try {
+            return Files.getLastModifiedTime(p).toMillis() == lastModified;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    static String hash(LocalWorkspace workspace, MavenArtifactResolver mvn, AppArtifact appArtifact,
+            List<AppDependency> directDeps, AppArtifact managingProject, boolean devmode) throws IOException {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(md, appArtifact.toString());
+        update(md, Boolean.toString(devmode));
+        update(md, managingProject == null ? "" : managingProject.toString());
+        for(AppDependency dep : directDeps) {
+            update(md, dep.toString());
+        }
+
+        final RepositorySystemSession session = mvn.getSession();
+        update(md, Boolean.toString(session.isOffline()));
+        final LocalRepository localRepo = session.getLocalRepository();
+        update(md, localRepo == null ? "" : localRepo.getBasedir().getAbsolutePath());
+        for(RemoteRepository repo : mvn.getRepositories()) {
+            update(md, repo.getId());
+            update(md, repo.getUrl());
+        }
+
+        // the active profiles and the -D properties overriding the POM properties
+        final String mvnCmdLine = System.getenv(MAVEN_CMD_LINE_ARGS);
+        update(md, mvnCmdLine == null ? "" : mvnCmdLine);
+        update(md, session.getUserProperties());
+
+        final List<LocalProject> projects = new ArrayList<>(workspace.getProjects().values());
+        Collections.sort(projects, Comparator.comparing(p -> p.getDir().toString()));
+        final List<Model> models = new ArrayList<>(projects.size());
+        for(LocalProject project : projects) {
+            final Path pom = project.getRawModel().getPomFile().toPath();
+            update(md, pom.toString());
+            md.update(Files.readAllBytes(pom));
+            models.add(project.getRawModel());
+        }
+        if(localRepo != null) {
+            final List<Model> externalModels = new ArrayList<>();
+            updateExternalPoms(md, workspace, localRepo.getBasedir().toPath(), models, externalModels);
+            models.addAll(externalModels);
+        }
+        for(Model model : models) {
+            updateProfileActivation(md, model, session.getUserProperties(), session.getSystemProperties());
+        }
+
+        final StringBuilder buf = new StringBuilder();
+        for(byte b : md.digest()) {
+            buf.append(Integer.toHexString((b & 0xFF) | 0x100).substring(1, 3));
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Hashes the parent and imported POMs of the given models that are not projects of the workspace. Those are
+     * read from the local repository, where a SNAPSHOT may be re-installed.
+     *
+     * @throws IOException  if a referenced POM is not available in the local repository yet or its version
+     * can not be determined
+     */
+    static void updateExternalPoms(MessageDigest md, LocalWorkspace workspace, Path localRepo, List<Model> models)
+            throws IOException {
+        updateExternalPoms(md, workspace, localRepo, models, new ArrayList<>());
+    }
+
+    /**
+     * @param externalModels  collects the models of the hashed POMs
+     */
+    static void updateExternalPoms(MessageDigest md, LocalWorkspace workspace, Path localRepo, List<Model> models,
+            List<Model> externalModels) throws IOException {
+        final Set<Path> visited = new HashSet<>();
+        for(Model model : models) {
+            updateExternalPoms(md, workspace, localRepo, model, visited, externalModels);
+        }
+    }
+
+    private static void updateExternalPoms(MessageDigest md, LocalWorkspace workspace, Path localRepo, Model model,
+            Set<Path> visited, List<Model> externalModels) throws IOException {
+        final Parent parent = model.getParent();
+        if(parent != null && workspace.getProject(parent.getGroupId(), parent.getArtifactId()) == null) {
+            updateExternalPom(md, workspace, localRepo, parent.getGroupId(), parent.getArtifactId(), parent.getVersion(),
+                    visited, externalModels);
+        }
+        final DependencyManagement depMgmt = model.getDependencyManagement();
+        if(depMgmt == null) {
+            return;
+        }
+        for(Dependency dep : depMgmt.getDependencies()) {
+            if(!IMPORT.equals(dep.getScope()) || !POM.equals(dep.getType())) {
+                continue;
+            }
+            final String groupId = interpolate(dep.getGroupId(), model, workspace, localRepo);
+            final String artifactId = interpolate(dep.getArtifactId(), model, workspace, localRepo);
+            if(workspace.getProject(groupId, artifactId) == null) {
+                updateExternalPom(md, workspace, localRepo, groupId, artifactId,
+                        interpolate(dep.getVersion(), model, workspace, localRepo), visited, externalModels);
+            }
+        }
+    }
+
+    private static void updateExternalPom(MessageDigest md, LocalWorkspace workspace, Path localRepo, String groupId,
+            String artifactId, String version, Set<Path> visited, List<Model> externalModels) throws IOException {
+        final Path pom = getLocalRepoPom(localRepo, groupId, artifactId, version);
+        if(!visited.add(pom)) {
+            return;
+        }
+        if(!Files.exists(pom)) {
+            throw new IOException(pom + " is not available in the local repository");
+        }
+        update(md, pom.toString());
+        md.update(Files.readAllBytes(pom));
+        final Model model = ModelUtils.readModel(pom);
+        externalModels.add(model);
+        updateExternalPoms(md, workspace, localRepo, model, visited, externalModels);
+    }
+
+    /**
+     * Hashes the values the activation of the profiles of the given model depends on, i.e. the properties, the JDK
+     * and OS properties and the files they check. The properties are looked up the way Maven does, i.e. the user
+     * properties override the system properties.
+     */
+    static void updateProfileActivation(MessageDigest md, Model model, Map<?, ?> userProperties,
+            Map<?, ?> systemProperties) {
+        for(Profile profile : model.getProfiles()) {
+            final Activation activation = profile.getActivation();
+            if(activation == null) {
+                continue;
+            }
+            update(md, profile.getId());
+            if(activation.getJdk() != null) {
+                updateProperty(md, JAVA_VERSION, userProperties, systemProperties);
+            }
+            if(activation.getOs() != null) {
+                updateProperty(md, OS_NAME, userProperties, systemProperties);
+                updateProperty(md, OS_ARCH, userProperties, systemProperties);
+                updateProperty(md, OS_VERSION, userProperties, systemProperties);
+            }
+            final ActivationProperty property = activation.getProperty();
+            if(property != null && property.getName() != null) {
+                final String name = property.getName();
+                updateProperty(md, name.startsWith("!") ? name.substring(1) : name, userProperties, systemProperties);
+            }
+            final ActivationFile file = activation.getFile();
+            if(file != null) {
+                final Path basedir = model.getPomFile() == null ? null : model.getPomFile().toPath().getParent();
+                updateFile(md, file.getExists(), basedir);
+                updateFile(md, file.getMissing(), basedir);
+            }
+        }
+    }
+
+    private static void updateProperty(MessageDigest md, String name, Map<?, ?> userProperties,
+            Map<?, ?> systemProperties) {
+        Object value = userProperties.get(name);
+        if(value == null) {
+            value = systemProperties.get(name);
+        }
+        update(md, name);
+        update(md, value == null ? "" : value.toString());
+    }
+
+    private static void updateFile(MessageDigest md, String path, Path basedir) {
+        if(path == null) {
+            return;
+        }
+        final Path file;
+        if(basedir == null) {
+            file = Paths.get(path);
+        } else {
+            final String dir = basedir.toString();
+            file = basedir.resolve(path.replace("${basedir}", dir).replace("${project.basedir}", dir));
+        }
+        update(md, file.toString());
+        update(md, Boolean.toString(Files.exists(file)));
+    }
+
+    private static Path getLocalRepoPom(Path localRepo, String groupId, String artifactId, String version) {
+        return localRepo.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version)
+                .resolve(artifactId + '-' + version + '.' + POM);
+    }
+
+    private static String interpolate(String value, Model model, LocalWorkspace workspace, Path localRepo)
+            throws IOException {
+        return interpolate(value, model, workspace, localRepo, 0);
+    }
+
+    private static String interpolate(String value, Model model, LocalWorkspace workspace, Path localRepo, int depth)
+            throws IOException {
+        if(value == null) {
+            throw new IOException("Missing coordinates of an imported POM in " + model);
+        }
+        int start = value.indexOf("${");
+        if(start < 0) {
+            return value;
+        }
+        if(depth >= MAX_INTERPOLATION_DEPTH) {
+            throw new IOException("Failed to interpolate " + value + " in " + model);
+        }
+        final StringBuilder buf = new StringBuilder();
+        int end = 0;
+        while(start >= 0) {
+            buf.append(value, end, start);
+            end = value.indexOf('}', start);
+            if(end < 0) {
+                throw new IOException("Failed to interpolate " + value + " in " + model);
+            }
+            final String name = value.substring(start + 2, end);
+            final String property = getProperty(name, model, workspace, localRepo);
+            if(property == null) {
+                throw new IOException("Failed to resolve the property " + name + " in " + model);
+            }
+            buf.append(interpolate(property, model, workspace, localRepo, depth + 1));
+            start = value.indexOf("${", ++end);
+        }
+        return buf.append(value, end, value.length()).toString();
+    }
+
+    /**
+     * Looks up a property the way Maven does, i.e. the system properties override the properties of the model,
+     * which override the properties inherited from the parent.
+     */
+    private static String getProperty(String name, Model model, LocalWorkspace workspace, Path localRepo)
+            throws IOException {
+        final String systemValue = System.getProperty(name);
+        if(systemValue != null) {
+            return systemValue;
+        }
+        Model current = model;
+        while(current != null) {
+            switch(name) {
+                case "project.groupId":
+                case "pom.groupId":
+                    return ModelUtils.getGroupId(current);
+                case "project.version":
+                case "pom.version":
+                    return ModelUtils.getVersion(current);
+                case "project.parent.version":
+                    return current.getParent() == null ? null : current.getParent().getVersion();
+                default:
+                    final String value = current.getProperties().getProperty(name);
+                    if(value != null) {
+                        return value;
+                    }
+            }
+            current = getParentModel(current, workspace, localRepo);
+        }
+        return null;
+    }
+
+    private static Model getParentModel(Model model, LocalWorkspace workspace, Path localRepo) throws IOException {
+        final Parent parent = model.getParent();
+        if(parent == null) {
+            return null;
+        }
+        final LocalProject project = workspace.getProject(parent.getGroupId(), parent.getArtifactId());
+        if(project != null) {
+            return project.getRawModel();
+        }
+        final Path pom = getLocalRepoPom(localRepo, parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+        return Files.exists(pom) ? ModelUtils.readModel(pom) : null;
+    }
+
+    private static void update(MessageDigest md, Map<?, ?> properties) {
+        final Map<String, String> sorted = new TreeMap<>();
+        for(Map.Entry<?, ?> entry : properties.entrySet()) {
+            sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+        for(Map.Entry<String, String> entry : sorted.entrySet()) {
+            update(md, entry.getKey());
+            update(md, entry.getValue());
+        }
+    }
+
+    private static void update(MessageDigest md, String str) {
+        md.update(str.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static void debug(String msg, Object... args) {
+        if(log.isDebugEnabled()) {
+            log.debug(String.format(msg, args));
+        }
+    }
+}
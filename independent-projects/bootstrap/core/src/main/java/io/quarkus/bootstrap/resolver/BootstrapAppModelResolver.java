@@ -35,6 +35,7 @@ import io.quarkus.bootstrap.resolver.maven.BuildDependencyGraphVisitor;
 import io.quarkus.bootstrap.resolver.maven.DeploymentInjectingDependencyVisitor;
 import io.quarkus.bootstrap.resolver.maven.MavenArtifactResolver;
 import io.quarkus.bootstrap.resolver.maven.SimpleDependencyGraphTransformationContext;
+import io.quarkus.bootstrap.util.PropertyUtils;
 
 /**
  *
@@ -42,9 +43,12 @@ import io.quarkus.bootstrap.resolver.maven.SimpleDependencyGraphTransformationCo
  */
 public class BootstrapAppModelResolver implements AppModelResolver {
 
+    public static final String PROP_APP_MODEL_CACHE = "quarkus-app-model-cache";
+
     protected final MavenArtifactResolver mvn;
     protected Consumer<String> buildTreeConsumer;
     protected boolean devmode;
+    protected boolean appModelCache = PropertyUtils.getBoolean(PROP_APP_MODEL_CACHE, true);
 
     public BootstrapAppModelResolver(MavenArtifactResolver mvn) {
         this.mvn = mvn;
@@ -67,6 +71,19 @@ public class BootstrapAppModelResolver implements AppModelResolver {
         return this;
     }
 
+    /**
+     * Indicates whether the resolved application model should be cached in the output directory
+     * of the application project and re-used as long as the workspace POMs, the resolver settings
+     * and the resolved artifacts remain the same. The cache is enabled by default unless
+     * the {@code quarkus-app-model-cache} system property is set to false.
+     *
+     * @param appModelCache  whether the resolved application model should be cached
+     */
+    public BootstrapAppModelResolver setAppModelCache(boolean appModelCache) {
+        this.appModelCache = appModelCache;
+        return this;
+    }
+
     public void addRemoteRepositories(List<RemoteRepository> repos) {
         mvn.addRemoteRepositories(repos);
     }
@@ -131,7 +148,21 @@ public class BootstrapAppModelResolver implements AppModelResolver {
     }
 
     public AppModel resolveManagedModel(AppArtifact appArtifact, List<AppDependency> directDeps, AppArtifact managingProject) throws AppModelResolverException {
-        return doResolveModel(appArtifact, toAetherDeps(directDeps), managingProject);
+        // the build tree is logged while the model is being resolved
+        final AppModelCache cache = appModelCache && buildTreeConsumer == null
+                ? AppModelCache.newInstance(mvn, appArtifact, directDeps, managingProject, devmode)
+                : null;
+        if(cache != null) {
+            final AppModel cachedModel = cache.read(appArtifact);
+            if(cachedModel != null) {
+                return cachedModel;
+            }
+        }
+        final AppModel appModel = doResolveModel(appArtifact, toAetherDeps(directDeps), managingProject);
+        if(cache != null) {
+            cache.write(appModel);
+        }
+        return appModel;
     }
 
     private AppModel doResolveModel(AppArtifact appArtifact, List<Dependency> directMvnDeps, AppArtifact managingProject) throws AppModelResolverException {
@@ -0,0 +1,189 @@
+package io.quarkus.bootstrap.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.bootstrap.model.AppArtifact;
+import io.quarkus.bootstrap.model.AppDependency;
+import io.quarkus.bootstrap.model.AppModel;
+import io.quarkus.bootstrap.resolver.maven.workspace.LocalProject;
+import io.quarkus.bootstrap.resolver.maven.workspace.LocalWorkspace;
+import io.quarkus.bootstrap.util.IoUtils;
+
+public class AppModelCacheTest {
+
+    private Path workDir;
+    private Path cacheFile;
+    private Path jar;
+    private Path classesDir;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        workDir = IoUtils.createRandomTmpDir();
+        cacheFile = workDir.resolve("target").resolve("app-model.dat");
+        jar = workDir.resolve("lib.jar");
+        Files.write(jar, new byte[] { 1, 2, 3 });
+        classesDir = IoUtils.mkdirs(workDir.resolve("classes"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        IoUtils.recursiveDelete(workDir);
+    }
+
+    @Test
+    public void testCachedModelIsReadBack() throws Exception {
+        final AppModel model = newModel();
+        new AppModelCache(cacheFile, "key").write(model);
+
+        final AppModel cached = new AppModelCache(cacheFile, "key").read(model.getAppArtifact());
+        assertNotNull(cached);
+        assertEquals(model.getUserDependencies(), cached.getUserDependencies());
+        assertEquals(model.getDeploymentDependencies(), cached.getDeploymentDependencies());
+        assertEquals(jar, cached.getUserDependencies().get(0).getArtifact().getPath());
+        assertEquals(classesDir, cached.getDeploymentDependencies().get(0).getArtifact().getPath());
+    }
+
+    @Test
+    public void testDifferentKeyIsNotReadBack() throws Exception {
+        final AppModel model = newModel();
+        new AppModelCache(cacheFile, "key").write(model);
+        assertNull(new AppModelCache(cacheFile, "other").read(model.getAppArtifact()));
+    }
+
+    @Test
+    public void testModifiedArtifactInvalidatesTheModel() throws Exception {
+        final AppModel model = newModel();
+        new AppModelCache(cacheFile, "key").write(model);
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() - 10000));
+        assertNull(new AppModelCache(cacheFile, "key").read(model.getAppArtifact()));
+    }
+
+    @Test
+    public void testRemovedArtifactInvalidatesTheModel() throws Exception {
+        final AppModel model = newModel();
+        new AppModelCache(cacheFile, "key").write(model);
+        Files.delete(jar);
+        assertNull(new AppModelCache(cacheFile, "key").read(model.getAppArtifact()));
+    }
+
+    @Test
+    public void testExternalPomsAreHashed() throws Exception {
+        final Path repo = workDir.resolve("repo");
+        final Path bom = repoPom(repo, "acme-bom", "2.0");
+        writePom(repoPom(repo, "acme-parent", "1.0"), "<artifactId>acme-parent</artifactId><version>1.0</version>"
+                + "<properties><bom.version>2.0</bom.version></properties>");
+        writePom(bom, "<artifactId>acme-bom</artifactId><version>2.0</version>");
+        final LocalWorkspace workspace = loadWorkspace("${bom.version}");
+
+        final String hash = externalPomsHash(workspace, repo);
+        assertEquals(hash, externalPomsHash(workspace, repo));
+        writePom(bom, "<artifactId>acme-bom</artifactId><version>2.0</version><packaging>pom</packaging>");
+        assertNotEquals(hash, externalPomsHash(workspace, repo));
+    }
+
+    @Test
+    public void testUnresolvedExternalPomFails() throws Exception {
+        final Path repo = workDir.resolve("repo");
+        writePom(repoPom(repo, "acme-parent", "1.0"), "<artifactId>acme-parent</artifactId><version>1.0</version>");
+        final LocalWorkspace unresolvedVersion = loadWorkspace("${bom.version}");
+        assertThrows(IOException.class, () -> externalPomsHash(unresolvedVersion, repo));
+        final LocalWorkspace missingPom = loadWorkspace("2.0");
+        assertThrows(IOException.class, () -> externalPomsHash(missingPom, repo));
+    }
+
+    @Test
+    public void testProfileActivationInputsAreHashed() throws Exception {
+        final Path projectDir = IoUtils.mkdirs(workDir.resolve("app"));
+        writePom(projectDir.resolve("pom.xml"), "<artifactId>app</artifactId><version>1.0</version><profiles>"
+                + "<profile><id>native</id><activation><property><name>native</name></property></activation></profile>"
+                + "<profile><id>docs</id><activation><file><exists>${basedir}/docs</exists></file></activation></profile>"
+                + "</profiles>");
+        final Model model = LocalProject.loadWorkspace(projectDir).getWorkspace().getProject("org.acme", "app")
+                .getRawModel();
+
+        final Map<String, String> userProperties = new HashMap<>();
+        final Map<String, String> systemProperties = new HashMap<>();
+        systemProperties.put("env.PWD", "/tmp");
+        final String hash = profileActivationHash(model, userProperties, systemProperties);
+
+        // unrelated properties do not affect the hash
+        systemProperties.put("env.PWD", "/home");
+        userProperties.put("foo", "bar");
+        assertEquals(hash, profileActivationHash(model, userProperties, systemProperties));
+
+        systemProperties.put("native", "true");
+        final String nativeHash = profileActivationHash(model, userProperties, systemProperties);
+        assertNotEquals(hash, nativeHash);
+        // the user properties override the system properties
+        userProperties.put("native", "false");
+        assertNotEquals(nativeHash, profileActivationHash(model, userProperties, systemProperties));
+
+        final String docsHash = profileActivationHash(model, userProperties, systemProperties);
+        IoUtils.mkdirs(projectDir.resolve("docs"));
+        assertNotEquals(docsHash, profileActivationHash(model, userProperties, systemProperties));
+    }
+
+    private LocalWorkspace loadWorkspace(String bomVersion) throws Exception {
+        final Path projectDir = IoUtils.mkdirs(workDir.resolve("app"));
+        writePom(projectDir.resolve("pom.xml"), "<parent><groupId>org.acme</groupId><artifactId>acme-parent</artifactId>"
+                + "<version>1.0</version></parent><artifactId>app</artifactId>"
+                + "<dependencyManagement><dependencies><dependency><groupId>org.acme</groupId>"
+                + "<artifactId>acme-bom</artifactId><version>" + bomVersion + "</version><type>pom</type>"
+                + "<scope>import</scope></dependency></dependencies></dependencyManagement>");
+        return LocalProject.loadWorkspace(projectDir).getWorkspace();
+    }
+
+    private static String externalPomsHash(LocalWorkspace workspace, Path repo) throws Exception {
+        final MessageDigest md = MessageDigest.getInstance("SHA-1");
+        AppModelCache.updateExternalPoms(md, workspace, repo,
+                Collections.singletonList(workspace.getProject("org.acme", "app").getRawModel()));
+        return Arrays.toString(md.digest());
+    }
+
+    private static String profileActivationHash(Model model, Map<String, String> userProperties,
+            Map<String, String> systemProperties) throws Exception {
+        final MessageDigest md = MessageDigest.getInstance("SHA-1");
+        AppModelCache.updateProfileActivation(md, model, userProperties, systemProperties);
+        return Arrays.toString(md.digest());
+    }
+
+    private static Path repoPom(Path repo, String artifactId, String version) throws IOException {
+        return IoUtils.mkdirs(repo.resolve("org/acme").resolve(artifactId).resolve(version))
+                .resolve(artifactId + '-' + version + ".pom");
+    }
+
+    private static void writePom(Path pom, String content) throws IOException {
+        Files.write(pom, ("<project><modelVersion>4.0.0</modelVersion><groupId>org.acme</groupId>" + content + "</project>")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private AppModel newModel() {
+        final AppArtifact lib = new AppArtifact("org.acme", "lib", "1.0");
+        lib.setPath(jar);
+        final AppArtifact ext = new AppArtifact("org.acme", "ext-deployment", "", "jar", "1.0-SNAPSHOT");
+        ext.setPath(classesDir);
+        return new AppModel(new AppArtifact("org.acme", "app", "1.0"),
+                Arrays.asList(new AppDependency(lib, "compile", true)),
+                Collections.singletonList(new AppDependency(ext, "runtime")));
+    }
+}
@@ -2,7 +2,6 @@ package io.quarkus.qute;
 
 import io.quarkus.qute.Results.Result;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -15,6 +14,8 @@ class EvaluatorImpl implements Evaluator {
 
     private static final Logger LOGGER = Logger.getLogger(EvaluatorImpl.class);
 
+    static final String DATA_NAMESPACE = "data";
+
     private final List<ValueResolver> resolvers;
 
     EvaluatorImpl(List<ValueResolver> valueResolvers) {
@@ -23,19 +24,27 @@ class EvaluatorImpl implements Evaluator {
 
     @Override
     public CompletionStage<Object> evaluate(Expression expression, ResolutionContext resolutionContext) {
-        Iterator<String> parts;
+        List<String> parts = expression.parts;
         if (expression.namespace != null) {
-            parts = expression.parts.iterator();
             NamespaceResolver resolver = findNamespaceResolver(expression.namespace, resolutionContext);
             if (resolver == null) {
+                if (DATA_NAMESPACE.equals(expression.namespace)) {
+                    // Resolve the data namespace against the root context directly
+                    return resolveReference(false, getRoot(resolutionContext).getData(), parts, 0, resolutionContext);
+                }
                 LOGGER.errorf("No namespace resolver found for: %s", expression.namespace);
                 return Futures.failure(new IllegalStateException("No resolver for namespace: " + expression.namespace));
             }
-            EvalContext context = new EvalContextImpl(false, null, parts.next(), resolutionContext);
+            EvalContext context = new EvalContextImpl(false, null, parts.get(0), resolutionContext);
             LOGGER.debugf("Found '%s' namespace resolver: %s", expression.namespace, resolver.getClass());
-            return resolver.resolve(context).thenCompose(r -> {
-                if (parts.hasNext()) {
-                    return resolveReference(false, r, parts, resolutionContext);
+            CompletionStage<Object> result = resolver.resolve(context);
+            if (Futures.isCompletedNormally(result)) {
+                return parts.size() > 1 ? resolveReference(false, Futures.getNow(result), parts, 1, resolutionContext)
+                        : result;
+            }
+            return result.thenCompose(r -> {
+                if (parts.size() > 1) {
+                    return resolveReference(false, r, parts, 1, resolutionContext);
                 } else {
                     return CompletableFuture.completedFuture(r);
                 }
@@ -44,8 +53,7 @@ class EvaluatorImpl implements Evaluator {
             if (expression.literal != null) {
                 return expression.literal;
             } else {
-                parts = expression.parts.iterator();
-                return resolveReference(true, resolutionContext.getData(), parts, resolutionContext);
+                return resolveReference(true, resolutionContext.getData(), parts, 0, resolutionContext);
             }
         }
     }
@@ -54,8 +62,10 @@ class EvaluatorImpl implements Evaluator {
         if (resolutionContext == null) {
             return null;
         }
-        if (resolutionContext.getNamespaceResolvers() != null) {
-            for (NamespaceResolver resolver : resolutionContext.getNamespaceResolvers()) {
+        List<NamespaceResolver> namespaceResolvers = resolutionContext.getNamespaceResolvers();
+        if (namespaceResolvers != null) {
+            for (int i = 0; i < namespaceResolvers.size(); i++) {
+                NamespaceResolver resolver = namespaceResolvers.get(i);
                 if (resolver.getNamespace().equals(namespace)) {
                     return resolver;
                 }
@@ -64,42 +74,61 @@ class EvaluatorImpl implements Evaluator {
         return findNamespaceResolver(namespace, resolutionContext.getParent());
     }
 
-    private CompletionStage<Object> resolveReference(boolean tryParent, Object ref, Iterator<String> parts,
+    private ResolutionContext getRoot(ResolutionContext resolutionContext) {
+        ResolutionContext root = resolutionContext;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        return root;
+    }
+
+    private CompletionStage<Object> resolveReference(boolean tryParent, Object ref, List<String> parts, int partIdx,
             ResolutionContext resolutionContext) {
-        return resolve(new EvalContextImpl(tryParent, ref, parts.next(), resolutionContext), resolvers.iterator())
-                .thenCompose(r -> {
-                    if (parts.hasNext()) {
-                        return resolveReference(false, r, parts, resolutionContext);
+        CompletionStage<Object> result = resolve(new EvalContextImpl(tryParent, ref, parts.get(partIdx), resolutionContext),
+                0);
+        int nextIdx = partIdx + 1;
+        if (Futures.isCompletedNormally(result)) {
+            return nextIdx < parts.size() ? resolveReference(false, Futures.getNow(result), parts, nextIdx, resolutionContext)
+                    : result;
+        }
+        return result.thenCompose(r -> {
+            if (nextIdx < parts.size()) {
+                return resolveReference(false, r, parts, nextIdx, resolutionContext);
+            } else {
+                return CompletableFuture.completedFuture(r);
+            }
+        });
+    }
+
+    private CompletionStage<Object> resolve(EvalContextImpl evalContext, int resolverIdx) {
+        // Iterate by index so that no iterator is allocated for every part of every expression
+        for (int i = resolverIdx; i < resolvers.size(); i++) {
+            ValueResolver resolver = resolvers.get(i);
+            if (resolver.appliesTo(evalContext)) {
+                CompletionStage<Object> result = resolver.resolve(evalContext);
+                if (Futures.isCompletedNormally(result)) {
+                    if (Result.NOT_FOUND.equals(Futures.getNow(result))) {
+                        // Try next resolver
+                        continue;
+                    }
+                    return result;
+                }
+                int nextIdx = i + 1;
+                return result.thenCompose(r -> {
+                    if (Result.NOT_FOUND.equals(r)) {
+                        return resolve(evalContext, nextIdx);
                     } else {
                         return CompletableFuture.completedFuture(r);
                     }
                 });
-    }
-
-    private CompletionStage<Object> resolve(EvalContextImpl evalContext, Iterator<ValueResolver> resolvers) {
-        if (!resolvers.hasNext()) {
-            ResolutionContext parent = evalContext.resolutionContext.getParent();
-            if (evalContext.tryParent && parent != null) {
-                // Continue with parent context
-                return resolve(
-                        new EvalContextImpl(false, parent.getData(), evalContext.name, parent),
-                        this.resolvers.iterator());
             }
-            return Results.NOT_FOUND;
         }
-        ValueResolver resolver = resolvers.next();
-        if (resolver.appliesTo(evalContext)) {
-            return resolver.resolve(evalContext).thenCompose(r -> {
-                if (Result.NOT_FOUND.equals(r)) {
-                    return resolve(evalContext, resolvers);
-                } else {
-                    return CompletableFuture.completedFuture(r);
-                }
-            });
-        } else {
-            // Try next resolver
-            return resolve(evalContext, resolvers);
+        ResolutionContext parent = evalContext.resolutionContext.getParent();
+        if (evalContext.tryParent && parent != null) {
+            // Continue with parent context
+            return resolve(new EvalContextImpl(false, parent.getData(), evalContext.name, parent), 0);
         }
+        return Results.NOT_FOUND;
     }
 
     class EvalContextImpl implements EvalContext {
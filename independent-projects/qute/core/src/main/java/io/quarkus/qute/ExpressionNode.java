@@ -22,8 +22,11 @@ class ExpressionNode implements TemplateNode {
 
     @Override
     public CompletionStage<ResultNode> resolve(ResolutionContext context) {
-        return context.evaluate(expression)
-                .thenCompose(r -> CompletableFuture.<ResultNode> completedFuture(new SingleResultNode(r, this)));
+        CompletionStage<Object> value = context.evaluate(expression);
+        if (Futures.isCompletedNormally(value)) {
+            return CompletableFuture.completedFuture(new SingleResultNode(Futures.getNow(value), this));
+        }
+        return value.thenCompose(r -> CompletableFuture.<ResultNode> completedFuture(new SingleResultNode(r, this)));
     }
 
     public Origin getOrigin() {
@@ -14,6 +14,60 @@ class Futures {
         return failure;
     }
 
+    /**
+     * Most value resolvers complete synchronously. The callers use this method to continue on the current thread without
+     * allocating the intermediate stages of a {@code thenCompose()} chain.
+     *
+     * @param stage
+     * @return {@code true} if the stage is a future that already completed normally
+     */
+    static boolean isCompletedNormally(CompletionStage<?> stage) {
+        if (stage instanceof CompletableFuture) {
+            CompletableFuture<?> future = (CompletableFuture<?>) stage;
+            return future.isDone() && !future.isCompletedExceptionally();
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @param stage a stage for which {@link #isCompletedNormally(CompletionStage)} returned {@code true}
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T getNow(CompletionStage<T> stage) {
+        return ((CompletableFuture<T>) stage).getNow(null);
+    }
+
+    /**
+     *
+     * @param results
+     * @return a stage completed with a {@link MultiResultNode} once all the results are complete
+     */
+    static CompletionStage<ResultNode> allOf(CompletableFuture<ResultNode>[] results) {
+        boolean completed = true;
+        for (CompletableFuture<ResultNode> result : results) {
+            if (!isCompletedNormally(result)) {
+                completed = false;
+                break;
+            }
+        }
+        if (completed) {
+            return CompletableFuture.completedFuture(new MultiResultNode(results));
+        }
+        CompletableFuture<ResultNode> result = new CompletableFuture<>();
+        CompletableFuture
+                .allOf(results)
+                .whenComplete((v, t) -> {
+                    if (t != null) {
+                        result.completeExceptionally(t);
+                    } else {
+                        result.complete(new MultiResultNode(results));
+                    }
+                });
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     static CompletionStage<Map<String, Object>> evaluateParams(Map<String, Expression> parameters,
             ResolutionContext resolutionContext) {
@@ -23,6 +77,21 @@ class Futures {
         for (Entry<String, Expression> entry : parameters.entrySet()) {
             results[idx++] = resolutionContext.evaluate(entry.getValue()).toCompletableFuture();
         }
+        boolean completed = true;
+        for (CompletableFuture<Object> r : results) {
+            if (!isCompletedNormally(r)) {
+                completed = false;
+                break;
+            }
+        }
+        if (completed) {
+            Map<String, Object> paramValues = new HashMap<>();
+            int j = 0;
+            for (Entry<String, Expression> entry : parameters.entrySet()) {
+                paramValues.put(entry.getKey(), results[j++].getNow(null));
+            }
+            return CompletableFuture.completedFuture(paramValues);
+        }
         CompletableFuture.allOf(results).whenComplete((v, t1) -> {
             if (t1 != null) {
                 result.completeExceptionally(t1);
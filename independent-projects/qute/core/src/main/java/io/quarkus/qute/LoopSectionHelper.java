@@ -53,22 +53,12 @@ public class LoopSectionHelper implements SectionHelper {
             if (results.isEmpty()) {
                 return CompletableFuture.completedFuture(ResultNode.NOOP);
             }
-            CompletableFuture<ResultNode> result = new CompletableFuture<>();
             CompletableFuture<ResultNode>[] all = new CompletableFuture[results.size()];
             idx = 0;
             for (CompletionStage<ResultNode> r : results) {
                 all[idx++] = r.toCompletableFuture();
             }
-            CompletableFuture
-                    .allOf(all)
-                    .whenComplete((v, t) -> {
-                        if (t != null) {
-                            result.completeExceptionally(t);
-                        } else {
-                            result.complete(new MultiResultNode(all));
-                        }
-                    });
-            return result;
+            return Futures.allOf(all);
         });
     }
 
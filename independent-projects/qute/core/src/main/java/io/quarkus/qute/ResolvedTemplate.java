@@ -0,0 +1,20 @@
+package io.quarkus.qute;
+
+import java.util.function.Consumer;
+
+/**
+ * A template instance whose expressions were all resolved.
+ *
+ * @see TemplateInstance#resolve()
+ */
+@FunctionalInterface
+public interface ResolvedTemplate {
+
+    /**
+     * Renders the template synchronously, on the current thread.
+     *
+     * @param consumer To consume chunks of the rendered template
+     */
+    void consume(Consumer<String> consumer);
+
+}
@@ -104,23 +104,13 @@ class SectionNode implements TemplateNode {
             if (block.nodes.size() == 1) {
                 return block.nodes.get(0).resolve(context);
             }
-            CompletableFuture<ResultNode> result = new CompletableFuture<ResultNode>();
             @SuppressWarnings("unchecked")
             CompletableFuture<ResultNode>[] results = new CompletableFuture[block.nodes.size()];
             int idx = 0;
             for (TemplateNode node : block.nodes) {
                 results[idx++] = node.resolve(context).toCompletableFuture();
             }
-            CompletableFuture
-                    .allOf(results)
-                    .whenComplete((v, t) -> {
-                        if (t != null) {
-                            result.completeExceptionally(t);
-                        } else {
-                            result.complete(new MultiResultNode(results));
-                        }
-                    });
-            return result;
+            return Futures.allOf(results);
         }
 
         @Override
@@ -49,10 +49,17 @@ class TemplateImpl implements Template {
 
         @Override
         public String render() {
+            StringBuilder builder = new StringBuilder();
+            CompletionStage<Void> result = renderData(data(), builder::append);
+            if (Futures.isCompletedNormally(result)) {
+                // All the values were resolved synchronously
+                return builder.toString();
+            }
             try {
                 Object timeoutAttr = getAttribute(TIMEOUT);
                 long timeout = timeoutAttr != null ? Long.parseLong(timeoutAttr.toString()) : 10000;
-                return renderAsync().toCompletableFuture().get(timeout, TimeUnit.MILLISECONDS);
+                result.toCompletableFuture().get(timeout, TimeUnit.MILLISECONDS);
+                return builder.toString();
             } catch (InterruptedException | ExecutionException | TimeoutException e) {
                 throw new IllegalStateException(e);
             }
@@ -78,43 +85,75 @@ class TemplateImpl implements Template {
             return renderData(data(), resultConsumer);
         }
 
+        @Override
+        public CompletionStage<ResolvedTemplate> resolve() {
+            CompletableFuture<ResultNode>[] results = resolveData(data());
+            return CompletableFuture.allOf(results).thenApply(v -> consumer -> {
+                for (CompletableFuture<ResultNode> result : results) {
+                    result.getNow(null).process(consumer);
+                }
+            });
+        }
+
     }
 
     private CompletionStage<Void> renderData(Object data, Consumer<String> consumer) {
+        CompletableFuture<ResultNode>[] results = resolveData(data);
         CompletableFuture<Void> result = new CompletableFuture<>();
-        DataNamespaceResolver dataResolver = new DataNamespaceResolver();
-        List<NamespaceResolver> namespaceResolvers = ImmutableList.<NamespaceResolver> builder()
-                .addAll(engine.getNamespaceResolvers()).add(dataResolver).build();
-        ResolutionContext rootContext = new ResolutionContextImpl(null, data, namespaceResolvers,
-                engine.getEvaluator(), null);
-        dataResolver.rootContext = rootContext;
-        // Async resolution
-        root.resolve(rootContext).whenComplete((r, t) -> {
-            if (t != null) {
-                result.completeExceptionally(t);
-            } else {
-                // Sync processing of the result tree - build the output
-                r.process(consumer);
-                result.complete(null);
-            }
-        });
+        process(results, 0, consumer, result);
         return result;
     }
 
-    static class DataNamespaceResolver implements NamespaceResolver {
-
-        ResolutionContext rootContext;
-
-        @Override
-        public CompletionStage<Object> resolve(EvalContext context) {
-            return rootContext.evaluate(context.getName());
+    private CompletableFuture<ResultNode>[] resolveData(Object data) {
+        // The data namespace is resolved by the evaluator so there is no need to allocate a resolver for every render
+        ResolutionContext rootContext = new ResolutionContextImpl(null, data, engine.getNamespaceResolvers(),
+                engine.getEvaluator(), null);
+        // The root section only executes its main block
+        List<TemplateNode> nodes = root.blocks.get(0).nodes;
+        @SuppressWarnings("unchecked")
+        CompletableFuture<ResultNode>[] results = new CompletableFuture[nodes.size()];
+        int idx = 0;
+        for (TemplateNode node : nodes) {
+            results[idx++] = node.resolve(rootContext).toCompletableFuture();
         }
+        return results;
+    }
 
-        @Override
-        public String getNamespace() {
-            return "data";
+    /**
+     * Processes the results in order. A result is emitted as soon as all the preceding results were emitted, i.e. the
+     * consumer receives the first chunks before the rest of the template is resolved.
+     */
+    private void process(CompletableFuture<ResultNode>[] results, int start, Consumer<String> consumer,
+            CompletableFuture<Void> result) {
+        try {
+            for (int i = start; i < results.length; i++) {
+                CompletableFuture<ResultNode> next = results[i];
+                if (Futures.isCompletedNormally(next)) {
+                    // Sync processing - no need to register a callback
+                    next.getNow(null).process(consumer);
+                } else {
+                    // Async resolution
+                    int nextIdx = i + 1;
+                    next.whenComplete((r, t) -> {
+                        if (t != null) {
+                            result.completeExceptionally(t);
+                        } else {
+                            try {
+                                r.process(consumer);
+                            } catch (Throwable e) {
+                                result.completeExceptionally(e);
+                                return;
+                            }
+                            process(results, nextIdx, consumer, result);
+                        }
+                    });
+                    return;
+                }
+            }
+            result.complete(null);
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
         }
-
     }
 
 }
@@ -1,5 +1,7 @@
 package io.quarkus.qute;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import org.reactivestreams.Publisher;
@@ -73,11 +75,24 @@ public interface TemplateInstance {
     Publisher<String> publisher();
 
     /**
-     * Triggers rendering.
+     * Triggers rendering. The chunks are passed to the consumer in order, as soon as the corresponding part of the
+     * template is resolved, i.e. the whole output is never held in memory.
      * 
      * @param consumer To consume chunks of the rendered template
      * @return a completion stage that is completed once the rendering finished
      */
     CompletionStage<Void> consume(Consumer<String> consumer);
 
+    /**
+     * Resolves the template but does not render it. Unlike {@link #consume(Consumer)} no chunk is emitted before the
+     * returned stage is completed, so the caller may choose the thread the template is rendered on, e.g. without waiting
+     * for asynchronous resolvers on a thread that must not block.
+     *
+     * @return a completion stage that is completed once all the expressions were resolved
+     */
+    default CompletionStage<ResolvedTemplate> resolve() {
+        List<String> chunks = new ArrayList<>();
+        return consume(chunks::add).thenApply(v -> chunks::forEach);
+    }
+
 }
@@ -0,0 +1,67 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.jupiter.api.Test;
+
+public class ConsumeTest {
+
+    @Test
+    public void testChunksEmittedBeforeAsyncPartResolved() {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ValueResolver() {
+
+                    @Override
+                    public boolean appliesTo(EvalContext context) {
+                        return context.getName().equals("pending");
+                    }
+
+                    @Override
+                    public CompletionStage<Object> resolve(EvalContext context) {
+                        return pending;
+                    }
+
+                }).build();
+        Template template = engine.parse("Hello {name}! {pending} Bye.");
+        List<String> chunks = new ArrayList<>();
+        CompletableFuture<Void> result = template.data("name", "world").consume(chunks::add).toCompletableFuture();
+        assertFalse(result.isDone());
+        assertEquals("Hello world! ", String.join("", chunks));
+        pending.complete("foo");
+        result.join();
+        assertEquals("Hello world! foo Bye.", String.join("", chunks));
+    }
+
+    @Test
+    public void testResolveDoesNotEmitChunks() {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ValueResolver() {
+
+                    @Override
+                    public boolean appliesTo(EvalContext context) {
+                        return context.getName().equals("pending");
+                    }
+
+                    @Override
+                    public CompletionStage<Object> resolve(EvalContext context) {
+                        return pending;
+                    }
+
+                }).build();
+        Template template = engine.parse("Hello {name}! {pending} Bye.");
+        CompletableFuture<ResolvedTemplate> result = template.data("name", "world").resolve().toCompletableFuture();
+        assertFalse(result.isDone());
+        pending.complete("foo");
+        List<String> chunks = new ArrayList<>();
+        result.join().consume(chunks::add);
+        assertEquals("Hello world! foo Bye.", String.join("", chunks));
+    }
+
+}
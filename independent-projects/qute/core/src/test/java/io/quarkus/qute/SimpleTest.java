@@ -67,6 +67,21 @@ public class SimpleTest {
         assertEquals("world", template.render(data));
     }
 
+    @Test
+    public void testDataNamespaceInNestedContext() {
+        Map<String, Object> item = new HashMap<>();
+        item.put("name", "Lu");
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "world");
+        data.put("list", ImmutableList.of(item));
+
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .build();
+
+        Template template = engine.parse("{#for name in list}{name.name}:{data:name}{#with name}{data:list.size}{/with}{/for}");
+        assertEquals("Lu:world1", template.render(data));
+    }
+
     @Test
     public void testOrElseResolver() {
         Engine engine = Engine.builder().addValueResolver(ValueResolvers.mapResolver())
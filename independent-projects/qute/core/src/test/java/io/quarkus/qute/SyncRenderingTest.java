@@ -0,0 +1,47 @@
+package io.quarkus.qute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.jupiter.api.Test;
+
+public class SyncRenderingTest {
+
+    @Test
+    public void testSyncResolution() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers().build();
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "world");
+        data.put("list", ImmutableList.of("a", "b"));
+        Template template = engine.parse("Hello {name}!{#for item in list} {item}{#if hasNext},{/if}{/for}");
+        CompletionStage<String> result = template.instance().data(data).renderAsync();
+        assertTrue(result.toCompletableFuture().isDone());
+        assertEquals("Hello world! a, b", result.toCompletableFuture().getNow(null));
+    }
+
+    @Test
+    public void testAsyncResolution() {
+        Engine engine = Engine.builder().addDefaultSectionHelpers().addDefaultValueResolvers()
+                .addValueResolver(new ValueResolver() {
+
+                    @Override
+                    public boolean appliesTo(EvalContext context) {
+                        return context.getName().equals("async");
+                    }
+
+                    @Override
+                    public CompletionStage<Object> resolve(EvalContext context) {
+                        return CompletableFuture.supplyAsync(() -> "ok");
+                    }
+
+                }).build();
+        Template template = engine.parse("{#for i in list}{async}{/for} {name}");
+        assertEquals("okokok foo",
+                template.data("name", "foo").data("list", ImmutableList.of(1, 2, 3)).render());
+    }
+
+}